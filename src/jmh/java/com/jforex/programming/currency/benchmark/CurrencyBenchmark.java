@@ -0,0 +1,50 @@
+package com.jforex.programming.currency.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.Instrument;
+import com.google.common.collect.ImmutableList;
+import com.jforex.programming.currency.CurrencyFactory;
+import com.jforex.programming.currency.CurrencyMask;
+import com.jforex.programming.currency.CurrencyUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CurrencyBenchmark {
+
+    private final List<Instrument> instruments = ImmutableList.of(Instrument.EURUSD,
+                                                                  Instrument.GBPUSD,
+                                                                  Instrument.USDJPY);
+
+    @Benchmark
+    public Set<ICurrency> fromInstruments() {
+        return CurrencyFactory.fromInstruments(instruments);
+    }
+
+    @Benchmark
+    public boolean isInAllInstruments() {
+        return CurrencyUtil.isInAllInstruments(CurrencyFactory.USD, instruments);
+    }
+
+    @Benchmark
+    public long maskOfInstruments() {
+        return CurrencyMask.ofInstruments(instruments);
+    }
+}
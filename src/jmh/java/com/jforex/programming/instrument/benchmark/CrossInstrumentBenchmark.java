@@ -0,0 +1,40 @@
+package com.jforex.programming.instrument.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.instrument.CrossInstrument;
+import com.jforex.programming.instrument.FxRate;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CrossInstrumentBenchmark {
+
+    private final CrossInstrument crossInstrument = new CrossInstrument(Instrument.EURUSD, Instrument.GBPUSD);
+    private final FxRate rateEURUSD = new FxRate(1.15863, Instrument.EURUSD);
+    private final FxRate rateGBPUSD = new FxRate(1.31044, Instrument.GBPUSD);
+
+    @Benchmark
+    public FxRate fxRate() {
+        return crossInstrument.rate(rateEURUSD, rateGBPUSD);
+    }
+
+    @Benchmark
+    public double primitiveRate() {
+        return crossInstrument.rate(rateEURUSD.value(), rateGBPUSD.value());
+    }
+}
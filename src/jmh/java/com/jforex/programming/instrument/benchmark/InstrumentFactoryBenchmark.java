@@ -0,0 +1,64 @@
+package com.jforex.programming.instrument.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.instrument.InstrumentFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentFactoryBenchmark {
+
+    private final String upperCaseName = "EUR/USD";
+    private final String lowerCaseName = "eur/usd";
+    private final String invertedName = "USD/EUR";
+    private final String noSeparatorName = "EURUSD";
+    private final String unknownName = "HUG/USD";
+
+    @Benchmark
+    public Optional<Instrument> maybeFromUpperCaseName() {
+        return InstrumentFactory.maybeFromName(upperCaseName);
+    }
+
+    @Benchmark
+    public Optional<Instrument> maybeFromLowerCaseName() {
+        return InstrumentFactory.maybeFromName(lowerCaseName);
+    }
+
+    @Benchmark
+    public Optional<Instrument> maybeFromInvertedName() {
+        return InstrumentFactory.maybeFromName(invertedName);
+    }
+
+    @Benchmark
+    public Optional<Instrument> maybeFromNoSeparatorName() {
+        return InstrumentFactory.maybeFromName(noSeparatorName);
+    }
+
+    @Benchmark
+    public Optional<Instrument> maybeFromUnknownName() {
+        return InstrumentFactory.maybeFromName(unknownName);
+    }
+
+    @Benchmark
+    public Instrument maybeCross() {
+        return InstrumentFactory
+            .maybeCross(Instrument.EURUSD, Instrument.GBPUSD)
+            .blockingGet();
+    }
+}
@@ -0,0 +1,54 @@
+package com.jforex.programming.instrument.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.instrument.InstrumentUtil;
+import com.jforex.programming.math.MathUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentUtilBenchmark {
+
+    private final Instrument instrument = Instrument.EURUSD;
+    private final double[] prices = new double[1024];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < prices.length; ++i)
+            prices[i] = i % 2 == 0
+                    ? MathUtil.roundPrice(1.1 + i * 0.0000123, instrument)
+                    : 1.1 + i * 0.000000123;
+    }
+
+    private double nextPrice() {
+        index = (index + 1) & (prices.length - 1);
+        return prices[index];
+    }
+
+    @Benchmark
+    public boolean isPricePipDivisible() {
+        return InstrumentUtil.isPricePipDivisible(instrument, nextPrice());
+    }
+
+    @Benchmark
+    public boolean isPricePipDivisibleWithBigDecimal() {
+        return MathUtil.isValueDivisibleByX(nextPrice(), instrument.getPipValue() / 10);
+    }
+}
@@ -0,0 +1,130 @@
+package com.jforex.programming.math.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.math.CalculationUtil;
+import com.jforex.programming.math.CurrencyRateMatrix;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculationUtilBenchmark extends QuoteProviderForTest {
+
+    private CalculationUtil calculationUtil;
+    private CalculationUtil calculationUtilWithRateMatrix;
+    private final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+    private final double amount = 213456.78;
+    private final int noOfPortfolioAmounts = 1000;
+    private final double[] portfolioAmounts = new double[noOfPortfolioAmounts];
+    private final int[] portfolioInstrumentOrdinals = new int[noOfPortfolioAmounts];
+    private final Instrument[] portfolioInstruments = new Instrument[noOfPortfolioAmounts];
+
+    @Setup
+    public void setUp() {
+        setTickExpectations(tickQuoteEURUSD);
+        setTickExpectations(tickQuoteUSDJPY);
+
+        calculationUtil = new CalculationUtil(tickQuoteHandlerMock);
+        calculationUtilWithRateMatrix = new CalculationUtil(tickQuoteHandlerMock,
+                                                            new CurrencyRateMatrix(tickQuoteSubject));
+        tickQuoteSubject.onNext(tickQuoteEURUSD);
+        tickQuoteSubject.onNext(tickQuoteUSDJPY);
+
+        for (int i = 0; i < noOfPortfolioAmounts; ++i) {
+            portfolioAmounts[i] = amount + i;
+            portfolioInstruments[i] = i % 2 == 0
+                    ? instrumentEURUSD
+                    : instrumentUSDJPY;
+            portfolioInstrumentOrdinals[i] = portfolioInstruments[i].ordinal();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearMockInvocations() {
+        clearInvocations(tickQuoteHandlerMock,
+                         tickEURUSD,
+                         tickUSDJPY);
+    }
+
+    @Benchmark
+    public double convertAmountSameCurrency() {
+        return calculationUtil.convertAmount(amount,
+                                             currencyEUR,
+                                             currencyEUR,
+                                             OfferSide.ASK);
+    }
+
+    @Benchmark
+    public double convertAmountBaseToQuote() {
+        return calculationUtil.convertAmount(amount,
+                                             currencyEUR,
+                                             currencyUSD,
+                                             OfferSide.BID);
+    }
+
+    @Benchmark
+    public double convertAmountQuoteToBase() {
+        return calculationUtil.convertAmount(amount,
+                                             currencyJPY,
+                                             currencyUSD,
+                                             OfferSide.ASK);
+    }
+
+    @Benchmark
+    public double convertAmountBaseToQuoteWithRateMatrix() {
+        return calculationUtilWithRateMatrix.convertAmount(amount,
+                                                           currencyEUR,
+                                                           currencyUSD,
+                                                           OfferSide.BID);
+    }
+
+    @Benchmark
+    public double convertAmountQuoteToBaseWithRateMatrix() {
+        return calculationUtilWithRateMatrix.convertAmount(amount,
+                                                           currencyJPY,
+                                                           currencyUSD,
+                                                           OfferSide.ASK);
+    }
+
+    @Benchmark
+    public double[] portfolioPipValuesWithSingleCalls() {
+        final double[] pipValues = new double[noOfPortfolioAmounts];
+        for (int i = 0; i < noOfPortfolioAmounts; ++i)
+            pipValues[i] = calculationUtilWithRateMatrix.pipValueInCurrency(portfolioAmounts[i],
+                                                                            portfolioInstruments[i],
+                                                                            currencyUSD,
+                                                                            OfferSide.BID);
+        return pipValues;
+    }
+
+    @Benchmark
+    public double[] portfolioPipValuesWithBulkCall() {
+        return calculationUtilWithRateMatrix.pipValuesInCurrency(portfolioAmounts,
+                                                                 portfolioInstrumentOrdinals,
+                                                                 currencyUSD,
+                                                                 OfferSide.BID);
+    }
+}
@@ -0,0 +1,57 @@
+package com.jforex.programming.math.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jforex.programming.math.MathUtil;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathUtilBenchmark {
+
+    @Param({ "2", "5" })
+    private int digitPrecision;
+
+    private final double[] rawValues = new double[1024];
+    private int index;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < rawValues.length; ++i)
+            rawValues[i] = 1.0 + i * 0.000123456789;
+    }
+
+    private double nextValue() {
+        index = (index + 1) & (rawValues.length - 1);
+        return rawValues[index];
+    }
+
+    @Benchmark
+    public double roundDouble() {
+        return MathUtil.roundDouble(nextValue(), digitPrecision);
+    }
+
+    @Benchmark
+    public double roundDoubleWithBigDecimal() {
+        return BigDecimal
+            .valueOf(nextValue())
+            .setScale(digitPrecision, BigDecimal.ROUND_HALF_UP)
+            .doubleValue();
+    }
+}
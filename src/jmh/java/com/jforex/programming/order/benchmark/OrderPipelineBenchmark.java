@@ -0,0 +1,102 @@
+package com.jforex.programming.order.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.IEngine.OrderCommand;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.OrderParams;
+import com.jforex.programming.order.OrderUtil;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.task.params.basic.CloseParams;
+import com.jforex.programming.order.task.params.basic.SubmitParams;
+import com.jforex.programming.test.simulation.SimulatedExchange;
+
+import io.reactivex.Observable;
+
+/**
+ * Load driver for the whole order pipeline against the simulated exchange.
+ * Throughput mode reports orders per second, sample time mode the latency
+ * percentiles of a submit and close round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class OrderPipelineBenchmark {
+
+    @Param({ "1", "5" })
+    private long latencyMillis;
+
+    @Param({ "0.0", "0.01" })
+    private double rejectRate;
+
+    private SimulatedExchange simulatedExchange;
+    private OrderUtil orderUtil;
+    private final AtomicLong labelCounter = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        simulatedExchange = SimulatedExchange
+            .newBuilder()
+            .withLatency(latencyMillis, 2 * latencyMillis, TimeUnit.MILLISECONDS)
+            .withRejectRate(OrderCallReason.SUBMIT, rejectRate)
+            .withRejectRate(OrderCallReason.CLOSE, rejectRate)
+            .withPartialFillRate(0.1)
+            .build();
+        orderUtil = simulatedExchange
+            .strategyUtil()
+            .orderUtil();
+    }
+
+    @TearDown
+    public void tearDown() {
+        simulatedExchange.shutdown();
+    }
+
+    @Benchmark
+    public OrderEvent submitAndClose() {
+        final OrderParams orderParams = OrderParams
+            .forInstrument(Instrument.EURUSD)
+            .withOrderCommand(OrderCommand.BUY)
+            .withAmount(0.01)
+            .withLabel("LoadOrder" + labelCounter.incrementAndGet())
+            .build();
+        final OrderEvent submitEvent = orderUtil
+            .paramsToObservable(SubmitParams
+                .withOrderParams(orderParams)
+                .build())
+            .subscribeOn(simulatedExchange.strategyScheduler())
+            .onErrorResumeNext(Observable.empty())
+            .blockingLast(null);
+        if (submitEvent == null || submitEvent.order().getState() != IOrder.State.FILLED)
+            return submitEvent;
+
+        return orderUtil
+            .paramsToObservable(CloseParams
+                .withOrder(submitEvent.order())
+                .build())
+            .subscribeOn(simulatedExchange.strategyScheduler())
+            .onErrorResumeNext(Observable.empty())
+            .blockingLast(null);
+    }
+}
@@ -0,0 +1,88 @@
+package com.jforex.programming.order.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.task.params.TaskParamsUtil;
+import com.jforex.programming.order.task.params.basic.SetSLParams;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableTransformer;
+
+/**
+ * Compares composing the callbacks of task params on every call with applying
+ * a composer which was prepared once from the same params, as a prepared task
+ * does. The task itself is a single event, so only the compose overhead is
+ * measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreparedTaskBenchmark extends CommonUtilForTest {
+
+    private final TaskParamsUtil taskParamsUtil = new TaskParamsUtil();
+    private SetSLParams paramsWithCallback;
+    private SetSLParams paramsWithoutCallbacks;
+    private ObservableTransformer<OrderEvent, OrderEvent> preparedWithCallback;
+    private ObservableTransformer<OrderEvent, OrderEvent> preparedWithoutCallbacks;
+    private Observable<OrderEvent> taskObservable;
+
+    @Setup
+    public void setUp() {
+        paramsWithCallback = SetSLParams
+            .setSLAtPrice(buyOrderEURUSD, 1.1234)
+            .doOnChangedSL(orderEvent -> {})
+            .build();
+        paramsWithoutCallbacks = SetSLParams
+            .setSLAtPrice(buyOrderEURUSD, 1.1234)
+            .build();
+        preparedWithCallback = taskParamsUtil.composer(paramsWithCallback.composeData());
+        preparedWithoutCallbacks = taskParamsUtil.composer(paramsWithoutCallbacks.composeData());
+        taskObservable = Observable.just(createEvent(OrderEventType.CHANGED_SL));
+    }
+
+    @Benchmark
+    public void composePerCallWithCallback(final Blackhole blackhole) {
+        taskParamsUtil
+            .compose(taskObservable, paramsWithCallback)
+            .subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void preparedWithCallback(final Blackhole blackhole) {
+        taskObservable
+            .compose(preparedWithCallback)
+            .subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void composePerCallWithoutCallbacks(final Blackhole blackhole) {
+        taskParamsUtil
+            .compose(taskObservable, paramsWithoutCallbacks)
+            .subscribe(blackhole::consume);
+    }
+
+    @Benchmark
+    public void preparedWithoutCallbacks(final Blackhole blackhole) {
+        taskObservable
+            .compose(preparedWithoutCallbacks)
+            .subscribe(blackhole::consume);
+    }
+}
@@ -0,0 +1,81 @@
+package com.jforex.programming.order.event.benchmark;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.IMessage;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventFactory;
+import com.jforex.programming.rx.JFHotPublisher;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEventFactoryBenchmark extends CommonUtilForTest {
+
+    private final JFHotPublisher<OrderCallRequest> callRequestPublisher = new JFHotPublisher<>();
+    private OrderEventFactory orderEventFactory;
+    private IMessage internalMessage;
+    private IMessage externalMessage;
+    private IMessage multiReasonMessage;
+
+    @Setup
+    public void setUp() {
+        orderEventFactory = new OrderEventFactory(callRequestPublisher.observable());
+        callRequestPublisher.onNext(new OrderCallRequest(buyOrderEURUSD, OrderCallReason.CHANGE_SL));
+
+        internalMessage = mockForIMessage(buyOrderEURUSD,
+                                          IMessage.Type.ORDER_CHANGED_OK,
+                                          EnumSet.of(IMessage.Reason.ORDER_CHANGED_SL));
+        externalMessage = mockForIMessage(buyOrderAUDUSD,
+                                          IMessage.Type.ORDER_CHANGED_OK,
+                                          EnumSet.of(IMessage.Reason.ORDER_CHANGED_SL));
+        multiReasonMessage = mockForIMessage(buyOrderEURUSD,
+                                             IMessage.Type.ORDER_CHANGED_OK,
+                                             EnumSet.of(IMessage.Reason.ORDER_CHANGED_SL,
+                                                        IMessage.Reason.ORDER_CHANGED_TP));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearMockInvocations() {
+        clearInvocations(internalMessage,
+                         externalMessage,
+                         multiReasonMessage,
+                         buyOrderEURUSD,
+                         buyOrderAUDUSD);
+    }
+
+    @Benchmark
+    public OrderEvent fromInternalMessage() {
+        return orderEventFactory.fromMessage(internalMessage);
+    }
+
+    @Benchmark
+    public OrderEvent fromExternalMessage() {
+        return orderEventFactory.fromMessage(externalMessage);
+    }
+
+    @Benchmark
+    public OrderEvent fromMultiReasonMessage() {
+        return orderEventFactory.fromMessage(multiReasonMessage);
+    }
+}
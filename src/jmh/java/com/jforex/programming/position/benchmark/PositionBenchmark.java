@@ -0,0 +1,72 @@
+package com.jforex.programming.position.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.position.Position;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionBenchmark extends CommonUtilForTest {
+
+    @Param({ "1", "10", "100" })
+    private int noOfOrders;
+
+    private final Subject<OrderEvent> orderEventSubject = PublishSubject.create();
+    private Position position;
+
+    @Setup
+    public void setUp() {
+        position = new Position(Instrument.EURUSD, orderEventSubject);
+
+        for (int i = 0; i < noOfOrders; ++i)
+            addFilledOrder(i % 2 == 0
+                    ? orderUtilForTest.buyOrderEURUSD()
+                    : orderUtilForTest.sellOrderEURUSD());
+    }
+
+    private void addFilledOrder(final IOrder order) {
+        orderUtilForTest.setState(order, IOrder.State.FILLED);
+        orderEventSubject.onNext(new OrderEvent(order,
+                                                messageMock,
+                                                OrderEventType.SUBMIT_OK,
+                                                true));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearMockInvocations() {
+        clearInvocations(position
+                             .all()
+                             .toArray());
+    }
+
+    @Benchmark
+    public double signedExposure() {
+        return position.signedExposure();
+    }
+}
@@ -0,0 +1,69 @@
+package com.jforex.programming.quote.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jforex.programming.quote.TickQuoteProvider;
+import com.jforex.programming.strategy.ContextUtil;
+import com.jforex.programming.strategy.QuoteUtil;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuoteBenchmark extends QuoteProviderForTest {
+
+    private QuoteUtil quoteUtil;
+    private TickQuoteProvider tickQuoteProvider;
+
+    @Setup
+    public void setUp() {
+        quoteUtil = new QuoteUtil(new ContextUtil(contextMock), true);
+        tickQuoteProvider = quoteUtil.tickQuoteProvider();
+
+        quoteUtil.onTick(instrumentEURUSD, tickEURUSD);
+        quoteUtil.onTick(instrumentAUDUSD, tickAUDUSD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        quoteUtil.onStop();
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearMockInvocations() {
+        clearInvocations(tickEURUSD,
+                         tickAUDUSD,
+                         dataServiceMock);
+    }
+
+    @Benchmark
+    public void onTick() {
+        quoteUtil.onTick(instrumentEURUSD, tickEURUSD);
+    }
+
+    @Benchmark
+    public double ask() {
+        return tickQuoteProvider.ask(instrumentEURUSD);
+    }
+
+    @Benchmark
+    public double bid() {
+        return tickQuoteProvider.bid(instrumentAUDUSD);
+    }
+}
@@ -0,0 +1,114 @@
+package com.jforex.programming.quote.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.test.simulation.ReplayHarness;
+import com.jforex.programming.test.simulation.ReplayQuotes;
+import com.jforex.programming.test.simulation.ReplayReader;
+import com.jforex.programming.test.simulation.ReplayWriter;
+
+/**
+ * Throughput of the quote path in ticks per second, from reading a recorded
+ * file over StrategyUtil.onTick to a subscriber of the tick quote provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuoteReplayBenchmark {
+
+    @Param({ "binary", "csv" })
+    private String format;
+
+    private Path replayFile;
+    private ReplayHarness replayHarness;
+    private long receivedTicks;
+
+    private static final int tickCount = 100_000;
+    private static final long startTime = 1_500_000_000_000L;
+
+    @Setup
+    public void setUp() throws IOException {
+        replayFile = Files.createTempFile("quoteReplay", "." + format);
+        if (format.equals("binary"))
+            writeBinary();
+        else
+            writeCSV();
+
+        replayHarness = ReplayHarness
+            .newBuilder()
+            .build();
+        replayHarness
+            .strategyUtil()
+            .tickQuoteProvider()
+            .observable()
+            .subscribe(tickQuote -> ++receivedTicks);
+    }
+
+    private void writeBinary() throws IOException {
+        try (ReplayWriter replayWriter = ReplayWriter.create(replayFile)) {
+            for (int i = 0; i < tickCount; ++i)
+                replayWriter.onTick(instrument(i), ReplayQuotes.tick(tickTime(i), ask(i), ask(i) - 0.0002, 1.0, 1.0));
+        }
+    }
+
+    private void writeCSV() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(replayFile, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < tickCount; ++i) {
+                writer.write("TICK," + instrument(i) + "," + tickTime(i) + ","
+                        + ask(i) + "," + (ask(i) - 0.0002) + ",1.0,1.0");
+                writer.newLine();
+            }
+        }
+    }
+
+    private static Instrument instrument(final int index) {
+        return index % 2 == 0
+                ? Instrument.EURUSD
+                : Instrument.GBPUSD;
+    }
+
+    private static long tickTime(final int index) {
+        return startTime + index * 100L;
+    }
+
+    private static double ask(final int index) {
+        return 1.1 + (index % 100) * 0.00001;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(replayFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(tickCount)
+    public long replayTicks() throws IOException {
+        try (ReplayReader replayReader = ReplayReader.open(replayFile)) {
+            replayHarness.replay(replayReader);
+        }
+        return receivedTicks;
+    }
+}
@@ -111,6 +111,16 @@ public final class CurrencyFactory {
     public static final Set<ICurrency> fromInstruments(final Collection<Instrument> instruments) {
         checkNotNull(instruments);
 
+        long currencyMask = CurrencyMask.EMPTY;
+        for (final Instrument instrument : instruments) {
+            if (!CurrencyMask.isIndexed(instrument))
+                return fromNotIndexedInstruments(instruments);
+            currencyMask |= CurrencyMask.ofInstrument(instrument);
+        }
+        return CurrencyMask.toCurrencies(currencyMask);
+    }
+
+    private static final Set<ICurrency> fromNotIndexedInstruments(final Collection<Instrument> instruments) {
         return instruments
             .stream()
             .map(CurrencyFactory::fromInstrument)
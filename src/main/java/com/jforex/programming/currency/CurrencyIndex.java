@@ -0,0 +1,98 @@
+package com.jforex.programming.currency;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.JFCurrency;
+import com.google.common.collect.ImmutableMap;
+import com.jforex.programming.instrument.InstrumentMetadata;
+
+/**
+ * The one dense index of all known currencies, shared by the currency masks
+ * and the currency rate matrix.
+ *
+ * Every {@link CurrencyCode} gets the index of its ordinal. The remaining
+ * currencies of all instruments follow after the last currency code, so an
+ * index below {@link #noOfCurrencyCodes()} is always a currency code.
+ */
+public final class CurrencyIndex {
+
+    private CurrencyIndex() {
+    }
+
+    private static final int noOfCurrencyCodes = CurrencyCode.values().length;
+    private static final ICurrency[] currencyByIndex = createCurrencyTable();
+    private static final int noOfCurrencies = currencyByIndex.length;
+    private static final Map<ICurrency, Integer> indexByCurrency = createCurrencyIndex();
+    private static final int[] baseIndexByInstrument = new int[Instrument.values().length];
+    private static final int[] quoteIndexByInstrument = new int[Instrument.values().length];
+
+    static {
+        for (final Instrument instrument : Instrument.values()) {
+            final InstrumentMetadata instrumentMetadata = InstrumentMetadata.of(instrument);
+            baseIndexByInstrument[instrument.ordinal()] = indexByCurrency.get(instrumentMetadata.baseCurrency());
+            quoteIndexByInstrument[instrument.ordinal()] = indexByCurrency.get(instrumentMetadata.quoteCurrency());
+        }
+    }
+
+    private static final ICurrency[] createCurrencyTable() {
+        final Set<ICurrency> currencies = new LinkedHashSet<>();
+        for (final CurrencyCode currencyCode : CurrencyCode.values())
+            currencies.add(JFCurrency.getInstance(currencyCode.toString()));
+        checkState(currencies.size() == noOfCurrencyCodes, "Currency codes are not unique!");
+
+        for (final Instrument instrument : Instrument.values())
+            currencies.addAll(InstrumentMetadata
+                .of(instrument)
+                .currencies());
+
+        return currencies.toArray(new ICurrency[currencies.size()]);
+    }
+
+    private static final Map<ICurrency, Integer> createCurrencyIndex() {
+        final ImmutableMap.Builder<ICurrency, Integer> indexBuilder = ImmutableMap.builder();
+        for (int index = 0; index < currencyByIndex.length; ++index)
+            indexBuilder.put(currencyByIndex[index], index);
+
+        return indexBuilder.build();
+    }
+
+    /**
+     * Returns the index of the currency or -1 if the currency is neither a
+     * {@link CurrencyCode} nor a currency of an instrument.
+     */
+    public static final int index(final ICurrency currency) {
+        checkNotNull(currency);
+
+        final Integer index = indexByCurrency.get(currency);
+        return index == null
+                ? -1
+                : index;
+    }
+
+    public static final ICurrency currency(final int index) {
+        return currencyByIndex[index];
+    }
+
+    public static final int size() {
+        return noOfCurrencies;
+    }
+
+    public static final int noOfCurrencyCodes() {
+        return noOfCurrencyCodes;
+    }
+
+    public static final int baseIndex(final Instrument instrument) {
+        return baseIndexByInstrument[instrument.ordinal()];
+    }
+
+    public static final int quoteIndex(final Instrument instrument) {
+        return quoteIndexByInstrument[instrument.ordinal()];
+    }
+}
@@ -0,0 +1,157 @@
+package com.jforex.programming.currency;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.instrument.InstrumentMetadata;
+
+/**
+ * Currency sets as bits of a long.
+ *
+ * Every {@link CurrencyCode} gets its index of the shared
+ * {@link CurrencyIndex}, which is the ordinal of the code, so union,
+ * intersection and containment of currency sets are bit operations. The
+ * masks of all instruments are built once when the class is loaded.
+ *
+ * Currencies without a {@link CurrencyCode} have no index. The mask of an
+ * instrument with such a currency only holds its indexed currency, which is
+ * why {@link #isIndexed(Instrument)} should be checked before converting a
+ * mask back to currencies.
+ */
+public final class CurrencyMask {
+
+    private CurrencyMask() {
+    }
+
+    public static final long EMPTY = 0L;
+
+    private static final int noOfIndexedCurrencies = CurrencyIndex.noOfCurrencyCodes();
+    private static final long[] maskByInstrument = new long[Instrument.values().length];
+    private static final boolean[] isIndexedByInstrument = new boolean[Instrument.values().length];
+
+    static {
+        checkState(noOfIndexedCurrencies <= Long.SIZE, "Too many currency codes for a long mask!");
+
+        for (final Instrument instrument : Instrument.values()) {
+            final InstrumentMetadata instrumentMetadata = InstrumentMetadata.of(instrument);
+            final ICurrency baseCurrency = instrumentMetadata.baseCurrency();
+            final ICurrency quoteCurrency = instrumentMetadata.quoteCurrency();
+
+            maskByInstrument[instrument.ordinal()] = of(baseCurrency) | of(quoteCurrency);
+            isIndexedByInstrument[instrument.ordinal()] = isIndexed(baseCurrency) && isIndexed(quoteCurrency);
+        }
+    }
+
+    public static final int index(final CurrencyCode currencyCode) {
+        checkNotNull(currencyCode);
+
+        return currencyCode.ordinal();
+    }
+
+    /**
+     * Returns the dense index of the currency or -1 if the currency has no
+     * {@link CurrencyCode}.
+     */
+    public static final int index(final ICurrency currency) {
+        checkNotNull(currency);
+
+        final int index = CurrencyIndex.index(currency);
+        return index < noOfIndexedCurrencies
+                ? index
+                : -1;
+    }
+
+    public static final ICurrency currency(final int index) {
+        return CurrencyIndex.currency(index);
+    }
+
+    public static final boolean isIndexed(final ICurrency currency) {
+        return index(currency) >= 0;
+    }
+
+    public static final boolean isIndexed(final Instrument instrument) {
+        checkNotNull(instrument);
+
+        return isIndexedByInstrument[instrument.ordinal()];
+    }
+
+    public static final long of(final CurrencyCode currencyCode) {
+        checkNotNull(currencyCode);
+
+        return 1L << currencyCode.ordinal();
+    }
+
+    public static final long of(final ICurrency currency) {
+        checkNotNull(currency);
+
+        final int index = index(currency);
+        return index < 0
+                ? EMPTY
+                : 1L << index;
+    }
+
+    public static final long of(final Collection<? extends ICurrency> currencies) {
+        checkNotNull(currencies);
+
+        long mask = EMPTY;
+        for (final ICurrency currency : currencies)
+            mask |= of(currency);
+        return mask;
+    }
+
+    public static final long ofInstrument(final Instrument instrument) {
+        checkNotNull(instrument);
+
+        return maskByInstrument[instrument.ordinal()];
+    }
+
+    public static final long ofInstruments(final Collection<Instrument> instruments) {
+        checkNotNull(instruments);
+
+        long mask = EMPTY;
+        for (final Instrument instrument : instruments)
+            mask |= maskByInstrument[instrument.ordinal()];
+        return mask;
+    }
+
+    public static final long union(final long firstMask,
+                                   final long secondMask) {
+        return firstMask | secondMask;
+    }
+
+    public static final long intersection(final long firstMask,
+                                          final long secondMask) {
+        return firstMask & secondMask;
+    }
+
+    public static final boolean contains(final long mask,
+                                         final ICurrency currency) {
+        checkNotNull(currency);
+
+        final long currencyMask = of(currency);
+        return currencyMask != EMPTY && (mask & currencyMask) != 0L;
+    }
+
+    public static final boolean containsAll(final long mask,
+                                            final long subMask) {
+        return (mask & subMask) == subMask;
+    }
+
+    public static final int size(final long mask) {
+        return Long.bitCount(mask);
+    }
+
+    public static final Set<ICurrency> toCurrencies(final long mask) {
+        final Set<ICurrency> currencies = new HashSet<>();
+        for (long remainingMask = mask; remainingMask != 0L; remainingMask &= remainingMask - 1)
+            currencies.add(CurrencyIndex.currency(Long.numberOfTrailingZeros(remainingMask)));
+
+        return currencies;
+    }
+}
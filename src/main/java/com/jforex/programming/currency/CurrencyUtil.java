@@ -46,9 +46,16 @@ public final class CurrencyUtil {
         checkNotNull(currency);
         checkNotNull(instruments);
 
-        return instruments
-            .stream()
-            .anyMatch(instrument -> isInInstrument(currency, instrument));
+        if (!CurrencyMask.isIndexed(currency))
+            return instruments
+                .stream()
+                .anyMatch(instrument -> isInInstrument(currency, instrument));
+
+        final long currencyMask = CurrencyMask.of(currency);
+        for (final Instrument instrument : instruments)
+            if ((CurrencyMask.ofInstrument(instrument) & currencyMask) != 0L)
+                return true;
+        return false;
     }
 
     public static final boolean isInAllInstruments(final ICurrency currency,
@@ -56,8 +63,15 @@ public final class CurrencyUtil {
         checkNotNull(currency);
         checkNotNull(instruments);
 
-        return instruments
-            .stream()
-            .allMatch(instrument -> isInInstrument(currency, instrument));
+        if (!CurrencyMask.isIndexed(currency))
+            return instruments
+                .stream()
+                .allMatch(instrument -> isInInstrument(currency, instrument));
+
+        final long currencyMask = CurrencyMask.of(currency);
+        for (final Instrument instrument : instruments)
+            if ((CurrencyMask.ofInstrument(instrument) & currencyMask) == 0L)
+                return false;
+        return true;
     }
 }
@@ -1,19 +1,32 @@
 package com.jforex.programming.instrument;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.stream.Collectors.toSet;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.Set;
 
 import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
 import com.google.common.collect.Sets;
 import com.jforex.programming.currency.CurrencyFactory;
 import com.jforex.programming.currency.CurrencyUtil;
+import com.jforex.programming.math.MathUtil;
+import com.jforex.programming.quote.TickQuote;
 
 import io.reactivex.Maybe;
-
+import io.reactivex.Observable;
+
+/**
+ * An instrument which is derived from two instruments sharing one currency.
+ *
+ * Which of both instruments is the numerator and whether the rates are
+ * divided or multiplied is decided once in the constructor, so computing a
+ * cross rate is one double operation plus rounding to the number of digits
+ * of the cross instrument.
+ */
 public class CrossInstrument {
 
     private final Instrument firstInstrument;
@@ -21,9 +34,9 @@ public class CrossInstrument {
     private final Instrument instrument;
     private final ICurrency crossCurrency;
     private final boolean shouldDivide;
+    private final boolean isFirstNumerator;
     private final int pipScale;
     private final Set<Instrument> crossInstruments;
-    private final RoundingMode roundingMode = RoundingMode.HALF_UP;
 
     public CrossInstrument(final Instrument firstInstrument,
                            final Instrument secondInstrument) {
@@ -33,9 +46,16 @@ public class CrossInstrument {
         crossInstruments = Sets.newHashSet(firstInstrument, secondInstrument);
         final Maybe<Instrument> maybeCross = InstrumentFactory.maybeCross(firstInstrument, secondInstrument);
         instrument = maybeCross.blockingGet();
+        checkArgument(instrument != null,
+                      "Instruments %s and %s form no cross instrument!",
+                      firstInstrument,
+                      secondInstrument);
         crossCurrency = calcCrossCurrency();
         shouldDivide = shouldDivide();
-        pipScale = instrument.getPipScale() + 1;
+        isFirstNumerator = isFirstNumerator();
+        pipScale = InstrumentMetadata
+            .of(instrument)
+            .numberOfDigits();
     }
 
     public Instrument get() {
@@ -46,30 +66,93 @@ public class CrossInstrument {
         return crossCurrency;
     }
 
+    public Instrument firstInstrument() {
+        return firstInstrument;
+    }
+
+    public Instrument secondInstrument() {
+        return secondInstrument;
+    }
+
     public FxRate rate(final FxRate rateA,
                        final FxRate rateB) {
-        final FxRate numeratorRate =
-                instrument
-                    .getPrimaryJFCurrency()
-                    .equals(rateB.instrument().getSecondaryJFCurrency())
-                        || instrument
-                            .getPrimaryJFCurrency()
-                            .equals(rateA.instrument().getPrimaryJFCurrency()) ? rateA : rateB;
-        final FxRate denominatorRate = numeratorRate == rateA ? rateB : rateA;
-        final BigDecimal bdcFirst = BigDecimal.valueOf(numeratorRate.value());
-        final BigDecimal bdcSecond = BigDecimal.valueOf(denominatorRate.value());
+        final double crossValue = rateA.instrument() == firstInstrument
+                ? rate(rateA.value(), rateB.value())
+                : rate(rateB.value(), rateA.value());
 
+        return new FxRate(crossValue, instrument);
+    }
+
+    /**
+     * Computes the cross rate from the rate of the first and the rate of the
+     * second instrument, in the order they were given to the constructor.
+     */
+    public double rate(final double firstRate,
+                       final double secondRate) {
+        final double numeratorRate = isFirstNumerator ? firstRate : secondRate;
+        final double denominatorRate = isFirstNumerator ? secondRate : firstRate;
         final double crossValue = shouldDivide
-                ? bdcFirst.divide(bdcSecond,
-                                  pipScale,
-                                  roundingMode)
-                    .doubleValue()
-                : bdcFirst
-                    .multiply(bdcSecond)
-                    .setScale(pipScale, roundingMode)
-                    .doubleValue();
+                ? numeratorRate / denominatorRate
+                : numeratorRate * denominatorRate;
 
-        return new FxRate(crossValue, instrument);
+        return MathUtil.roundDouble(crossValue, pipScale);
+    }
+
+    /**
+     * Computes the cross quote for the offer side from the ticks of the first
+     * and the second instrument.
+     *
+     * If the rates are divided, the denominator takes the opposite offer side,
+     * so the cross bid never exceeds the cross ask.
+     */
+    public double rate(final ITick firstTick,
+                       final ITick secondTick,
+                       final OfferSide offerSide) {
+        final OfferSide denominatorSide = shouldDivide
+                ? oppositeSide(offerSide)
+                : offerSide;
+        final OfferSide firstSide = isFirstNumerator ? offerSide : denominatorSide;
+        final OfferSide secondSide = isFirstNumerator ? denominatorSide : offerSide;
+
+        return rate(quote(firstTick, firstSide), quote(secondTick, secondSide));
+    }
+
+    /**
+     * Emits the current cross rate for the offer side whenever a tick of one
+     * of both instruments arrives on the given tick quotes, once ticks of
+     * both instruments have been seen.
+     */
+    public Observable<FxRate> rateObservable(final Observable<TickQuote> tickQuoteObservable,
+                                             final OfferSide offerSide) {
+        checkNotNull(tickQuoteObservable);
+        checkNotNull(offerSide);
+
+        return Observable.combineLatest(ticksOfInstrument(tickQuoteObservable, firstInstrument),
+                                        ticksOfInstrument(tickQuoteObservable, secondInstrument),
+                                        (firstTick, secondTick) -> new FxRate(rate(firstTick,
+                                                                                   secondTick,
+                                                                                   offerSide),
+                                                                              instrument));
+    }
+
+    private Observable<ITick> ticksOfInstrument(final Observable<TickQuote> tickQuoteObservable,
+                                                final Instrument tickInstrument) {
+        return tickQuoteObservable
+            .filter(tickQuote -> tickQuote.instrument() == tickInstrument)
+            .map(TickQuote::tick);
+    }
+
+    private static double quote(final ITick tick,
+                                final OfferSide offerSide) {
+        return offerSide == OfferSide.BID
+                ? tick.getBid()
+                : tick.getAsk();
+    }
+
+    private static OfferSide oppositeSide(final OfferSide offerSide) {
+        return offerSide == OfferSide.BID
+                ? OfferSide.ASK
+                : OfferSide.BID;
     }
 
     private ICurrency calcCrossCurrency() {
@@ -91,4 +174,11 @@ public class CrossInstrument {
         return baseFirstCurrency.equals(crossCurrency) && baseSecondCurrency.equals(crossCurrency)
                 || quoteFirstCurrency.equals(crossCurrency) && quoteSecondCurrency.equals(crossCurrency);
     }
+
+    private boolean isFirstNumerator() {
+        final ICurrency baseCurrency = instrument.getPrimaryJFCurrency();
+
+        return baseCurrency.equals(secondInstrument.getSecondaryJFCurrency())
+                || baseCurrency.equals(firstInstrument.getPrimaryJFCurrency());
+    }
 }
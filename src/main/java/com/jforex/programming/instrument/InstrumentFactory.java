@@ -5,6 +5,9 @@ import static java.util.stream.Collectors.toSet;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -14,8 +17,6 @@ import org.apache.commons.collections4.keyvalue.MultiKey;
 
 import com.dukascopy.api.ICurrency;
 import com.dukascopy.api.Instrument;
-import com.jforex.programming.currency.CurrencyFactory;
-import com.jforex.programming.math.MathUtil;
 import com.jforex.programming.misc.StreamUtil;
 
 import io.reactivex.Maybe;
@@ -25,26 +26,18 @@ public final class InstrumentFactory {
     private InstrumentFactory() {
     }
 
-    private static final Map<String, Instrument> instrumentByName = new ConcurrentHashMap<>();
+    private static final InstrumentNameTable instrumentNameTable = new InstrumentNameTable(Instrument.values());
     private static final Map<MultiKey<Object>, Instrument> instrumentByCurrencies = new ConcurrentHashMap<>();
 
+    /**
+     * Finds the instrument for a case-insensitive name like EUR/USD, EURUSD,
+     * USD/EUR or USDEUR. The lookup allocates nothing, also for unknown
+     * names.
+     */
     public static final Optional<Instrument> maybeFromName(final String instrumentName) {
         checkNotNull(instrumentName);
 
-        final String upperCaseName = instrumentName.toUpperCase();
-        return instrumentByName.containsKey(upperCaseName)
-                ? Optional.of(instrumentByName.get(upperCaseName))
-                : maybeFromNewName(upperCaseName);
-    }
-
-    private static final Optional<Instrument> maybeFromNewName(final String newInstrumentName) {
-        final Optional<Instrument> maybeInstrument = Instrument.isInverted(newInstrumentName)
-                ? Optional.of(Instrument.fromInvertedString(newInstrumentName))
-                : Optional.ofNullable(Instrument.fromString(newInstrumentName));
-
-        if (maybeInstrument.isPresent())
-            instrumentByName.put(newInstrumentName, maybeInstrument.get());
-        return maybeInstrument;
+        return instrumentNameTable.get(instrumentName);
     }
 
     public static final Optional<Instrument> maybeFromCurrencies(final ICurrency firstCurrency,
@@ -73,13 +66,13 @@ public final class InstrumentFactory {
     public static final Set<Instrument> combineCurrencies(final Collection<? extends ICurrency> currencies) {
         checkNotNull(currencies);
 
-        return MathUtil
-            .kPowerSet(currencies, 2)
-            .stream()
-            .map(ArrayList<ICurrency>::new)
-            .map(pair -> maybeFromCurrencies(pair.get(0), pair.get(1)))
-            .flatMap(StreamUtil::optionalToStream)
-            .collect(toSet());
+        final List<ICurrency> currencyList = new ArrayList<>(currencies);
+        final Set<Instrument> instruments = new HashSet<>();
+        for (int i = 0; i < currencyList.size(); ++i)
+            for (int j = i + 1; j < currencyList.size(); ++j)
+                maybeFromCurrencies(currencyList.get(i), currencyList.get(j)).ifPresent(instruments::add);
+
+        return instruments;
     }
 
     public static final Set<Instrument> combineWithAnchorCurrency(final ICurrency anchorCurrency,
@@ -94,20 +87,85 @@ public final class InstrumentFactory {
             .collect(toSet());
     }
 
+    /**
+     * Returns the cross instrument of two instruments which share exactly one
+     * currency, built from the two other currencies.
+     *
+     * The crosses of all instrument pairs are computed once on first use and
+     * looked up by the ordinals of both instruments.
+     */
     public static final Maybe<Instrument> maybeCross(final Instrument firstInstrument,
                                                      final Instrument secondInstrument) {
         checkNotNull(firstInstrument);
         checkNotNull(secondInstrument);
 
-        return Maybe
-            .just(CurrencyFactory.fromInstruments(firstInstrument, secondInstrument))
-            .filter(currencies -> currencies.size() == 3)
-            .map(InstrumentFactory::combineCurrencies)
-            .map(instruments -> {
-                instruments.remove(firstInstrument);
-                instruments.remove(secondInstrument);
-                return instruments;
-            })
-            .map(instruments -> instruments.iterator().next());
+        final Instrument crossInstrument = CrossTable.cross(firstInstrument, secondInstrument);
+        return crossInstrument == null
+                ? Maybe.empty()
+                : Maybe.just(crossInstrument);
+    }
+
+    /**
+     * Returns the {@link CrossInstrument} of two instruments or an empty
+     * optional if they form no cross instrument.
+     */
+    public static final Optional<CrossInstrument> maybeCrossInstrument(final Instrument firstInstrument,
+                                                                       final Instrument secondInstrument) {
+        checkNotNull(firstInstrument);
+        checkNotNull(secondInstrument);
+
+        return CrossTable.cross(firstInstrument, secondInstrument) == null
+                ? Optional.empty()
+                : Optional.of(new CrossInstrument(firstInstrument, secondInstrument));
+    }
+
+    private static final class CrossTable {
+
+        private static final Instrument[] instruments = Instrument.values();
+        private static final Instrument[] crossByInstrumentPair = createCrossTable();
+
+        private static final Instrument cross(final Instrument firstInstrument,
+                                              final Instrument secondInstrument) {
+            return crossByInstrumentPair[firstInstrument.ordinal() * instruments.length + secondInstrument.ordinal()];
+        }
+
+        private static final Instrument[] createCrossTable() {
+            final Map<MultiKey<ICurrency>, Instrument> instrumentByCurrencyPair = new HashMap<>();
+            for (final Instrument instrument : instruments) {
+                final InstrumentMetadata metadata = InstrumentMetadata.of(instrument);
+                instrumentByCurrencyPair.put(new MultiKey<>(metadata.baseCurrency(), metadata.quoteCurrency()),
+                                             instrument);
+                instrumentByCurrencyPair.put(new MultiKey<>(metadata.quoteCurrency(), metadata.baseCurrency()),
+                                             instrument);
+            }
+
+            final Instrument[] crossTable = new Instrument[instruments.length * instruments.length];
+            for (final Instrument firstInstrument : instruments)
+                for (final Instrument secondInstrument : instruments) {
+                    final MultiKey<ICurrency> crossCurrencies = crossCurrencies(InstrumentMetadata.of(firstInstrument),
+                                                                                InstrumentMetadata.of(secondInstrument));
+                    if (crossCurrencies != null)
+                        crossTable[firstInstrument.ordinal() * instruments.length + secondInstrument.ordinal()] =
+                                instrumentByCurrencyPair.get(crossCurrencies);
+                }
+            return crossTable;
+        }
+
+        private static final MultiKey<ICurrency> crossCurrencies(final InstrumentMetadata firstMetadata,
+                                                                  final InstrumentMetadata secondMetadata) {
+            final ICurrency firstBase = firstMetadata.baseCurrency();
+            final ICurrency firstQuote = firstMetadata.quoteCurrency();
+            final ICurrency secondBase = secondMetadata.baseCurrency();
+            final ICurrency secondQuote = secondMetadata.quoteCurrency();
+            final boolean isBaseShared = firstBase.equals(secondBase) || firstBase.equals(secondQuote);
+            final boolean isQuoteShared = firstQuote.equals(secondBase) || firstQuote.equals(secondQuote);
+            if (isBaseShared == isQuoteShared)
+                return null;
+
+            final ICurrency sharedCurrency = isBaseShared ? firstBase : firstQuote;
+            final ICurrency firstOther = isBaseShared ? firstQuote : firstBase;
+            final ICurrency secondOther = secondBase.equals(sharedCurrency) ? secondQuote : secondBase;
+            return new MultiKey<>(firstOther, secondOther);
+        }
     }
 }
@@ -0,0 +1,123 @@
+package com.jforex.programming.instrument;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Currency;
+import java.util.Set;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.Instrument;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Immutable per-instrument values which never change during a strategy run.
+ *
+ * One instance per {@link Instrument} is built when the class is loaded and
+ * looked up by the ordinal of the instrument, so no getter call on the
+ * instrument and no string concatenation is needed on hot paths. The Java
+ * currencies are only looked up on request, since they are not needed on hot
+ * paths and a lookup may fail for currencies unknown to the JDK.
+ */
+public final class InstrumentMetadata {
+
+    private final Instrument instrument;
+    private final double pipValue;
+    private final double inversePipValue;
+    private final int pipScale;
+    private final int numberOfDigits;
+    private final ICurrency baseCurrency;
+    private final ICurrency quoteCurrency;
+    private final Set<ICurrency> currencies;
+    private final String name;
+    private final String nameNoSeparator;
+
+    private static final String pairsSeparator = Instrument.getPairsSeparator();
+    private static final InstrumentMetadata[] metadataByOrdinal = createMetadataTable();
+
+    private InstrumentMetadata(final Instrument instrument) {
+        this.instrument = instrument;
+
+        pipValue = instrument.getPipValue();
+        inversePipValue = 1 / pipValue;
+        pipScale = instrument.getPipScale();
+        numberOfDigits = pipScale + 1;
+        baseCurrency = instrument.getPrimaryJFCurrency();
+        quoteCurrency = instrument.getSecondaryJFCurrency();
+        currencies = ImmutableSet.of(baseCurrency, quoteCurrency);
+        name = baseCurrency
+            .toString()
+            .concat(pairsSeparator)
+            .concat(quoteCurrency.toString());
+        nameNoSeparator = baseCurrency
+            .toString()
+            .concat(quoteCurrency.toString());
+    }
+
+    private static final InstrumentMetadata[] createMetadataTable() {
+        final Instrument[] instruments = Instrument.values();
+        final InstrumentMetadata[] metadataTable = new InstrumentMetadata[instruments.length];
+        for (final Instrument instrument : instruments)
+            metadataTable[instrument.ordinal()] = new InstrumentMetadata(instrument);
+
+        return metadataTable;
+    }
+
+    public static final InstrumentMetadata of(final Instrument instrument) {
+        checkNotNull(instrument);
+
+        return metadataByOrdinal[instrument.ordinal()];
+    }
+
+    public Instrument instrument() {
+        return instrument;
+    }
+
+    public double pipValue() {
+        return pipValue;
+    }
+
+    public double inversePipValue() {
+        return inversePipValue;
+    }
+
+    public int pipScale() {
+        return pipScale;
+    }
+
+    public int numberOfDigits() {
+        return numberOfDigits;
+    }
+
+    public ICurrency baseCurrency() {
+        return baseCurrency;
+    }
+
+    public ICurrency quoteCurrency() {
+        return quoteCurrency;
+    }
+
+    public Currency baseJavaCurrency() {
+        return baseCurrency.getJavaCurrency();
+    }
+
+    public Currency quoteJavaCurrency() {
+        return quoteCurrency.getJavaCurrency();
+    }
+
+    public Set<ICurrency> currencies() {
+        return currencies;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String nameNoSeparator() {
+        return nameNoSeparator;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,86 @@
+package com.jforex.programming.instrument;
+
+import java.util.Optional;
+
+import com.dukascopy.api.Instrument;
+
+/**
+ * An open addressing hash table over all names of all instruments.
+ *
+ * Every instrument is stored under its name with and without separator, and
+ * under its inverted name with and without separator unless another
+ * instrument already has that name. The hash folds ASCII letters to upper
+ * case and the keys are compared with
+ * {@link String#regionMatches(boolean, int, String, int, int)}, so a lookup
+ * is case-insensitive and allocates nothing. Since the table holds every
+ * known name, a miss is final and needs no call to the platform.
+ */
+final class InstrumentNameTable {
+
+    private final String[] keys;
+    private final Optional<Instrument>[] values;
+    private final int mask;
+
+    private static final int noOfNamesPerInstrument = 4;
+    private static final int loadFactorInverse = 4;
+
+    @SuppressWarnings("unchecked")
+    InstrumentNameTable(final Instrument[] instruments) {
+        final int capacity = Integer.highestOneBit(instruments.length * noOfNamesPerInstrument * loadFactorInverse);
+        keys = new String[capacity];
+        values = new Optional[capacity];
+        mask = capacity - 1;
+
+        for (final Instrument instrument : instruments) {
+            final InstrumentMetadata metadata = InstrumentMetadata.of(instrument);
+            put(metadata.name(), instrument);
+            put(metadata.nameNoSeparator(), instrument);
+        }
+        for (final Instrument instrument : instruments) {
+            final InstrumentMetadata metadata = InstrumentMetadata.of(instrument);
+            final String baseName = metadata
+                .baseCurrency()
+                .toString();
+            final String quoteName = metadata
+                .quoteCurrency()
+                .toString();
+            put(quoteName + Instrument.getPairsSeparator() + baseName, instrument);
+            put(quoteName + baseName, instrument);
+        }
+    }
+
+    private void put(final String name,
+                     final Instrument instrument) {
+        final String key = name.toUpperCase();
+        int slot = hash(key) & mask;
+        while (keys[slot] != null) {
+            if (keys[slot].equals(key))
+                return;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = Optional.of(instrument);
+    }
+
+    Optional<Instrument> get(final String name) {
+        final int length = name.length();
+        int slot = hash(name) & mask;
+        for (String key = keys[slot]; key != null; key = keys[slot]) {
+            if (key.length() == length && key.regionMatches(true, 0, name, 0, length))
+                return values[slot];
+            slot = (slot + 1) & mask;
+        }
+        return Optional.empty();
+    }
+
+    private static int hash(final String name) {
+        int hash = 0;
+        for (int i = 0; i < name.length(); ++i) {
+            final char character = name.charAt(i);
+            hash = 31 * hash + (character >= 'a' && character <= 'z'
+                    ? character - ('a' - 'A')
+                    : character);
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -1,7 +1,6 @@
 package com.jforex.programming.instrument;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.jforex.programming.math.MathUtil.isValueDivisibleByX;
 import static com.jforex.programming.math.MathUtil.roundPips;
 import static com.jforex.programming.math.MathUtil.roundPrice;
 
@@ -14,7 +13,6 @@ import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
 import com.dukascopy.api.OfferSide;
 import com.jforex.programming.currency.CurrencyCode;
-import com.jforex.programming.currency.CurrencyFactory;
 import com.jforex.programming.currency.CurrencyUtil;
 import com.jforex.programming.math.CalculationUtil;
 import com.jforex.programming.math.MathUtil;
@@ -25,17 +23,10 @@ import com.jforex.programming.quote.TickQuoteProvider;
 public class InstrumentUtil {
 
     private final Instrument instrument;
+    private final InstrumentMetadata instrumentMetadata;
     private final TickQuoteProvider tickQuoteProvider;
     private final BarQuoteProvider barQuoteProvider;
     private final CalculationUtil calculationUtil;
-    private final ICurrency baseCurrency;
-    private final ICurrency quoteCurrency;
-    private final Currency baseJavaCurrency;
-    private final Currency quoteJavaCurrency;
-    private final int numberOfDigits;
-    private final String toStringNoSeparator;
-    private final String toString;
-    private final Set<ICurrency> currencies;
 
     private static final String pairsSeparator = Instrument.getPairsSeparator();
 
@@ -48,14 +39,7 @@ public class InstrumentUtil {
         this.barQuoteProvider = barQuoteProvider;
         this.calculationUtil = calculationUtil;
 
-        baseCurrency = instrument.getPrimaryJFCurrency();
-        quoteCurrency = instrument.getSecondaryJFCurrency();
-        baseJavaCurrency = baseJavaCurrency(instrument);
-        quoteJavaCurrency = quoteJavaCurrency(instrument);
-        numberOfDigits = numberOfDigits(instrument);
-        toStringNoSeparator = toStringNoSeparator(instrument);
-        toString = nameFromCurrencies(baseCurrency, quoteCurrency);
-        currencies = CurrencyFactory.fromInstrument(instrument);
+        instrumentMetadata = InstrumentMetadata.of(instrument);
     }
 
     public ITick tickQuote() {
@@ -85,28 +69,28 @@ public class InstrumentUtil {
     }
 
     public Currency baseJavaCurrency() {
-        return baseJavaCurrency;
+        return instrumentMetadata.baseJavaCurrency();
     }
 
     public Currency quoteJavaCurrency() {
-        return quoteJavaCurrency;
+        return instrumentMetadata.quoteJavaCurrency();
     }
 
     public int numberOfDigits() {
-        return numberOfDigits;
+        return instrumentMetadata.numberOfDigits();
     }
 
     public String toStringNoSeparator() {
-        return toStringNoSeparator;
+        return instrumentMetadata.nameNoSeparator();
     }
 
     @Override
     public String toString() {
-        return toString;
+        return instrumentMetadata.name();
     }
 
     public Set<ICurrency> currencies() {
-        return currencies;
+        return instrumentMetadata.currencies();
     }
 
     public double scalePipsToPrice(final double pips) {
@@ -138,8 +122,10 @@ public class InstrumentUtil {
         checkNotNull(offerSide);
 
         return calculationUtil.convertAmount(amount,
-                                             baseCurrency,
-                                             targetInstrument.getPrimaryJFCurrency(),
+                                             instrumentMetadata.baseCurrency(),
+                                             InstrumentMetadata
+                                                 .of(targetInstrument)
+                                                 .baseCurrency(),
                                              offerSide);
     }
 
@@ -168,15 +154,17 @@ public class InstrumentUtil {
     }
 
     public static final int numberOfDigits(final Instrument instrument) {
-        checkNotNull(instrument);
-
-        return instrument.getPipScale() + 1;
+        return InstrumentMetadata
+            .of(instrument)
+            .numberOfDigits();
     }
 
     public static final double pipDistanceOfPrices(final Instrument instrument,
                                                    final double priceA,
                                                    final double priceB) {
-        final double pipDistance = (priceA - priceB) / instrument.getPipValue();
+        final double pipDistance = (priceA - priceB) / InstrumentMetadata
+            .of(instrument)
+            .pipValue();
         return roundPips(pipDistance);
     }
 
@@ -191,64 +179,53 @@ public class InstrumentUtil {
 
     public static final double scalePipsToPrice(final Instrument instrument,
                                                 final double pips) {
-        checkNotNull(instrument);
-
-        return roundPrice(instrument.getPipValue() * pips, instrument);
+        final InstrumentMetadata instrumentMetadata = InstrumentMetadata.of(instrument);
+        return MathUtil.roundDouble(instrumentMetadata.pipValue() * pips,
+                                    instrumentMetadata.numberOfDigits());
     }
 
     public static final double scalePriceToPips(final Instrument instrument,
                                                 final double price) {
-        checkNotNull(instrument);
-
-        final double pips = price * (1 / instrument.getPipValue());
+        final double pips = price * InstrumentMetadata
+            .of(instrument)
+            .inversePipValue();
         return MathUtil.roundPips(pips);
     }
 
     public static final boolean isPricePipDivisible(final Instrument instrument,
                                                     final double price) {
-        checkNotNull(instrument);
-
-        return isValueDivisibleByX(price, instrument.getPipValue() / 10);
+        return MathUtil.hasMaxFractionDigits(price, numberOfDigits(instrument));
     }
 
     public static final String toStringNoSeparator(final Instrument instrument) {
-        checkNotNull(instrument);
-
-        return instrument
-            .getPrimaryJFCurrency()
-            .toString()
-            .concat(instrument.getSecondaryJFCurrency().toString());
+        return InstrumentMetadata
+            .of(instrument)
+            .nameNoSeparator();
     }
 
     public static final Currency baseJavaCurrency(final Instrument instrument) {
-        checkNotNull(instrument);
-
-        return instrument
-            .getPrimaryJFCurrency()
-            .getJavaCurrency();
+        return InstrumentMetadata
+            .of(instrument)
+            .baseJavaCurrency();
     }
 
     public static final Currency quoteJavaCurrency(final Instrument instrument) {
-        checkNotNull(instrument);
-
-        return instrument
-            .getSecondaryJFCurrency()
-            .getJavaCurrency();
+        return InstrumentMetadata
+            .of(instrument)
+            .quoteJavaCurrency();
     }
 
     public static final String baseCurrencyName(final Instrument instrument) {
-        checkNotNull(instrument);
-
-        return instrument
-            .getPrimaryJFCurrency()
+        return InstrumentMetadata
+            .of(instrument)
+            .baseCurrency()
             .getCurrencyCode();
     }
 
     public static final String quoteCurrencyName(final Instrument instrument) {
-        checkNotNull(instrument);
-
-        return instrument
-            .getSecondaryJFCurrency()
+        return InstrumentMetadata
+            .of(instrument)
+            .quoteCurrency()
             .getCurrencyCode();
     }
 
@@ -1,23 +1,54 @@
 package com.jforex.programming.math;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.jforex.programming.math.MathUtil.roundAmount;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
 import com.dukascopy.api.ICurrency;
 import com.dukascopy.api.IEngine.OrderCommand;
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
 import com.dukascopy.api.OfferSide;
+import com.jforex.programming.currency.CurrencyIndex;
 import com.jforex.programming.instrument.InstrumentFactory;
+import com.jforex.programming.instrument.InstrumentMetadata;
 import com.jforex.programming.instrument.InstrumentUtil;
+import com.jforex.programming.order.OrderStaticUtil;
 import com.jforex.programming.quote.TickQuoteProvider;
+import com.jforex.programming.strategy.StrategyUtil;
+
+import io.reactivex.Observable;
 
 public class CalculationUtil {
 
     private final TickQuoteProvider tickQuoteProvider;
+    private final CurrencyRateMatrix currencyRateMatrix;
+    private final ConversionRoutes conversionRoutes;
+
+    private static final Instrument[] instruments = Instrument.values();
+    private static final double baseAmount = StrategyUtil.platformSettings.baseAmount();
 
     public CalculationUtil(final TickQuoteProvider tickQuoteProvider) {
+        this(tickQuoteProvider, new CurrencyRateMatrix(Observable.empty()));
+    }
+
+    public CalculationUtil(final TickQuoteProvider tickQuoteProvider,
+                           final CurrencyRateMatrix currencyRateMatrix) {
+        this(tickQuoteProvider,
+             currencyRateMatrix,
+             new ConversionRoutes(currencyRateMatrix, Collections.emptySet()));
+    }
+
+    public CalculationUtil(final TickQuoteProvider tickQuoteProvider,
+                           final CurrencyRateMatrix currencyRateMatrix,
+                           final ConversionRoutes conversionRoutes) {
         this.tickQuoteProvider = tickQuoteProvider;
+        this.currencyRateMatrix = currencyRateMatrix;
+        this.conversionRoutes = conversionRoutes;
     }
 
     public double convertAmount(final double amount,
@@ -38,6 +69,25 @@ public class CalculationUtil {
     private final double conversionQuote(final ICurrency sourceCurrency,
                                          final ICurrency targetCurrency,
                                          final OfferSide offerSide) {
+        final double matrixRate = currencyRateMatrix.rate(sourceCurrency,
+                                                          targetCurrency,
+                                                          offerSide);
+        if (!Double.isNaN(matrixRate))
+            return matrixRate;
+
+        final double routeRate = conversionRoutes.rate(sourceCurrency,
+                                                       targetCurrency,
+                                                       offerSide);
+        return Double.isNaN(routeRate)
+                ? conversionQuoteFromProvider(sourceCurrency,
+                                              targetCurrency,
+                                              offerSide)
+                : routeRate;
+    }
+
+    private final double conversionQuoteFromProvider(final ICurrency sourceCurrency,
+                                                     final ICurrency targetCurrency,
+                                                     final OfferSide offerSide) {
         final Instrument conversionInstrument = InstrumentFactory
             .maybeFromCurrencies(sourceCurrency, targetCurrency)
             .get();
@@ -66,6 +116,199 @@ public class CalculationUtil {
         return roundAmount(pipValueAmount);
     }
 
+    /**
+     * Computes the pip values of many amounts at once, where the instrument
+     * of each amount is given by its ordinal. Each quote currency is
+     * converted to the target currency only once per call.
+     */
+    public double[] pipValuesInCurrency(final double[] amounts,
+                                        final int[] instrumentOrdinals,
+                                        final ICurrency targetCurrency,
+                                        final OfferSide offerSide) {
+        checkBulkArguments(amounts, instrumentOrdinals, targetCurrency, offerSide);
+
+        final double[] conversionQuotes = newConversionQuotes();
+        final int targetIndex = CurrencyIndex.index(targetCurrency);
+        final double[] pipValues = new double[amounts.length];
+        for (int i = 0; i < amounts.length; ++i) {
+            final Instrument instrument = instruments[instrumentOrdinals[i]];
+            final double conversionQuote = cachedConversionQuote(conversionQuotes,
+                                                                 CurrencyIndex.quoteIndex(instrument),
+                                                                 targetIndex,
+                                                                 targetCurrency,
+                                                                 offerSide);
+            pipValues[i] = roundAmount(amounts[i] * InstrumentMetadata
+                .of(instrument)
+                .pipValue() * conversionQuote);
+        }
+        return pipValues;
+    }
+
+    public double[] pipValuesInCurrency(final Collection<IOrder> orders,
+                                        final ICurrency targetCurrency,
+                                        final OfferSide offerSide) {
+        checkNotNull(orders);
+
+        return pipValuesInCurrency(amountsInUnits(orders, false),
+                                   instrumentOrdinals(orders),
+                                   targetCurrency,
+                                   offerSide);
+    }
+
+    /**
+     * Converts many amounts of the base currencies of their instruments to
+     * the target currency at once. Signed amounts keep their sign.
+     */
+    public double[] exposuresInCurrency(final double[] amounts,
+                                        final int[] instrumentOrdinals,
+                                        final ICurrency targetCurrency,
+                                        final OfferSide offerSide) {
+        checkBulkArguments(amounts, instrumentOrdinals, targetCurrency, offerSide);
+
+        final double[] conversionQuotes = newConversionQuotes();
+        final int targetIndex = CurrencyIndex.index(targetCurrency);
+        final double[] exposures = new double[amounts.length];
+        for (int i = 0; i < amounts.length; ++i) {
+            final double conversionQuote =
+                    cachedConversionQuote(conversionQuotes,
+                                          CurrencyIndex.baseIndex(instruments[instrumentOrdinals[i]]),
+                                          targetIndex,
+                                          targetCurrency,
+                                          offerSide);
+            exposures[i] = roundAmount(amounts[i] * conversionQuote);
+        }
+        return exposures;
+    }
+
+    public double[] exposuresInCurrency(final Collection<IOrder> orders,
+                                        final ICurrency targetCurrency,
+                                        final OfferSide offerSide) {
+        checkNotNull(orders);
+
+        return exposuresInCurrency(amountsInUnits(orders, true),
+                                   instrumentOrdinals(orders),
+                                   targetCurrency,
+                                   offerSide);
+    }
+
+    /**
+     * Computes the profit or loss of many signed amounts at once from their
+     * open prices and the current close prices, converted to the target
+     * currency. Positive amounts close at the bid, negative ones at the ask.
+     */
+    public double[] profitLossInCurrency(final double[] signedAmounts,
+                                         final int[] instrumentOrdinals,
+                                         final double[] openPrices,
+                                         final ICurrency targetCurrency,
+                                         final OfferSide offerSide) {
+        checkBulkArguments(signedAmounts, instrumentOrdinals, targetCurrency, offerSide);
+        checkNotNull(openPrices);
+        checkArgument(openPrices.length == signedAmounts.length,
+                      "Number of open prices %s differs from number of amounts %s!",
+                      openPrices.length,
+                      signedAmounts.length);
+
+        final double[] conversionQuotes = newConversionQuotes();
+        final int targetIndex = CurrencyIndex.index(targetCurrency);
+        final double[] profitLosses = new double[signedAmounts.length];
+        for (int i = 0; i < signedAmounts.length; ++i) {
+            final Instrument instrument = instruments[instrumentOrdinals[i]];
+            final double closePrice = closePrice(instrument, signedAmounts[i] > 0);
+            final double conversionQuote = cachedConversionQuote(conversionQuotes,
+                                                                 CurrencyIndex.quoteIndex(instrument),
+                                                                 targetIndex,
+                                                                 targetCurrency,
+                                                                 offerSide);
+            profitLosses[i] = roundAmount(signedAmounts[i] * (closePrice - openPrices[i]) * conversionQuote);
+        }
+        return profitLosses;
+    }
+
+    public double[] profitLossInCurrency(final Collection<IOrder> orders,
+                                         final ICurrency targetCurrency,
+                                         final OfferSide offerSide) {
+        checkNotNull(orders);
+
+        return profitLossInCurrency(amountsInUnits(orders, true),
+                                    instrumentOrdinals(orders),
+                                    orders
+                                        .stream()
+                                        .mapToDouble(IOrder::getOpenPrice)
+                                        .toArray(),
+                                    targetCurrency,
+                                    offerSide);
+    }
+
+    private final void checkBulkArguments(final double[] amounts,
+                                          final int[] instrumentOrdinals,
+                                          final ICurrency targetCurrency,
+                                          final OfferSide offerSide) {
+        checkNotNull(amounts);
+        checkNotNull(instrumentOrdinals);
+        checkNotNull(targetCurrency);
+        checkNotNull(offerSide);
+        checkArgument(instrumentOrdinals.length == amounts.length,
+                      "Number of instrument ordinals %s differs from number of amounts %s!",
+                      instrumentOrdinals.length,
+                      amounts.length);
+    }
+
+    private final double[] newConversionQuotes() {
+        final double[] conversionQuotes = new double[CurrencyIndex.size()];
+        Arrays.fill(conversionQuotes, Double.NaN);
+        return conversionQuotes;
+    }
+
+    private final double cachedConversionQuote(final double[] conversionQuotes,
+                                               final int sourceIndex,
+                                               final int targetIndex,
+                                               final ICurrency targetCurrency,
+                                               final OfferSide offerSide) {
+        if (sourceIndex == targetIndex)
+            return 1.0;
+
+        double conversionQuote = conversionQuotes[sourceIndex];
+        if (Double.isNaN(conversionQuote)) {
+            conversionQuote = conversionQuote(CurrencyIndex.currency(sourceIndex),
+                                              targetCurrency,
+                                              offerSide);
+            conversionQuotes[sourceIndex] = conversionQuote;
+        }
+        return conversionQuote;
+    }
+
+    private final double closePrice(final Instrument instrument,
+                                    final boolean isLong) {
+        final OfferSide closeSide = isLong
+                ? OfferSide.BID
+                : OfferSide.ASK;
+        final double matrixQuote = currencyRateMatrix.rate(CurrencyIndex.baseIndex(instrument),
+                                                           CurrencyIndex.quoteIndex(instrument),
+                                                           closeSide);
+        return Double.isNaN(matrixQuote)
+                ? tickQuoteProvider.forOfferSide(instrument, closeSide)
+                : matrixQuote;
+    }
+
+    private static final double[] amountsInUnits(final Collection<IOrder> orders,
+                                                 final boolean isSigned) {
+        return orders
+            .stream()
+            .mapToDouble(order -> (isSigned
+                    ? OrderStaticUtil.signedAmount(order)
+                    : order.getAmount()) * baseAmount)
+            .toArray();
+    }
+
+    private static final int[] instrumentOrdinals(final Collection<IOrder> orders) {
+        return orders
+            .stream()
+            .mapToInt(order -> order
+                .getInstrument()
+                .ordinal())
+            .toArray();
+    }
+
     public double slPriceForPips(final Instrument instrument,
                                  final OrderCommand orderCommand,
                                  final double pips) {
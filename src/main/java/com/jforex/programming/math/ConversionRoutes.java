@@ -0,0 +1,146 @@
+package com.jforex.programming.math;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.currency.CurrencyIndex;
+
+/**
+ * Conversion routes between currencies which have no direct instrument, or
+ * whose direct instrument has no tick yet.
+ *
+ * A route is the chain of currencies with the fewest legs over the given
+ * route instruments, usually the subscribed ones. Each leg is evaluated like
+ * a {@link com.jforex.programming.instrument.CrossInstrument}: the rate of
+ * one leg is divided or multiplied by the next one, depending on which side
+ * the shared currency is on. Since the {@link CurrencyRateMatrix} already
+ * stores both orientations of every instrument, this is a product of matrix
+ * reads. All routes are computed once in the constructor.
+ */
+public class ConversionRoutes {
+
+    private final CurrencyRateMatrix currencyRateMatrix;
+    private final int[][] routeByCurrencyPair;
+
+    private static final int noOfCurrencies = CurrencyIndex.size();
+
+    public ConversionRoutes(final CurrencyRateMatrix currencyRateMatrix,
+                            final Collection<Instrument> routeInstruments) {
+        checkNotNull(currencyRateMatrix);
+        checkNotNull(routeInstruments);
+
+        this.currencyRateMatrix = currencyRateMatrix;
+        routeByCurrencyPair = createRoutes(createAdjacency(routeInstruments));
+    }
+
+    private static final List<List<Integer>> createAdjacency(final Collection<Instrument> routeInstruments) {
+        final List<List<Integer>> adjacency = new ArrayList<>(noOfCurrencies);
+        for (int i = 0; i < noOfCurrencies; ++i)
+            adjacency.add(new ArrayList<>());
+
+        for (final Instrument instrument : routeInstruments) {
+            final int baseIndex = CurrencyIndex.baseIndex(instrument);
+            final int quoteIndex = CurrencyIndex.quoteIndex(instrument);
+            adjacency.get(baseIndex).add(quoteIndex);
+            adjacency.get(quoteIndex).add(baseIndex);
+        }
+        return adjacency;
+    }
+
+    private static final int[][] createRoutes(final List<List<Integer>> adjacency) {
+        final int[][] routes = new int[noOfCurrencies * noOfCurrencies][];
+        final int[] previousIndex = new int[noOfCurrencies];
+        final Queue<Integer> pendingIndices = new ArrayDeque<>();
+
+        for (int sourceIndex = 0; sourceIndex < noOfCurrencies; ++sourceIndex) {
+            Arrays.fill(previousIndex, -1);
+            previousIndex[sourceIndex] = sourceIndex;
+            pendingIndices.add(sourceIndex);
+            while (!pendingIndices.isEmpty()) {
+                final int currentIndex = pendingIndices.poll();
+                for (final int nextIndex : adjacency.get(currentIndex))
+                    if (previousIndex[nextIndex] < 0) {
+                        previousIndex[nextIndex] = currentIndex;
+                        pendingIndices.add(nextIndex);
+                    }
+            }
+
+            for (int targetIndex = 0; targetIndex < noOfCurrencies; ++targetIndex)
+                if (targetIndex != sourceIndex && previousIndex[targetIndex] >= 0)
+                    routes[sourceIndex * noOfCurrencies + targetIndex] =
+                            routeToTarget(targetIndex, previousIndex);
+        }
+        return routes;
+    }
+
+    private static final int[] routeToTarget(final int targetIndex,
+                                             final int[] previousIndex) {
+        int noOfCurrenciesOnRoute = 1;
+        for (int index = targetIndex; previousIndex[index] != index; index = previousIndex[index])
+            ++noOfCurrenciesOnRoute;
+
+        final int[] route = new int[noOfCurrenciesOnRoute];
+        int index = targetIndex;
+        for (int position = noOfCurrenciesOnRoute - 1; position >= 0; --position) {
+            route[position] = index;
+            index = previousIndex[index];
+        }
+        return route;
+    }
+
+    public boolean hasRoute(final ICurrency sourceCurrency,
+                            final ICurrency targetCurrency) {
+        checkNotNull(sourceCurrency);
+        checkNotNull(targetCurrency);
+
+        return route(sourceCurrency, targetCurrency) != null;
+    }
+
+    public int noOfLegs(final ICurrency sourceCurrency,
+                        final ICurrency targetCurrency) {
+        checkNotNull(sourceCurrency);
+        checkNotNull(targetCurrency);
+
+        final int[] route = route(sourceCurrency, targetCurrency);
+        return route == null
+                ? 0
+                : route.length - 1;
+    }
+
+    public double rate(final ICurrency sourceCurrency,
+                       final ICurrency targetCurrency,
+                       final OfferSide offerSide) {
+        checkNotNull(sourceCurrency);
+        checkNotNull(targetCurrency);
+        checkNotNull(offerSide);
+
+        final int[] route = route(sourceCurrency, targetCurrency);
+        if (route == null)
+            return Double.NaN;
+
+        double rate = 1.0;
+        for (int leg = 1; leg < route.length; ++leg)
+            rate *= currencyRateMatrix.rate(route[leg - 1],
+                                            route[leg],
+                                            offerSide);
+        return rate;
+    }
+
+    private int[] route(final ICurrency sourceCurrency,
+                        final ICurrency targetCurrency) {
+        final int sourceIndex = CurrencyIndex.index(sourceCurrency);
+        final int targetIndex = CurrencyIndex.index(targetCurrency);
+        return sourceIndex < 0 || targetIndex < 0
+                ? null
+                : routeByCurrencyPair[sourceIndex * noOfCurrencies + targetIndex];
+    }
+}
@@ -0,0 +1,93 @@
+package com.jforex.programming.math;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Arrays;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.currency.CurrencyIndex;
+import com.jforex.programming.quote.TickQuote;
+
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Conversion rates between all currencies of the known instruments, one
+ * matrix per offer side.
+ *
+ * The matrix is updated in place for every tick quote, so a rate lookup is an
+ * index lookup of both currencies in the {@link CurrencyIndex} plus one array
+ * read. Rates of currency
+ * pairs without a received tick are NaN.
+ */
+public class CurrencyRateMatrix {
+
+    private final double[] askRates;
+    private final double[] bidRates;
+    private final Disposable tickQuoteDisposable;
+
+    private static final int noOfCurrencies = CurrencyIndex.size();
+
+    public CurrencyRateMatrix(final Observable<TickQuote> tickQuoteObservable) {
+        askRates = new double[noOfCurrencies * noOfCurrencies];
+        bidRates = new double[noOfCurrencies * noOfCurrencies];
+        Arrays.fill(askRates, Double.NaN);
+        Arrays.fill(bidRates, Double.NaN);
+
+        tickQuoteDisposable = tickQuoteObservable.subscribe(this::onTickQuote);
+    }
+
+    private void onTickQuote(final TickQuote tickQuote) {
+        final int baseIndex = CurrencyIndex.baseIndex(tickQuote.instrument());
+        final int quoteIndex = CurrencyIndex.quoteIndex(tickQuote.instrument());
+        final ITick tick = tickQuote.tick();
+
+        updateRates(askRates,
+                    baseIndex,
+                    quoteIndex,
+                    tick.getAsk());
+        updateRates(bidRates,
+                    baseIndex,
+                    quoteIndex,
+                    tick.getBid());
+    }
+
+    private void updateRates(final double[] rates,
+                             final int baseIndex,
+                             final int quoteIndex,
+                             final double quote) {
+        rates[baseIndex * noOfCurrencies + quoteIndex] = quote;
+        rates[quoteIndex * noOfCurrencies + baseIndex] = 1 / quote;
+    }
+
+    public double rate(final ICurrency sourceCurrency,
+                       final ICurrency targetCurrency,
+                       final OfferSide offerSide) {
+        checkNotNull(sourceCurrency);
+        checkNotNull(targetCurrency);
+        checkNotNull(offerSide);
+
+        final int sourceIndex = CurrencyIndex.index(sourceCurrency);
+        final int targetIndex = CurrencyIndex.index(targetCurrency);
+        return sourceIndex < 0 || targetIndex < 0
+                ? Double.NaN
+                : rate(sourceIndex,
+                       targetIndex,
+                       offerSide);
+    }
+
+    double rate(final int sourceIndex,
+                final int targetIndex,
+                final OfferSide offerSide) {
+        final double[] rates = offerSide == OfferSide.ASK
+                ? askRates
+                : bidRates;
+        return rates[sourceIndex * noOfCurrencies + targetIndex];
+    }
+
+    public void onStop() {
+        tickQuoteDisposable.dispose();
+    }
+}
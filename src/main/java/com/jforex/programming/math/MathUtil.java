@@ -21,6 +21,13 @@ public final class MathUtil {
     }
 
     private static final PlatformSettings platformSettings = StrategyUtil.platformSettings;
+    private static final int amountPrecision = platformSettings.amountPrecision();
+    private static final int pipPrecision = platformSettings.pipPrecision();
+    private static final double baseAmount = platformSettings.baseAmount();
+    private static final double[] powersOfTen = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15 };
+    private static final double maxScaledValueForFastRounding = 1e15;
+    private static final double tieToleranceInUlps = 4.0;
 
     public static final <T> Set<Set<T>> kPowerSet(final Collection<T> sourceSet,
                                                   final int setSize) {
@@ -39,8 +46,36 @@ public final class MathUtil {
         return 100.0 * (currentValue - previousValue) / previousValue;
     }
 
+    /**
+     * Rounds with HALF_UP semantics on the decimal representation of the raw
+     * value, so the result is identical to
+     * {@code BigDecimal.valueOf(rawValue).setScale(digitPrecision, ROUND_HALF_UP).doubleValue()}.
+     *
+     * The common case is handled with a power of ten table and plain double
+     * arithmetic. Values which are too large, have an unsupported precision or
+     * lie within a few ulps of a rounding tie take the BigDecimal path.
+     */
     public static final double roundDouble(final double rawValue,
                                            final int digitPrecision) {
+        if (digitPrecision < 0 || digitPrecision >= powersOfTen.length)
+            return roundDoubleWithBigDecimal(rawValue, digitPrecision);
+
+        final double powerOfTen = powersOfTen[digitPrecision];
+        final double scaledValue = Math.abs(rawValue) * powerOfTen;
+        if (!(scaledValue < maxScaledValueForFastRounding))
+            return roundDoubleWithBigDecimal(rawValue, digitPrecision);
+
+        final double scaledFloor = Math.floor(scaledValue);
+        final double fraction = scaledValue - scaledFloor;
+        if (Math.abs(fraction - 0.5) <= tieToleranceInUlps * Math.ulp(scaledValue))
+            return roundDoubleWithBigDecimal(rawValue, digitPrecision);
+
+        final long roundedScaledValue = (long) scaledFloor + (fraction > 0.5 ? 1L : 0L);
+        return (rawValue < 0.0 ? -roundedScaledValue : roundedScaledValue) / powerOfTen;
+    }
+
+    private static final double roundDoubleWithBigDecimal(final double rawValue,
+                                                          final int digitPrecision) {
         return BigDecimal
             .valueOf(rawValue)
             .setScale(digitPrecision, BigDecimal.ROUND_HALF_UP)
@@ -48,11 +83,11 @@ public final class MathUtil {
     }
 
     public static final double roundAmount(final double rawAmount) {
-        return roundDouble(rawAmount, platformSettings.amountPrecision());
+        return roundDouble(rawAmount, amountPrecision);
     }
 
     public static final double roundPips(final double rawPips) {
-        return roundDouble(rawPips, platformSettings.pipPrecision());
+        return roundDouble(rawPips, pipPrecision);
     }
 
     public static final double roundPrice(final double rawPrice,
@@ -70,7 +105,37 @@ public final class MathUtil {
             .doubleValue() == 0;
     }
 
+    /**
+     * Checks if the value has at most the given number of fraction digits,
+     * which is the same as {@link #isValueDivisibleByX} for a divisor of
+     * 10^-fractionDigits.
+     *
+     * The value is scaled to a long with the power of ten table and checked
+     * for an exact round trip, so no BigDecimal is created unless the value
+     * is too large or the number of digits is not supported by the table.
+     */
+    public static final boolean hasMaxFractionDigits(final double value,
+                                                     final int fractionDigits) {
+        if (fractionDigits < 0 || fractionDigits >= powersOfTen.length)
+            return hasMaxFractionDigitsWithBigDecimal(value, fractionDigits);
+
+        final double powerOfTen = powersOfTen[fractionDigits];
+        final double scaledValue = value * powerOfTen;
+        if (!(Math.abs(scaledValue) < maxScaledValueForFastRounding))
+            return hasMaxFractionDigitsWithBigDecimal(value, fractionDigits);
+
+        return Math.round(scaledValue) / powerOfTen == value;
+    }
+
+    private static final boolean hasMaxFractionDigitsWithBigDecimal(final double value,
+                                                                    final int fractionDigits) {
+        return BigDecimal
+            .valueOf(value)
+            .stripTrailingZeros()
+            .scale() <= fractionDigits;
+    }
+
     public static final double scaleAmountForPlatform(final double amount) {
-        return roundAmount(amount / platformSettings.baseAmount());
+        return roundAmount(amount / baseAmount);
     }
 }
@@ -23,10 +23,13 @@ import com.jforex.programming.settings.UserSettings;
 import com.jforex.programming.strategy.StrategyUtil;
 
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 
 public class HistoryUtil {
 
     private final IHistory history;
+    private final Scheduler delayScheduler;
 
     private static final UserSettings userSettings = StrategyUtil.userSettings;
     private static final long delayOnHistoryFailRetry = userSettings.delayOnHistoryFailRetry();
@@ -34,7 +37,13 @@ public class HistoryUtil {
     private static final Logger logger = LogManager.getLogger(HistoryUtil.class);
 
     public HistoryUtil(final IHistory history) {
+        this(history, Schedulers.computation());
+    }
+
+    public HistoryUtil(final IHistory history,
+                       final Scheduler delayScheduler) {
         this.history = history;
+        this.delayScheduler = delayScheduler;
     }
 
     public Observable<TickQuote> tickQuotesObservable(final Set<Instrument> instruments) {
@@ -52,7 +61,7 @@ public class HistoryUtil {
         return Observable
             .fromCallable(() -> latestHistoryTick(instrument))
             .doOnError(e -> logger.error(e.getMessage() + " Will retry latest tick from history now..."))
-            .retryWhen(RxUtil.retryWithDelay(retryParams()));
+            .retryWhen(RxUtil.retryWithDelay(retryParams(), delayScheduler));
     }
 
     private RetryParams retryParams() {
@@ -78,7 +87,7 @@ public class HistoryUtil {
         return Observable
             .fromCallable(() -> latestHistoryBar(instrument, period, offerSide))
             .doOnError(e -> logger.error(e.getMessage() + " Will retry latest bar from history now..."))
-            .retryWhen(RxUtil.retryWithDelay(retryParams()));
+            .retryWhen(RxUtil.retryWithDelay(retryParams(), delayScheduler));
     }
 
     private IBar latestHistoryBar(final Instrument instrument,
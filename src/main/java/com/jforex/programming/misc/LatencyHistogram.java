@@ -0,0 +1,112 @@
+package com.jforex.programming.misc;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram for latency values in the style of HdrHistogram.
+ *
+ * Values are counted in log-linear buckets, so the relative error of a
+ * reported percentile is bounded by about 3% over the whole trackable range.
+ * Recording only touches atomic counters and never allocates, so it is safe
+ * to call from the order event thread.
+ */
+public final class LatencyHistogram {
+
+    private final AtomicLongArray counts = new AtomicLongArray(bucketCount);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalValue = new LongAdder();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    private static final int subBucketBits = 6;
+    private static final int subBucketCount = 1 << subBucketBits;
+    private static final int subBucketHalfCount = subBucketCount / 2;
+    private static final int maxValueBits = 40;
+    private static final long highestTrackableValue = (1L << maxValueBits) - 1;
+    private static final int bucketCount = bucketIndex(highestTrackableValue) + 1;
+
+    public void record(final long value) {
+        final long trackedValue = Math.min(Math.max(value, 0L), highestTrackableValue);
+
+        counts.incrementAndGet(bucketIndex(trackedValue));
+        totalCount.increment();
+        totalValue.add(trackedValue);
+        updateMax(trackedValue);
+    }
+
+    private void updateMax(final long value) {
+        long currentMax = maxValue.get();
+        while (value > currentMax && !maxValue.compareAndSet(currentMax, value))
+            currentMax = maxValue.get();
+    }
+
+    public long count() {
+        return totalCount.sum();
+    }
+
+    public long max() {
+        return maxValue.get();
+    }
+
+    public double mean() {
+        final long count = count();
+        return count == 0
+                ? 0.0
+                : (double) totalValue.sum() / count;
+    }
+
+    public long valueAtPercentile(final double percentile) {
+        final long[] countsSnapshot = countsSnapshot();
+        long total = 0L;
+        for (final long bucketCount : countsSnapshot)
+            total += bucketCount;
+        if (total == 0L)
+            return 0L;
+
+        final double clampedPercentile = Math.min(Math.max(percentile, 0.0), 100.0);
+        final long targetCount = Math.max(1L, (long) Math.ceil(clampedPercentile / 100.0 * total));
+        long cumulativeCount = 0L;
+        for (int index = 0; index < countsSnapshot.length; ++index) {
+            cumulativeCount += countsSnapshot[index];
+            if (cumulativeCount >= targetCount)
+                return Math.min(highestEquivalentValue(index), max());
+        }
+        return max();
+    }
+
+    public void reset() {
+        for (int index = 0; index < bucketCount; ++index)
+            counts.set(index, 0L);
+        totalCount.reset();
+        totalValue.reset();
+        maxValue.set(0L);
+    }
+
+    private long[] countsSnapshot() {
+        final long[] snapshot = new long[bucketCount];
+        for (int index = 0; index < bucketCount; ++index)
+            snapshot[index] = counts.get(index);
+        return snapshot;
+    }
+
+    private static int bucketIndex(final long value) {
+        if (value < subBucketCount)
+            return (int) value;
+
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - (subBucketBits - 1);
+        return subBucketCount
+                + (shift - 1) * subBucketHalfCount
+                + (int) ((value >>> shift) - subBucketHalfCount);
+    }
+
+    private static long highestEquivalentValue(final int index) {
+        if (index < subBucketCount)
+            return index;
+
+        final int offset = index - subBucketCount;
+        final int shift = offset / subBucketHalfCount + 1;
+        final long subBucket = offset % subBucketHalfCount + subBucketHalfCount;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,8 @@
+package com.jforex.programming.order;
+
+public enum OrderSchedulerMode {
+
+    IMMEDIATE,
+    AFFINITY,
+    PARALLEL
+}
@@ -0,0 +1,95 @@
+package com.jforex.programming.order;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * The scheduler for user callbacks of order tasks.
+ *
+ * Order calls and the ingest of order messages always stay on the thread of
+ * the caller and of the message, since the pipeline has to listen for the
+ * events of a call right after the call returned and has to see the messages
+ * in order. Only the user callbacks can be moved off that thread, so slow
+ * callbacks do not hold back other order events. Without a callback scheduler
+ * the callbacks run on the emitting thread, which is what
+ * {@link #immediate()} does.
+ */
+public final class OrderSchedulers {
+
+    private final Optional<Scheduler> maybeCallbackScheduler;
+    private final List<ExecutorService> ownedExecutors;
+
+    private OrderSchedulers(final Optional<Scheduler> maybeCallbackScheduler,
+                            final List<ExecutorService> ownedExecutors) {
+        this.maybeCallbackScheduler = maybeCallbackScheduler;
+        this.ownedExecutors = ownedExecutors;
+    }
+
+    /** Callbacks run on the emitting thread. */
+    public static final OrderSchedulers immediate() {
+        return new OrderSchedulers(Optional.empty(), new ArrayList<>());
+    }
+
+    /** Callbacks of all tasks run on one own thread. */
+    public static final OrderSchedulers affinity() {
+        final List<ExecutorService> ownedExecutors = new ArrayList<>();
+        return new OrderSchedulers(Optional.of(singleThreadScheduler("callback", ownedExecutors)),
+                                   ownedExecutors);
+    }
+
+    /** Callbacks of different tasks run in parallel on the computation scheduler. */
+    public static final OrderSchedulers parallel() {
+        return new OrderSchedulers(Optional.of(Schedulers.computation()), new ArrayList<>());
+    }
+
+    public static final OrderSchedulers forMode(final OrderSchedulerMode orderSchedulerMode) {
+        checkNotNull(orderSchedulerMode);
+
+        switch (orderSchedulerMode) {
+        case AFFINITY:
+            return affinity();
+        case PARALLEL:
+            return parallel();
+        default:
+            return immediate();
+        }
+    }
+
+    public static final OrderSchedulers of(final Scheduler callbackScheduler) {
+        checkNotNull(callbackScheduler);
+
+        return new OrderSchedulers(Optional.of(callbackScheduler), new ArrayList<>());
+    }
+
+    private static final Scheduler singleThreadScheduler(final String role,
+                                                         final List<ExecutorService> ownedExecutors) {
+        final ExecutorService executor = Executors
+            .newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("OrderSchedulers-" + role + "-%d")
+                .setDaemon(true)
+                .build());
+        ownedExecutors.add(executor);
+        return Schedulers.from(executor);
+    }
+
+    public <T> Observable<T> observeOnCallback(final Observable<T> observable) {
+        return maybeCallbackScheduler.isPresent()
+                ? observable.observeOn(maybeCallbackScheduler.get(), true)
+                : observable;
+    }
+
+    public void shutdown() {
+        ownedExecutors.forEach(ExecutorService::shutdown);
+    }
+}
@@ -4,9 +4,11 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
 import com.google.common.collect.ImmutableMap;
 import com.jforex.programming.order.event.OrderEvent;
@@ -68,9 +70,9 @@ public class OrderUtil {
             .put(TaskParamsType.SETOPENPRICE,
                  params -> basicTask.setOpenPrice((SetOpenPriceParams) params))
             .put(TaskParamsType.SETSL,
-                 params -> basicTask.setStopLossPrice((SetSLParams) params))
+                 params -> basicTask.setStopLossPriceCoalesced((SetSLParams) params))
             .put(TaskParamsType.SETTP,
-                 params -> basicTask.setTakeProfitPrice((SetTPParams) params))
+                 params -> basicTask.setTakeProfitPriceCoalesced((SetTPParams) params))
             .put(TaskParamsType.MERGEPOSITION,
                  params -> mergePositionTask.merge((MergePositionParams) params))
             .put(TaskParamsType.MERGEALLPOSITIONS,
@@ -115,6 +117,18 @@ public class OrderUtil {
         taskParamsUtil.composeAndSubscribe(Observable.merge(observables), batchParams);
     }
 
+    public <V> PreparedTask<V> prepare(final TaskParams template,
+                                       final Function<V, ? extends TaskParams> paramsForValue) {
+        checkNotNull(template);
+        checkNotNull(paramsForValue);
+
+        final TaskParamsType type = template.type();
+        return new PreparedTask<>(type,
+                                  taskParamsMapper.get(type),
+                                  paramsForValue,
+                                  taskParamsUtil.composer(template.composeData()));
+    }
+
     private final Observable<OrderEvent> taskParamsToObservable(final TaskParams taskParams) {
         return taskParamsMapper
             .get(taskParams.type())
@@ -126,4 +140,10 @@ public class OrderUtil {
 
         return positionUtil.positionOrders(instrument);
     }
+
+    public Optional<IOrder> maybeOrderByLabel(final String label) {
+        checkNotNull(label);
+
+        return positionUtil.maybeOrderByLabel(label);
+    }
 }
@@ -1,6 +1,7 @@
 package com.jforex.programming.order;
 
 import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.order.call.OrderCallRequest;
 import com.jforex.programming.order.event.OrderEvent;
@@ -16,30 +17,54 @@ public class OrderUtilHandler {
     private final OrderEventGateway orderEventGateway;
     private final OrderEventTypeDataFactory orderEventTypeDataFactory;
     private final JFHotPublisher<OrderCallRequest> callRequestPublisher;
+    private final OrderCallMetrics orderCallMetrics;
 
     public OrderUtilHandler(final OrderEventGateway orderEventGateway,
                             final OrderEventTypeDataFactory orderEventTypeDataFactory,
-                            final JFHotPublisher<OrderCallRequest> callRequestPublisher) {
+                            final JFHotPublisher<OrderCallRequest> callRequestPublisher,
+                            final OrderCallMetrics orderCallMetrics) {
         this.orderEventGateway = orderEventGateway;
         this.orderEventTypeDataFactory = orderEventTypeDataFactory;
         this.callRequestPublisher = callRequestPublisher;
+        this.orderCallMetrics = orderCallMetrics;
     }
 
     public Observable<OrderEvent> callObservable(final IOrder orderOfCall,
-                                                 final OrderCallReason callReason) {
+                                                 final OrderCallReason callReason,
+                                                 final long callTime) {
         return Observable
             .just(orderOfCall)
             .doOnSubscribe(d -> callRequestPublisher.onNext(new OrderCallRequest(orderOfCall, callReason)))
             .map(order -> orderEventTypeDataFactory.forCallReason(callReason))
-            .flatMap(type -> gatewayObservable(orderOfCall, type));
+            .flatMap(type -> gatewayObservable(orderOfCall,
+                                               callReason,
+                                               type,
+                                               callTime));
     }
 
     private final Observable<OrderEvent> gatewayObservable(final IOrder order,
-                                                           final OrderEventTypeData typeData) {
+                                                           final OrderCallReason callReason,
+                                                           final OrderEventTypeData typeData,
+                                                           final long callTime) {
         return orderEventGateway
             .observable()
             .filter(orderEvent -> orderEvent.order().equals(order))
             .filter(orderEvent -> typeData.allEventTypes().contains(orderEvent.type()))
+            .doOnNext(orderEvent -> recordIfFinished(orderEvent,
+                                                     callReason,
+                                                     typeData,
+                                                     callTime))
             .takeUntil((final OrderEvent orderEvent) -> typeData.finishEventTypes().contains(orderEvent.type()));
     }
+
+    private void recordIfFinished(final OrderEvent orderEvent,
+                                  final OrderCallReason callReason,
+                                  final OrderEventTypeData typeData,
+                                  final long callTime) {
+        if (typeData.finishEventTypes().contains(orderEvent.type()))
+            orderCallMetrics.recordCall(orderEvent.order(),
+                                        callReason,
+                                        System.nanoTime() - callTime,
+                                        typeData.rejectEventTypes().contains(orderEvent.type()));
+    }
 }
@@ -0,0 +1,72 @@
+package com.jforex.programming.order;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Function;
+
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.task.params.TaskParams;
+import com.jforex.programming.order.task.params.TaskParamsType;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableTransformer;
+import io.reactivex.functions.Consumer;
+
+/**
+ * A task whose callbacks, retry settings and task lookup are resolved once
+ * from a {@link TaskParams} template, created with
+ * {@link OrderUtil#prepare(TaskParams, Function)}.
+ *
+ * Each invocation only maps the varying value, like the new stop loss of a
+ * trailing stop, to plain task params and applies the prepared composer to the
+ * task observable. The params created for a value must not carry top level
+ * callbacks or retry settings, since the ones of the template are used
+ * instead. Sub step params which position params carry, like the merge params
+ * of {@code MergePositionParams}, are still used by the task together with
+ * their own callbacks.
+ */
+public final class PreparedTask<V> {
+
+    private final TaskParamsType type;
+    private final Function<TaskParams, Observable<OrderEvent>> task;
+    private final Function<V, ? extends TaskParams> paramsForValue;
+    private final ObservableTransformer<OrderEvent, OrderEvent> composer;
+
+    private static final Consumer<OrderEvent> noEventConsumer = orderEvent -> {};
+    private static final Consumer<Throwable> noErrorConsumer = throwable -> {};
+
+    PreparedTask(final TaskParamsType type,
+                 final Function<TaskParams, Observable<OrderEvent>> task,
+                 final Function<V, ? extends TaskParams> paramsForValue,
+                 final ObservableTransformer<OrderEvent, OrderEvent> composer) {
+        this.type = type;
+        this.task = task;
+        this.paramsForValue = paramsForValue;
+        this.composer = composer;
+    }
+
+    public TaskParamsType type() {
+        return type;
+    }
+
+    public Observable<OrderEvent> observable(final V value) {
+        checkNotNull(value);
+
+        final TaskParams taskParams = paramsForValue.apply(value);
+        checkArgument(taskParams.type() == type,
+                      "Params of type %s do not match prepared task of type %s!",
+                      taskParams.type(),
+                      type);
+        checkArgument(!taskParams.hasCallbacksOrRetry(),
+                      "Params for a prepared task must not carry callbacks or retry params!");
+
+        return task
+            .apply(taskParams)
+            .compose(composer);
+    }
+
+    public void execute(final V value) {
+        observable(value).subscribe(noEventConsumer, noErrorConsumer);
+    }
+}
@@ -0,0 +1,174 @@
+package com.jforex.programming.order.call;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.google.common.collect.MapMaker;
+import com.jforex.programming.misc.LatencyHistogram;
+import com.jforex.programming.order.event.OrderEvent;
+
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+/**
+ * Collects round trip latencies, rejects and retries of order calls per
+ * {@link OrderCallReason} and instrument.
+ *
+ * Recording is lock-free and allocation free once an instrument has been seen
+ * for a call reason. The collected numbers can be pulled as
+ * {@link OrderCallStats} snapshots or dumped to the log periodically.
+ */
+public class OrderCallMetrics {
+
+    private final Map<OrderCallReason, CallRecorder> recorderByReason = new EnumMap<>(OrderCallReason.class);
+    private final Map<OrderCallReason, ConcurrentMap<Instrument, CallRecorder>> recorderByInstrument =
+            new EnumMap<>(OrderCallReason.class);
+    private final ConcurrentMap<IOrder, OrderCallReason> rejectedCallByOrder =
+            new MapMaker().weakKeys().makeMap();
+
+    private static final Logger logger = LogManager.getLogger(OrderCallMetrics.class);
+
+    public OrderCallMetrics() {
+        for (final OrderCallReason callReason : OrderCallReason.values()) {
+            recorderByReason.put(callReason, new CallRecorder());
+            recorderByInstrument.put(callReason, new ConcurrentHashMap<>());
+        }
+    }
+
+    public void recordCall(final IOrder order,
+                           final OrderCallReason callReason,
+                           final long latencyNanos,
+                           final boolean isRejected) {
+        final CallRecorder instrumentRecorder = recorderByInstrument
+            .get(callReason)
+            .computeIfAbsent(order.getInstrument(), instrument -> new CallRecorder());
+
+        recorderByReason.get(callReason).record(latencyNanos, isRejected);
+        instrumentRecorder.record(latencyNanos, isRejected);
+        if (isRejected)
+            rejectedCallByOrder.put(order, callReason);
+    }
+
+    public void recordRetry(final OrderEvent rejectEvent) {
+        checkNotNull(rejectEvent);
+
+        final IOrder order = rejectEvent.order();
+        final OrderCallReason callReason = rejectedCallByOrder.remove(order);
+        if (callReason != null) {
+            recorderByReason.get(callReason).retries.increment();
+            recorderByInstrument
+                .get(callReason)
+                .computeIfAbsent(order.getInstrument(), instrument -> new CallRecorder())
+                .retries
+                .increment();
+        }
+    }
+
+    public OrderCallStats stats(final OrderCallReason callReason) {
+        checkNotNull(callReason);
+
+        return recorderByReason
+            .get(callReason)
+            .stats(callReason, Optional.empty());
+    }
+
+    public OrderCallStats stats(final OrderCallReason callReason,
+                                final Instrument instrument) {
+        checkNotNull(callReason);
+        checkNotNull(instrument);
+
+        final CallRecorder callRecorder = recorderByInstrument
+            .get(callReason)
+            .computeIfAbsent(instrument, key -> new CallRecorder());
+        return callRecorder.stats(callReason, Optional.of(instrument));
+    }
+
+    public List<OrderCallStats> all() {
+        final List<OrderCallStats> allStats = new ArrayList<>();
+        recorderByInstrument.forEach((callReason, recorders) -> recorders
+            .forEach((instrument, recorder) -> allStats.add(recorder.stats(callReason, Optional.of(instrument)))));
+
+        return Collections.unmodifiableList(allStats);
+    }
+
+    public void reset() {
+        rejectedCallByOrder.clear();
+        recorderByReason
+            .values()
+            .forEach(CallRecorder::reset);
+        recorderByInstrument
+            .values()
+            .forEach(Map::clear);
+    }
+
+    public void logStats() {
+        all()
+            .stream()
+            .filter(stats -> stats.count() > 0)
+            .forEach(stats -> logger.info("Order call stats: " + stats));
+    }
+
+    public Disposable logPeriodically(final long interval,
+                                      final TimeUnit timeUnit) {
+        return logPeriodically(interval,
+                               timeUnit,
+                               Schedulers.computation());
+    }
+
+    public Disposable logPeriodically(final long interval,
+                                      final TimeUnit timeUnit,
+                                      final Scheduler scheduler) {
+        checkNotNull(timeUnit);
+        checkNotNull(scheduler);
+
+        return Observable
+            .interval(interval, timeUnit, scheduler)
+            .subscribe(tick -> logStats());
+    }
+
+    private static final class CallRecorder {
+
+        private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+        private final LongAdder rejects = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+
+        private void record(final long latencyNanos,
+                            final boolean isRejected) {
+            latencyHistogram.record(latencyNanos);
+            if (isRejected)
+                rejects.increment();
+        }
+
+        private OrderCallStats stats(final OrderCallReason callReason,
+                                     final Optional<Instrument> maybeInstrument) {
+            return new OrderCallStats(callReason,
+                                      maybeInstrument,
+                                      latencyHistogram,
+                                      rejects.sum(),
+                                      retries.sum());
+        }
+
+        private void reset() {
+            latencyHistogram.reset();
+            rejects.reset();
+            retries.reset();
+        }
+    }
+}
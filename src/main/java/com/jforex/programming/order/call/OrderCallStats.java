@@ -0,0 +1,116 @@
+package com.jforex.programming.order.call;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.misc.LatencyHistogram;
+
+/**
+ * An immutable snapshot of the round trip statistics for one order call
+ * reason, either over all instruments or for a single instrument.
+ *
+ * All latencies are in nanoseconds and measured from issuing the order call
+ * until the finishing order event arrived.
+ */
+public final class OrderCallStats {
+
+    private final OrderCallReason callReason;
+    private final Optional<Instrument> maybeInstrument;
+    private final long count;
+    private final long rejects;
+    private final long retries;
+    private final double meanLatency;
+    private final long p50Latency;
+    private final long p90Latency;
+    private final long p99Latency;
+    private final long maxLatency;
+
+    public OrderCallStats(final OrderCallReason callReason,
+                          final Optional<Instrument> maybeInstrument,
+                          final LatencyHistogram latencyHistogram,
+                          final long rejects,
+                          final long retries) {
+        this.callReason = callReason;
+        this.maybeInstrument = maybeInstrument;
+        this.rejects = rejects;
+        this.retries = retries;
+
+        count = latencyHistogram.count();
+        meanLatency = latencyHistogram.mean();
+        p50Latency = latencyHistogram.valueAtPercentile(50.0);
+        p90Latency = latencyHistogram.valueAtPercentile(90.0);
+        p99Latency = latencyHistogram.valueAtPercentile(99.0);
+        maxLatency = latencyHistogram.max();
+    }
+
+    public OrderCallReason callReason() {
+        return callReason;
+    }
+
+    public Optional<Instrument> maybeInstrument() {
+        return maybeInstrument;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long rejects() {
+        return rejects;
+    }
+
+    public long retries() {
+        return retries;
+    }
+
+    public double rejectRate() {
+        return count == 0
+                ? 0.0
+                : (double) rejects / count;
+    }
+
+    public double meanLatency() {
+        return meanLatency;
+    }
+
+    public long p50Latency() {
+        return p50Latency;
+    }
+
+    public long p90Latency() {
+        return p90Latency;
+    }
+
+    public long p99Latency() {
+        return p99Latency;
+    }
+
+    public long maxLatency() {
+        return maxLatency;
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder toStringBuilder = new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE);
+        toStringBuilder.append("callReason", callReason);
+        toStringBuilder.append("instrument", maybeInstrument.map(Instrument::toString).orElse("ALL"));
+        toStringBuilder.append("count", count);
+        toStringBuilder.append("rejects", rejects);
+        toStringBuilder.append("retries", retries);
+        toStringBuilder.append("meanMillis", toMillis(meanLatency));
+        toStringBuilder.append("p50Millis", toMillis(p50Latency));
+        toStringBuilder.append("p90Millis", toMillis(p90Latency));
+        toStringBuilder.append("p99Millis", toMillis(p99Latency));
+        toStringBuilder.append("maxMillis", toMillis(maxLatency));
+
+        return toStringBuilder.toString();
+    }
+
+    private static double toMillis(final double nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
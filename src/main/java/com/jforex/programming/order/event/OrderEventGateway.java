@@ -36,13 +36,4 @@ public class OrderEventGateway {
     public Observable<OrderEvent> observable() {
         return orderEventPublisher.observable();
     }
-
-    public void importOrder(final IOrder order) {
-        final OrderEvent orderEvent = new OrderEvent(order,
-                                                     null,
-                                                     OrderEventType.SUBMIT_OK,
-                                                     true);
-        logger.debug("Importing order " + order.getLabel() + " for " + order.getInstrument());
-        orderEventPublisher.onNext(orderEvent);
-    }
 }
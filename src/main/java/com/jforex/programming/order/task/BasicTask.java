@@ -29,12 +29,15 @@ import com.jforex.programming.order.task.params.basic.SubmitParams;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.reactivex.Single;
 
 public class BasicTask {
 
     private final TaskExecutor taskExecutor;
     private final OrderUtilHandler orderUtilHandler;
     private final CalculationUtil calculationUtil;
+    private final OrderChangeCoalescer slChangeCoalescer = new OrderChangeCoalescer();
+    private final OrderChangeCoalescer tpChangeCoalescer = new OrderChangeCoalescer();
 
     public BasicTask(final TaskExecutor taskExecutor,
                      final OrderUtilHandler orderUtilHandler,
@@ -50,10 +53,7 @@ public class BasicTask {
                 ? OrderCallReason.SUBMIT_CONDITIONAL
                 : OrderCallReason.SUBMIT;
 
-        return Observable.defer(() -> taskExecutor
-            .submitOrder(orderParams)
-            .toObservable()
-            .flatMap(order -> orderUtilObservable(order, callReason)));
+        return Observable.defer(() -> orderUtilObservable(taskExecutor.submitOrder(orderParams), callReason));
     }
 
     public Observable<OrderEvent> mergeOrders(final String mergeOrderLabel,
@@ -61,10 +61,8 @@ public class BasicTask {
         return Observable
             .just(toMergeOrders)
             .filter(orders -> orders.size() >= 2)
-            .flatMap(orders -> taskExecutor
-                .mergeOrders(mergeOrderLabel, orders)
-                .toObservable()
-                .flatMap(order -> orderUtilObservable(order, OrderCallReason.MERGE)));
+            .flatMap(orders -> orderUtilObservable(taskExecutor.mergeOrders(mergeOrderLabel, orders),
+                                                   OrderCallReason.MERGE));
     }
 
     public Observable<OrderEvent> mergeOrders(final MergeParams mergeParams) {
@@ -78,8 +76,9 @@ public class BasicTask {
         return Observable
             .just(closeParams.order())
             .filter(order -> !OrderStaticUtil.isClosed.test(order))
-            .flatMap(order -> evalCloseParmas(order, closeParams)
-                .andThen(orderUtilObservable(order, callReasonForClose(closeParams, order))));
+            .flatMap(order -> orderUtilObservable(order,
+                                                  evalCloseParmas(order, closeParams),
+                                                  callReasonForClose(closeParams, order)));
     }
 
     private OrderCallReason callReasonForClose(final CloseParams closeParams,
@@ -111,9 +110,9 @@ public class BasicTask {
         return Observable
             .just(orderToSetLabel)
             .filter(order -> !isLabelSetTo(newLabel).test(order))
-            .flatMap(order -> taskExecutor
-                .setLabel(order, newLabel)
-                .andThen(orderUtilObservable(order, OrderCallReason.CHANGE_LABEL)));
+            .flatMap(order -> orderUtilObservable(order,
+                                                  taskExecutor.setLabel(order, newLabel),
+                                                  OrderCallReason.CHANGE_LABEL));
     }
 
     public Observable<OrderEvent> setGoodTillTime(final SetGTTParams setGTTParams) {
@@ -123,9 +122,9 @@ public class BasicTask {
         return Observable
             .just(orderToSetGTT)
             .filter(order -> !isGTTSetTo(newGTT).test(order))
-            .flatMap(order -> taskExecutor
-                .setGoodTillTime(order, newGTT)
-                .andThen(orderUtilObservable(order, OrderCallReason.CHANGE_GTT)));
+            .flatMap(order -> orderUtilObservable(order,
+                                                  taskExecutor.setGoodTillTime(order, newGTT),
+                                                  OrderCallReason.CHANGE_GTT));
     }
 
     public Observable<OrderEvent> setRequestedAmount(final SetAmountParams setAmountParams) {
@@ -135,9 +134,9 @@ public class BasicTask {
         return Observable
             .just(orderToSetAmount)
             .filter(order -> !isAmountSetTo(newRequestedAmount).test(order))
-            .flatMap(order -> taskExecutor
-                .setRequestedAmount(order, newRequestedAmount)
-                .andThen(orderUtilObservable(order, OrderCallReason.CHANGE_AMOUNT)));
+            .flatMap(order -> orderUtilObservable(order,
+                                                  taskExecutor.setRequestedAmount(order, newRequestedAmount),
+                                                  OrderCallReason.CHANGE_AMOUNT));
     }
 
     public Observable<OrderEvent> setOpenPrice(final SetOpenPriceParams setOpenPriceParams) {
@@ -147,9 +146,9 @@ public class BasicTask {
         return Observable
             .just(orderToSetOpenPrice)
             .filter(order -> !isOpenPriceSetTo(newOpenPrice).test(order))
-            .flatMap(order -> taskExecutor
-                .setOpenPrice(order, newOpenPrice)
-                .andThen(orderUtilObservable(order, OrderCallReason.CHANGE_PRICE)));
+            .flatMap(order -> orderUtilObservable(order,
+                                                  taskExecutor.setOpenPrice(order, newOpenPrice),
+                                                  OrderCallReason.CHANGE_PRICE));
     }
 
     public Observable<OrderEvent> setStopLossPrice(final SetSLParams setSLParams) {
@@ -159,14 +158,23 @@ public class BasicTask {
                 : calculationUtil.slPriceForPips(orderToSetSL, setSLParams.priceOrPips());
 
         return Observable
-            .just(setSLParams.order())
+            .just(orderToSetSL)
             .filter(order -> !isSLSetTo(newSL).test(order))
-            .flatMap(order -> taskExecutor
-                .setStopLossPrice(order,
-                                  newSL,
-                                  setSLParams.offerSide(),
-                                  setSLParams.trailingStep())
-                .andThen(orderUtilObservable(order, OrderCallReason.CHANGE_SL)));
+            .flatMap(order -> orderUtilObservable(order,
+                                                  taskExecutor.setStopLossPrice(order,
+                                                                                newSL,
+                                                                                setSLParams.offerSide(),
+                                                                                setSLParams.trailingStep()),
+                                                  OrderCallReason.CHANGE_SL));
+    }
+
+    /**
+     * Like {@link #setStopLossPrice(SetSLParams)}, but a change requested while
+     * another one of the order is in flight may get superseded by a newer one
+     * and then completes without events. Only meant for user-issued changes.
+     */
+    public Observable<OrderEvent> setStopLossPriceCoalesced(final SetSLParams setSLParams) {
+        return slChangeCoalescer.coalesce(setSLParams.order(), setStopLossPrice(setSLParams));
     }
 
     public Observable<OrderEvent> setTakeProfitPrice(final SetTPParams setTPParams) {
@@ -178,13 +186,36 @@ public class BasicTask {
         return Observable
             .just(orderToSetTP)
             .filter(order -> !isTPSetTo(newTP).test(order))
-            .flatMap(order -> taskExecutor
-                .setTakeProfitPrice(order, newTP)
-                .andThen(orderUtilObservable(order, OrderCallReason.CHANGE_TP)));
+            .flatMap(order -> orderUtilObservable(order,
+                                                  taskExecutor.setTakeProfitPrice(order, newTP),
+                                                  OrderCallReason.CHANGE_TP));
+    }
+
+    /**
+     * Like {@link #setTakeProfitPrice(SetTPParams)}, but a change requested
+     * while another one of the order is in flight may get superseded by a newer
+     * one and then completes without events. Only meant for user-issued changes.
+     */
+    public Observable<OrderEvent> setTakeProfitPriceCoalesced(final SetTPParams setTPParams) {
+        return tpChangeCoalescer.coalesce(setTPParams.order(), setTakeProfitPrice(setTPParams));
+    }
+
+    private final Observable<OrderEvent> orderUtilObservable(final Single<IOrder> orderCall,
+                                                             final OrderCallReason orderCallReason) {
+        return Observable.defer(() -> {
+            final long callTime = System.nanoTime();
+            return orderCall
+                .toObservable()
+                .flatMap(order -> orderUtilHandler.callObservable(order, orderCallReason, callTime));
+        });
     }
 
     private final Observable<OrderEvent> orderUtilObservable(final IOrder order,
+                                                             final Completable orderCall,
                                                              final OrderCallReason orderCallReason) {
-        return orderUtilHandler.callObservable(order, orderCallReason);
+        return Observable.defer(() -> {
+            final long callTime = System.nanoTime();
+            return orderCall.andThen(orderUtilHandler.callObservable(order, orderCallReason, callTime));
+        });
     }
 }
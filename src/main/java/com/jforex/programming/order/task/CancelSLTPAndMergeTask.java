@@ -1,12 +1,19 @@
 package com.jforex.programming.order.task;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.dukascopy.api.IOrder;
+import com.google.common.collect.Lists;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
 import com.jforex.programming.order.task.params.TaskParamsBase;
 import com.jforex.programming.order.task.params.TaskParamsUtil;
 import com.jforex.programming.order.task.params.basic.MergeParamsForPosition;
+import com.jforex.programming.order.task.params.basic.SetLabelParams;
 import com.jforex.programming.order.task.params.position.MergePositionParams;
 
 import io.reactivex.Observable;
@@ -27,17 +34,125 @@ public class CancelSLTPAndMergeTask {
 
     public Observable<OrderEvent> observe(final Collection<IOrder> toMergeOrders,
                                           final MergePositionParams mergePositionParams) {
+        final List<List<IOrder>> chunks = mergePositionParams.isPipelinedMerge()
+                ? chunks(toMergeOrders, mergePositionParams.mergeChunkSize())
+                : Lists.newArrayList();
+
+        return chunks.size() < 2
+                ? cancelSLTPAndMerge(toMergeOrders,
+                                     mergePositionParams,
+                                     mergePositionParams.mergeOrderLabel())
+                : observePipelined(chunks, mergePositionParams);
+    }
+
+    private Observable<OrderEvent> cancelSLTPAndMerge(final Collection<IOrder> toMergeOrders,
+                                                      final MergePositionParams mergePositionParams,
+                                                      final String mergeOrderLabel) {
         final TaskParamsBase cancelSLTPParams = mergePositionParams.cancelSLTPParams();
         final Observable<OrderEvent> cancelSLTP =
                 taskParamsUtil.compose(cancelSLTPTask.observe(toMergeOrders, mergePositionParams),
                                        cancelSLTPParams);
 
-        final MergeParamsForPosition mergeParamsForPosition = mergePositionParams.mergeParamsForPosition();
+        return cancelSLTP.concatWith(merge(toMergeOrders,
+                                           mergePositionParams.mergeParamsForPosition(),
+                                           mergeOrderLabel));
+    }
+
+    private Observable<OrderEvent> merge(final Collection<IOrder> toMergeOrders,
+                                         final MergeParamsForPosition mergeParamsForPosition,
+                                         final String mergeOrderLabel) {
+        return taskParamsUtil.compose(basicTask.mergeOrders(mergeOrderLabel, toMergeOrders),
+                                      mergeParamsForPosition);
+    }
+
+    private Observable<OrderEvent> observePipelined(final List<List<IOrder>> chunks,
+                                                    final MergePositionParams mergePositionParams) {
         final String mergeOrderLabel = mergePositionParams.mergeOrderLabel();
-        final Observable<OrderEvent> merge =
-                taskParamsUtil.compose(basicTask.mergeOrders(mergeOrderLabel, toMergeOrders),
-                                       mergeParamsForPosition);
+        final MergePositionParams chunkParams = chunkParams(mergePositionParams);
+        final Set<IOrder> chunkMergeOrders = ConcurrentHashMap.newKeySet();
+
+        final List<Observable<OrderEvent>> chunkObservables = new ArrayList<>();
+        for (int chunkIndex = 0; chunkIndex < chunks.size(); ++chunkIndex)
+            chunkObservables.add(cancelSLTPAndMerge(chunks.get(chunkIndex),
+                                                    chunkParams,
+                                                    mergeOrderLabel + "_" + chunkIndex)
+                                                        .doOnNext(orderEvent -> {
+                                                            if (orderEvent.type() == OrderEventType.MERGE_OK)
+                                                                chunkMergeOrders.add(orderEvent.order());
+                                                        }));
+
+        final MergeParamsForPosition mergeParamsForPosition = mergePositionParams.mergeParamsForPosition();
+        final Observable<OrderEvent> finalMerge =
+                Observable.defer(() -> chunkMergeOrders.size() < 2
+                        ? taskParamsUtil.compose(labelSingleMergeOrder(chunkMergeOrders, mergeOrderLabel),
+                                                 mergeParamsForPosition)
+                        : merge(chunkMergeOrders,
+                                mergeParamsForPosition,
+                                mergeOrderLabel));
+
+        return Observable
+            .merge(chunkObservables)
+            .concatWith(finalMerge);
+    }
+
+    private Observable<OrderEvent> labelSingleMergeOrder(final Collection<IOrder> chunkMergeOrders,
+                                                         final String mergeOrderLabel) {
+        return Observable
+            .fromIterable(chunkMergeOrders)
+            .concatMap(order -> basicTask.setLabel(SetLabelParams
+                .setLabelWith(order, mergeOrderLabel)
+                .build()));
+    }
+
+    private MergePositionParams chunkParams(final MergePositionParams mergePositionParams) {
+        final MergeParamsForPosition mergeParamsForPosition = MergeParamsForPosition
+            .newBuilder()
+            .retryOnReject(mergePositionParams
+                .mergeParamsForPosition()
+                .composeData()
+                .retryParams())
+            .build();
+
+        return MergePositionParams
+            .newBuilder(mergePositionParams.instrument(), mergePositionParams.mergeOrderLabel())
+            .withMergeExecutionMode(mergePositionParams.mergeExecutionMode())
+            .withBatchCancelSLMode(mergePositionParams.batchCancelSLMode())
+            .withBatchCancelTPMode(mergePositionParams.batchCancelTPMode())
+            .withCancelSLParamsFactory(mergePositionParams.cancelSLParamsFactory())
+            .withCancelTPParamsFactory(mergePositionParams.cancelTPParamsFactory())
+            .withCancelSLTPParams(retryParamsOnly(mergePositionParams.cancelSLTPParams()))
+            .withBatchCancelSLParams(retryParamsOnly(mergePositionParams.batchCancelSLParams()))
+            .withBatchCancelTPParams(retryParamsOnly(mergePositionParams.batchCancelTPParams()))
+            .withMergeParamsForPosition(mergeParamsForPosition)
+            .build();
+    }
+
+    private TaskParamsBase retryParamsOnly(final TaskParamsBase taskParams) {
+        return TaskParamsBase
+            .create()
+            .retryOnReject(taskParams
+                .composeData()
+                .retryParams())
+            .build();
+    }
+
+    private List<List<IOrder>> chunks(final Collection<IOrder> toMergeOrders,
+                                      final int chunkSize) {
+        if (toMergeOrders.size() <= chunkSize)
+            return Lists.newArrayList();
+
+        final List<List<IOrder>> chunks = new ArrayList<>();
+        Lists
+            .partition(new ArrayList<>(toMergeOrders), chunkSize)
+            .forEach(chunk -> chunks.add(new ArrayList<>(chunk)));
 
-        return cancelSLTP.concatWith(merge);
+        final List<IOrder> lastChunk = chunks.get(chunks.size() - 1);
+        if (lastChunk.size() == 1) {
+            chunks.remove(chunks.size() - 1);
+            chunks
+                .get(chunks.size() - 1)
+                .addAll(lastChunk);
+        }
+        return chunks;
     }
 }
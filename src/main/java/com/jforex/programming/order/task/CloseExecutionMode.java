@@ -4,5 +4,6 @@ public enum CloseExecutionMode {
 
     CloseFilled,
     CloseOpened,
-    CloseAll
+    CloseAll,
+    CloseAllWithOffset
 }
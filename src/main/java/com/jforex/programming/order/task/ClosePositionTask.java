@@ -9,16 +9,28 @@ import com.jforex.programming.order.task.params.position.ClosePositionParams;
 import com.jforex.programming.position.PositionUtil;
 
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 
 public class ClosePositionTask {
 
     private final MergeAndClosePositionTask mergeAndClosePositionTask;
     private final PositionUtil positionUtil;
+    private final Scheduler delayScheduler;
 
     public ClosePositionTask(final MergeAndClosePositionTask mergeAndClosePositionTask,
                              final PositionUtil positionUtil) {
+        this(mergeAndClosePositionTask,
+             positionUtil,
+             Schedulers.computation());
+    }
+
+    public ClosePositionTask(final MergeAndClosePositionTask mergeAndClosePositionTask,
+                             final PositionUtil positionUtil,
+                             final Scheduler delayScheduler) {
         this.mergeAndClosePositionTask = mergeAndClosePositionTask;
         this.positionUtil = positionUtil;
+        this.delayScheduler = delayScheduler;
     }
 
     public Observable<OrderEvent> close(final ClosePositionParams closePositionParams) {
@@ -36,7 +48,12 @@ public class ClosePositionTask {
         return Observable.defer(() -> {
             final Function<Instrument, Observable<OrderEvent>> observablesForParams =
                     instrument -> close(closeAllPositionParams.closePositonParamsFactory().apply(instrument));
-            return Observable.merge(positionUtil.observablesFromFactory(observablesForParams));
+            return PositionFanOut.merge(positionUtil.observablesFromFactory(observablesForParams,
+                                                                            closeAllPositionParams.positionPriority()),
+                                        closeAllPositionParams.maxConcurrency(),
+                                        closeAllPositionParams.instrumentTimeoutMillis(),
+                                        closeAllPositionParams.isDelayInstrumentErrors(),
+                                        delayScheduler);
         });
     }
 }
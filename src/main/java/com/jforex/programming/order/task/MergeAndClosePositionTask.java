@@ -1,9 +1,17 @@
 package com.jforex.programming.order.task;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.OrderParams;
+import com.jforex.programming.order.OrderStaticUtil;
+import com.jforex.programming.order.call.OrderCallRejectException;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.task.params.TaskParamsUtil;
+import com.jforex.programming.order.task.params.basic.SubmitParams;
 import com.jforex.programming.order.task.params.position.ClosePositionParams;
 
 import io.reactivex.Observable;
@@ -12,22 +20,85 @@ public class MergeAndClosePositionTask {
 
     private final MergePositionTask mergePositionTask;
     private final BatchChangeTask batchChangeTask;
+    private final BasicTask basicTask;
     final OrdersForPositionClose ordersForPositionClose;
+    private final TaskParamsUtil taskParamsUtil;
+    private final AtomicLong offsetOrderCounter = new AtomicLong();
 
     public MergeAndClosePositionTask(final MergePositionTask mergePositionTask,
                                      final BatchChangeTask batchChangeTask,
-                                     final OrdersForPositionClose ordersForPositionClose) {
+                                     final BasicTask basicTask,
+                                     final OrdersForPositionClose ordersForPositionClose,
+                                     final TaskParamsUtil taskParamsUtil) {
         this.mergePositionTask = mergePositionTask;
         this.batchChangeTask = batchChangeTask;
+        this.basicTask = basicTask;
         this.ordersForPositionClose = ordersForPositionClose;
+        this.taskParamsUtil = taskParamsUtil;
     }
 
     public Observable<OrderEvent> observeMerge(final ClosePositionParams closePositionParams) {
-        return closePositionParams.closeExecutionMode() == CloseExecutionMode.CloseOpened
-                ? Observable.empty()
+        final CloseExecutionMode closeExecutionMode = closePositionParams.closeExecutionMode();
+        if (closeExecutionMode == CloseExecutionMode.CloseOpened)
+            return Observable.empty();
+        return closeExecutionMode == CloseExecutionMode.CloseAllWithOffset
+                ? observeOffsetAndMerge(closePositionParams)
                 : observeMergeForFilledOrders(closePositionParams);
     }
 
+    private Observable<OrderEvent> observeOffsetAndMerge(final ClosePositionParams closePositionParams) {
+        return Observable.defer(() -> {
+            final Collection<IOrder> filledOrders = ordersForPositionClose.filled(closePositionParams.instrument());
+            final double signedExposure = OrderStaticUtil.combinedSignedAmount(filledOrders);
+            if (filledOrders.size() < closePositionParams.minOrdersForOffset() || signedExposure == 0.0)
+                return observeMergeForFilledOrders(closePositionParams);
+
+            final Set<IOrder> toMergeOrders = new HashSet<>(filledOrders);
+            final Observable<OrderEvent> offset = taskParamsUtil
+                .compose(basicTask.submitOrder(SubmitParams
+                    .withOrderParams(offsetOrderParams(closePositionParams, signedExposure))
+                    .build()), closePositionParams.offsetSubmitParams())
+                .doOnNext(orderEvent -> addFilledOffsetOrder(orderEvent, toMergeOrders))
+                .onErrorResumeNext(error -> error instanceof OrderCallRejectException
+                        ? Observable.empty()
+                        : Observable.error(error));
+
+            return offset.concatWith(Observable.defer(() -> toMergeOrders.size() > 1
+                    ? mergePositionTask.merge(toMergeOrders, closePositionParams.mergePositionParams())
+                    : Observable.empty()));
+        });
+    }
+
+    private OrderParams offsetOrderParams(final ClosePositionParams closePositionParams,
+                                          final double signedExposure) {
+        final OrderParams orderParams = closePositionParams
+            .maybeOffsetOrderParams()
+            .get();
+        final String offsetLabel = orderParams.label() + "_" + offsetOrderCounter.incrementAndGet();
+
+        return OrderStaticUtil
+            .adaptedOrderParamsForSignedAmount(orderParams, -signedExposure)
+            .clone()
+            .withLabel(offsetLabel)
+            .build();
+    }
+
+    private void addFilledOffsetOrder(final OrderEvent orderEvent,
+                                      final Set<IOrder> toMergeOrders) {
+        switch (orderEvent.type()) {
+        case FULLY_FILLED:
+        case PARTIAL_FILL_OK:
+            toMergeOrders.add(orderEvent.order());
+            break;
+        case FILL_REJECTED:
+            if (OrderStaticUtil.isFilled.test(orderEvent.order()))
+                toMergeOrders.add(orderEvent.order());
+            break;
+        default:
+            break;
+        }
+    }
+
     private Observable<OrderEvent> observeMergeForFilledOrders(final ClosePositionParams closePositionParams) {
         return Observable.defer(() -> {
             final Collection<IOrder> filledOrders = ordersForPositionClose.filled(closePositionParams.instrument());
@@ -11,16 +11,28 @@ import com.jforex.programming.order.task.params.position.MergePositionParams;
 import com.jforex.programming.position.PositionUtil;
 
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 
 public class MergePositionTask {
 
     private final CancelSLTPAndMergeTask cancelSLTPAndMergeTask;
     private final PositionUtil positionUtil;
+    private final Scheduler delayScheduler;
 
     public MergePositionTask(final CancelSLTPAndMergeTask cancelSLTPAndMergeTask,
                              final PositionUtil positionUtil) {
+        this(cancelSLTPAndMergeTask,
+             positionUtil,
+             Schedulers.computation());
+    }
+
+    public MergePositionTask(final CancelSLTPAndMergeTask cancelSLTPAndMergeTask,
+                             final PositionUtil positionUtil,
+                             final Scheduler delayScheduler) {
         this.cancelSLTPAndMergeTask = cancelSLTPAndMergeTask;
         this.positionUtil = positionUtil;
+        this.delayScheduler = delayScheduler;
     }
 
     public Observable<OrderEvent> merge(final Collection<IOrder> toMergeOrders,
@@ -44,7 +56,12 @@ public class MergePositionTask {
         return Observable.defer(() -> {
             final Function<Instrument, Observable<OrderEvent>> observablesFromFactory =
                     instrument -> merge(mergeAllPositionParams.mergePositionParamsFactory().apply(instrument));
-            return Observable.merge(positionUtil.observablesFromFactory(observablesFromFactory));
+            return PositionFanOut.merge(positionUtil.observablesFromFactory(observablesFromFactory,
+                                                                            mergeAllPositionParams.positionPriority()),
+                                        mergeAllPositionParams.maxConcurrency(),
+                                        mergeAllPositionParams.instrumentTimeoutMillis(),
+                                        mergeAllPositionParams.isDelayInstrumentErrors(),
+                                        delayScheduler);
         });
     }
 }
@@ -0,0 +1,115 @@
+package com.jforex.programming.order.task;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.concurrent.ConcurrentMap;
+
+import com.dukascopy.api.IOrder;
+import com.google.common.collect.MapMaker;
+import com.jforex.programming.order.event.OrderEvent;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableEmitter;
+
+/**
+ * Coalesces change requests of one kind, like stop loss changes, per order.
+ *
+ * Only one change per order is in flight at a time. A change requested while
+ * another one is in flight is queued and replaces an already queued change,
+ * whose observable then completes without any events. After the change in
+ * flight has finished, only the latest queued change is sent. This keeps a
+ * trailing stop which is moved on every tick from piling up server calls which
+ * would get rejected anyway.
+ */
+public class OrderChangeCoalescer {
+
+    private final ConcurrentMap<IOrder, ChangeSlot> slotByOrder = new MapMaker()
+        .weakKeys()
+        .makeMap();
+
+    public Observable<OrderEvent> coalesce(final IOrder order,
+                                           final Observable<OrderEvent> changeObservable) {
+        checkNotNull(order);
+        checkNotNull(changeObservable);
+
+        return Observable.create(emitter -> slotByOrder
+            .computeIfAbsent(order, key -> new ChangeSlot())
+            .request(new PendingChange(changeObservable, emitter)));
+    }
+
+    public boolean isChangeInFlight(final IOrder order) {
+        checkNotNull(order);
+
+        final ChangeSlot changeSlot = slotByOrder.get(order);
+        return changeSlot != null && changeSlot.isInFlight();
+    }
+
+    private static final class ChangeSlot {
+
+        private boolean isInFlight;
+        private PendingChange queuedChange;
+
+        private synchronized boolean isInFlight() {
+            return isInFlight;
+        }
+
+        private void request(final PendingChange pendingChange) {
+            final boolean isQueued;
+            final PendingChange supersededChange;
+            synchronized (this) {
+                isQueued = isInFlight;
+                supersededChange = queuedChange;
+                if (isQueued) {
+                    pendingChange.emitter.setCancellable(() -> removeQueued(pendingChange));
+                    queuedChange = pendingChange;
+                }
+                isInFlight = true;
+            }
+
+            if (!isQueued) {
+                send(pendingChange);
+                return;
+            }
+
+            if (supersededChange != null)
+                supersededChange.emitter.onComplete();
+        }
+
+        private synchronized void removeQueued(final PendingChange pendingChange) {
+            if (queuedChange == pendingChange)
+                queuedChange = null;
+        }
+
+        private void send(final PendingChange pendingChange) {
+            final ObservableEmitter<OrderEvent> emitter = pendingChange.emitter;
+            emitter.setDisposable(pendingChange.changeObservable
+                .doFinally(this::onChangeDone)
+                .subscribe(emitter::onNext,
+                           emitter::onError,
+                           emitter::onComplete));
+        }
+
+        private void onChangeDone() {
+            final PendingChange nextChange;
+            synchronized (this) {
+                nextChange = queuedChange;
+                queuedChange = null;
+                isInFlight = nextChange != null;
+            }
+            if (nextChange != null)
+                send(nextChange);
+        }
+    }
+
+    private static final class PendingChange {
+
+        private final Observable<OrderEvent> changeObservable;
+        private final ObservableEmitter<OrderEvent> emitter;
+
+        private PendingChange(final Observable<OrderEvent> changeObservable,
+                              final ObservableEmitter<OrderEvent> emitter) {
+            this.changeObservable = changeObservable;
+            this.emitter = emitter;
+        }
+    }
+}
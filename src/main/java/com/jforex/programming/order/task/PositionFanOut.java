@@ -0,0 +1,53 @@
+package com.jforex.programming.order.task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.jforex.programming.order.event.OrderEvent;
+
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+
+/**
+ * Fans out the tasks of all positions, one observable per instrument.
+ *
+ * At most maxConcurrency instruments are in progress at once, started in the
+ * order of the given list. The error of an instrument, including a timeout
+ * when no event arrived within the instrument timeout, cancels the other
+ * instruments. With delayed errors each instrument is isolated instead: its
+ * error does not cancel the other instruments but is delivered after all of
+ * them have terminated. The instrument timeout runs on the given scheduler.
+ */
+final class PositionFanOut {
+
+    private PositionFanOut() {
+    }
+
+    static final Observable<OrderEvent> merge(final List<Observable<OrderEvent>> instrumentObservables,
+                                              final int maxConcurrency,
+                                              final long instrumentTimeoutMillis,
+                                              final boolean isDelayErrors,
+                                              final Scheduler timeoutScheduler) {
+        final List<Observable<OrderEvent>> timedObservables = withTimeout(instrumentObservables,
+                                                                          instrumentTimeoutMillis,
+                                                                          timeoutScheduler);
+        return isDelayErrors
+                ? Observable.mergeDelayError(timedObservables, maxConcurrency)
+                : Observable.merge(timedObservables, maxConcurrency);
+    }
+
+    private static final List<Observable<OrderEvent>> withTimeout(final List<Observable<OrderEvent>> instrumentObservables,
+                                                              final long instrumentTimeoutMillis,
+                                                              final Scheduler timeoutScheduler) {
+        if (instrumentTimeoutMillis <= 0)
+            return instrumentObservables;
+
+        final List<Observable<OrderEvent>> timedObservables = new ArrayList<>(instrumentObservables.size());
+        for (final Observable<OrderEvent> instrumentObservable : instrumentObservables)
+            timedObservables.add(instrumentObservable.timeout(instrumentTimeoutMillis,
+                                                              TimeUnit.MILLISECONDS,
+                                                              timeoutScheduler));
+        return timedObservables;
+    }
+}
@@ -0,0 +1,7 @@
+package com.jforex.programming.order.task;
+
+public enum PositionPriority {
+
+    NONE,
+    LARGEST_EXPOSURE_FIRST
+}
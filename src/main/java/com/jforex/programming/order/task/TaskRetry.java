@@ -2,6 +2,8 @@ package com.jforex.programming.order.task;
 
 import static com.jforex.programming.order.event.OrderEventTypeSets.rejectEvents;
 
+import java.util.function.Consumer;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -12,6 +14,8 @@ import com.jforex.programming.rx.RetryPredicate;
 import com.jforex.programming.rx.RxUtil;
 
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 
 public class TaskRetry {
 
@@ -22,9 +26,29 @@ public class TaskRetry {
 
     public static Observable<OrderEvent> rejectObservable(final Observable<OrderEvent> observable,
                                                           final RetryParams retryParams) {
+        return rejectObservable(observable,
+                                retryParams,
+                                rejectEvent -> {});
+    }
+
+    public static Observable<OrderEvent> rejectObservable(final Observable<OrderEvent> observable,
+                                                          final RetryParams retryParams,
+                                                          final Consumer<OrderEvent> retryConsumer) {
+        return rejectObservable(observable,
+                                retryParams,
+                                retryConsumer,
+                                Schedulers.computation());
+    }
+
+    public static Observable<OrderEvent> rejectObservable(final Observable<OrderEvent> observable,
+                                                          final RetryParams retryParams,
+                                                          final Consumer<OrderEvent> retryConsumer,
+                                                          final Scheduler delayScheduler) {
         return observable
             .flatMap(TaskRetry::rejectAsError)
-            .retryWhen(RxUtil.retryWithDelay(retryParams, retryPredicate(retryParams)));
+            .retryWhen(RxUtil.retryWithDelay(retryParams,
+                                             retryPredicate(retryParams, retryConsumer),
+                                             delayScheduler));
     }
 
     private final static Observable<OrderEvent> rejectAsError(final OrderEvent orderEvent) {
@@ -33,13 +57,17 @@ public class TaskRetry {
                 : Observable.just(orderEvent);
     }
 
-    private static final RetryPredicate retryPredicate(final RetryParams retryParams) {
-        return (err, attempt) -> attempt <= retryParams.noOfRetries() && isRejectError(err);
+    private static final RetryPredicate retryPredicate(final RetryParams retryParams,
+                                                       final Consumer<OrderEvent> retryConsumer) {
+        return (err, attempt) -> attempt <= retryParams.noOfRetries() && isRejectError(err, retryConsumer);
     }
 
-    private static final boolean isRejectError(final Throwable error) {
+    private static final boolean isRejectError(final Throwable error,
+                                               final Consumer<OrderEvent> retryConsumer) {
         if (error instanceof OrderCallRejectException) {
-            logPositionTaskRetry((OrderCallRejectException) error);
+            final OrderCallRejectException rejectException = (OrderCallRejectException) error;
+            logPositionTaskRetry(rejectException);
+            retryConsumer.accept(rejectException.orderEvent());
             return true;
         }
         return false;
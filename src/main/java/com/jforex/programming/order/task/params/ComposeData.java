@@ -19,4 +19,6 @@ public interface ComposeData {
     public RetryParams retryParams();
 
     public Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType();
+
+    public EventConsumerTable eventConsumerTable();
 }
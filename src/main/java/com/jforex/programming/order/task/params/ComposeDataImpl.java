@@ -1,6 +1,6 @@
 package com.jforex.programming.order.task.params;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -13,11 +13,16 @@ import io.reactivex.functions.Action;
 
 public class ComposeDataImpl implements ComposeData {
 
-    private Action startAction = () -> {};
-    private Action completeAction = () -> {};
-    private Consumer<Throwable> errorConsumer = t -> {};
-    private RetryParams retryParams = new RetryParams(0, attempt -> new RetryDelay(0L, TimeUnit.MILLISECONDS));
-    private final Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType = new HashMap<>();
+    private Action startAction = noAction;
+    private Action completeAction = noAction;
+    private Consumer<Throwable> errorConsumer = noErrorConsumer;
+    private RetryParams retryParams = noRetryParams;
+    private final Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType = new EnumMap<>(OrderEventType.class);
+
+    static final Action noAction = () -> {};
+    static final Consumer<Throwable> noErrorConsumer = t -> {};
+    private static final RetryParams noRetryParams =
+            new RetryParams(0, attempt -> new RetryDelay(0L, TimeUnit.MILLISECONDS));
 
     @Override
     public Action startAction() {
@@ -60,6 +65,11 @@ public class ComposeDataImpl implements ComposeData {
         return consumerByEventType;
     }
 
+    @Override
+    public EventConsumerTable eventConsumerTable() {
+        return EventConsumerTable.of(consumerByEventType);
+    }
+
     public void setEventConsumer(final OrderEventType orderEventType,
                                  final Consumer<OrderEvent> consumer) {
         consumerByEventType.put(orderEventType, consumer);
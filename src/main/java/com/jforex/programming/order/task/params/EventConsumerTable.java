@@ -0,0 +1,69 @@
+package com.jforex.programming.order.task.params;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+
+/**
+ * An immutable table of order event consumers, indexed by the ordinal of the
+ * {@link OrderEventType}.
+ *
+ * Dispatching an event is one array read and a null check. Params without any
+ * event consumer share the {@link #empty()} table.
+ */
+public final class EventConsumerTable {
+
+    private final Consumer<OrderEvent>[] consumerByTypeOrdinal;
+    private final Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType;
+
+    private static final int noOfEventTypes = OrderEventType.values().length;
+    private static final EventConsumerTable empty = new EventConsumerTable(Collections.emptyMap());
+
+    @SuppressWarnings("unchecked")
+    private EventConsumerTable(final Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType) {
+        consumerByTypeOrdinal = new Consumer[noOfEventTypes];
+        consumerByEventType.forEach((type, consumer) -> consumerByTypeOrdinal[type.ordinal()] = consumer);
+
+        this.consumerByEventType = consumerByEventType.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new EnumMap<>(consumerByEventType));
+    }
+
+    public static final EventConsumerTable empty() {
+        return empty;
+    }
+
+    public static final EventConsumerTable of(final Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType) {
+        checkNotNull(consumerByEventType);
+
+        return consumerByEventType.isEmpty()
+                ? empty
+                : new EventConsumerTable(consumerByEventType);
+    }
+
+    public boolean isEmpty() {
+        return consumerByEventType.isEmpty();
+    }
+
+    public Consumer<OrderEvent> consumer(final OrderEventType type) {
+        checkNotNull(type);
+
+        return consumerByTypeOrdinal[type.ordinal()];
+    }
+
+    public void accept(final OrderEvent orderEvent) {
+        final Consumer<OrderEvent> consumer = consumerByTypeOrdinal[orderEvent.type().ordinal()];
+        if (consumer != null)
+            consumer.accept(orderEvent);
+    }
+
+    public Map<OrderEventType, Consumer<OrderEvent>> asMap() {
+        return consumerByEventType;
+    }
+}
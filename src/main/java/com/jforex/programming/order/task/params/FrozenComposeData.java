@@ -0,0 +1,66 @@
+package com.jforex.programming.order.task.params;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+
+import io.reactivex.functions.Action;
+
+final class FrozenComposeData implements ComposeData {
+
+    private final Action startAction;
+    private final Action completeAction;
+    private final Consumer<Throwable> errorConsumer;
+    private final RetryParams retryParams;
+    private final EventConsumerTable eventConsumerTable;
+
+    private static final FrozenComposeData empty = new FrozenComposeData(new ComposeDataImpl());
+
+    private FrozenComposeData(final ComposeData composeData) {
+        startAction = composeData.startAction();
+        completeAction = composeData.completeAction();
+        errorConsumer = composeData.errorConsumer();
+        retryParams = composeData.retryParams();
+        eventConsumerTable = composeData.eventConsumerTable();
+    }
+
+    public static final ComposeData empty() {
+        return empty;
+    }
+
+    public static final ComposeData of(final ComposeData composeData) {
+        return new FrozenComposeData(composeData);
+    }
+
+    @Override
+    public Action startAction() {
+        return startAction;
+    }
+
+    @Override
+    public Action completeAction() {
+        return completeAction;
+    }
+
+    @Override
+    public Consumer<Throwable> errorConsumer() {
+        return errorConsumer;
+    }
+
+    @Override
+    public RetryParams retryParams() {
+        return retryParams;
+    }
+
+    @Override
+    public Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType() {
+        return eventConsumerTable.asMap();
+    }
+
+    @Override
+    public EventConsumerTable eventConsumerTable() {
+        return eventConsumerTable;
+    }
+}
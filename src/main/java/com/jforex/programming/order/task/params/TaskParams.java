@@ -5,4 +5,8 @@ public interface TaskParams {
     public TaskParamsType type();
 
     public ComposeData composeData();
+
+    public default boolean hasCallbacksOrRetry() {
+        return composeData() != FrozenComposeData.empty();
+    }
 }
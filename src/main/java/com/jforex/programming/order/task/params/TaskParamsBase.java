@@ -15,7 +15,9 @@ public class TaskParamsBase {
     private final ComposeData composeData;
 
     protected TaskParamsBase(final Builder<?> builder) {
-        composeData = builder.composeDataImpl;
+        composeData = builder.composeDataImpl == null
+                ? FrozenComposeData.empty()
+                : FrozenComposeData.of(builder.composeDataImpl);
     }
 
     public ComposeData composeData() {
@@ -28,33 +30,39 @@ public class TaskParamsBase {
 
     public static class Builder<T extends Builder<T>> {
 
-        private final ComposeDataImpl composeDataImpl = new ComposeDataImpl();
+        private ComposeDataImpl composeDataImpl;
+
+        private ComposeDataImpl composeDataImpl() {
+            if (composeDataImpl == null)
+                composeDataImpl = new ComposeDataImpl();
+            return composeDataImpl;
+        }
 
         public T doOnStart(final Action startAction) {
             checkNotNull(startAction);
 
-            composeDataImpl.setStartAction(startAction);
+            composeDataImpl().setStartAction(startAction);
             return (T) this;
         }
 
         public T doOnComplete(final Action completeAction) {
             checkNotNull(completeAction);
 
-            composeDataImpl.setCompleteAction(completeAction);
+            composeDataImpl().setCompleteAction(completeAction);
             return (T) this;
         }
 
         public T doOnError(final Consumer<Throwable> errorConsumer) {
             checkNotNull(errorConsumer);
 
-            composeDataImpl.setErrorConsumer(errorConsumer);
+            composeDataImpl().setErrorConsumer(errorConsumer);
             return (T) this;
         }
 
         public T retryOnReject(final RetryParams retryParams) {
             checkNotNull(retryParams);
 
-            composeDataImpl.setRetryParams(retryParams);
+            composeDataImpl().setRetryParams(retryParams);
             return (T) this;
         }
 
@@ -63,7 +71,7 @@ public class TaskParamsBase {
             checkNotNull(orderEventType);
             checkNotNull(consumer);
 
-            composeDataImpl.setEventConsumer(orderEventType, consumer);
+            composeDataImpl().setEventConsumer(orderEventType, consumer);
         }
 
         public TaskParamsBase build() {
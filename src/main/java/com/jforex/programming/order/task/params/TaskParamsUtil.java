@@ -1,16 +1,49 @@
 package com.jforex.programming.order.task.params;
 
-import java.util.Map;
-import java.util.function.Consumer;
+import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.jforex.programming.order.OrderSchedulers;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.order.event.OrderEvent;
-import com.jforex.programming.order.event.OrderEventType;
 import com.jforex.programming.order.task.TaskRetry;
 
 import io.reactivex.Observable;
+import io.reactivex.ObservableTransformer;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
+import io.reactivex.functions.Consumer;
+import io.reactivex.schedulers.Schedulers;
 
 public class TaskParamsUtil {
 
+    private final OrderCallMetrics orderCallMetrics;
+    private final OrderSchedulers orderSchedulers;
+    private final Scheduler delayScheduler;
+
+    public TaskParamsUtil() {
+        this(new OrderCallMetrics());
+    }
+
+    public TaskParamsUtil(final OrderCallMetrics orderCallMetrics) {
+        this(orderCallMetrics, OrderSchedulers.immediate());
+    }
+
+    public TaskParamsUtil(final OrderCallMetrics orderCallMetrics,
+                          final OrderSchedulers orderSchedulers) {
+        this(orderCallMetrics,
+             orderSchedulers,
+             Schedulers.computation());
+    }
+
+    public TaskParamsUtil(final OrderCallMetrics orderCallMetrics,
+                          final OrderSchedulers orderSchedulers,
+                          final Scheduler delayScheduler) {
+        this.orderCallMetrics = orderCallMetrics;
+        this.orderSchedulers = orderSchedulers;
+        this.delayScheduler = delayScheduler;
+    }
+
     public void composeAndSubscribe(final Observable<OrderEvent> observable,
                                     final TaskParamsBase taskParams) {
         final ComposeData composeData = taskParams.composeData();
@@ -23,33 +56,68 @@ public class TaskParamsUtil {
 
     private Observable<OrderEvent> composeEvents(final Observable<OrderEvent> observable,
                                                  final TaskParamsBase taskParams) {
-        final Map<OrderEventType, Consumer<OrderEvent>> consumerForEvent = taskParams
+        return composeEvents(observable, taskParams
             .composeData()
-            .consumerByEventType();
-        return observable.doOnNext(orderEvent -> handlerOrderEvent(orderEvent, consumerForEvent));
+            .eventConsumerTable());
+    }
+
+    private Observable<OrderEvent> composeEvents(final Observable<OrderEvent> observable,
+                                                 final EventConsumerTable eventConsumerTable) {
+        return eventConsumerTable.isEmpty()
+                ? orderSchedulers.observeOnCallback(observable)
+                : orderSchedulers
+                    .observeOnCallback(observable)
+                    .doOnNext(eventConsumerTable::accept);
     }
 
     private Observable<OrderEvent> composeRetry(final Observable<OrderEvent> observable,
                                                 final RetryParams retryParams) {
         final int noOfRetries = retryParams.noOfRetries();
         return noOfRetries > 0
-                ? TaskRetry.rejectObservable(observable, retryParams)
+                ? TaskRetry.rejectObservable(observable,
+                                             retryParams,
+                                             orderCallMetrics::recordRetry,
+                                             delayScheduler)
                 : observable;
     }
 
-    private void handlerOrderEvent(final OrderEvent orderEvent,
-                                   final Map<OrderEventType, Consumer<OrderEvent>> consumerForEvent) {
-        final OrderEventType type = orderEvent.type();
-        if (consumerForEvent.containsKey(type))
-            consumerForEvent.get(type).accept(orderEvent);
-    }
-
     public Observable<OrderEvent> compose(final Observable<OrderEvent> observable,
                                           final TaskParamsBase taskParams) {
-        final ComposeData composeData = taskParams.composeData();
-        return composeRetry(composeEvents(observable, taskParams), composeData.retryParams())
-            .doOnSubscribe(d -> composeData.startAction().run())
-            .doOnComplete(composeData.completeAction()::run)
-            .doOnError(composeData.errorConsumer()::accept);
+        return observable.compose(composer(taskParams.composeData()));
+    }
+
+    /**
+     * Resolves the callbacks and retry settings of the compose data once. The
+     * returned composer only adds the operators for the callbacks which are
+     * set, so it can be applied to many task observables at low cost.
+     */
+    public ObservableTransformer<OrderEvent, OrderEvent> composer(final ComposeData composeData) {
+        checkNotNull(composeData);
+
+        final EventConsumerTable eventConsumerTable = composeData.eventConsumerTable();
+        final boolean hasEventConsumers = !eventConsumerTable.isEmpty();
+        final Consumer<OrderEvent> eventConsumer = eventConsumerTable::accept;
+        final RetryParams retryParams = composeData.retryParams();
+        final Action startAction = composeData.startAction();
+        final boolean hasStartAction = startAction != ComposeDataImpl.noAction;
+        final Consumer<Disposable> subscribeConsumer = d -> startAction.run();
+        final Action completeAction = composeData.completeAction();
+        final boolean hasCompleteAction = completeAction != ComposeDataImpl.noAction;
+        final boolean hasErrorConsumer = composeData.errorConsumer() != ComposeDataImpl.noErrorConsumer;
+        final Consumer<Throwable> errorConsumer = composeData.errorConsumer()::accept;
+
+        return observable -> {
+            Observable<OrderEvent> composed = orderSchedulers.observeOnCallback(observable);
+            if (hasEventConsumers)
+                composed = composed.doOnNext(eventConsumer);
+            composed = composeRetry(composed, retryParams);
+            if (hasStartAction)
+                composed = composed.doOnSubscribe(subscribeConsumer);
+            if (hasCompleteAction)
+                composed = composed.doOnComplete(completeAction);
+            return hasErrorConsumer
+                    ? composed.doOnError(errorConsumer)
+                    : composed;
+        };
     }
 }
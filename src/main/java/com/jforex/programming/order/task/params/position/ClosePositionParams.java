@@ -1,11 +1,14 @@
 package com.jforex.programming.order.task.params.position;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Optional;
 import java.util.function.Function;
 
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.OrderParams;
 import com.jforex.programming.order.task.BatchMode;
 import com.jforex.programming.order.task.CloseExecutionMode;
 import com.jforex.programming.order.task.params.TaskParamsBase;
@@ -20,6 +23,9 @@ public class ClosePositionParams extends TaskParamsWithType {
     private final Function<IOrder, CloseParams> closeParamsFactory;
     private final CloseExecutionMode closeExecutionMode;
     private final BatchMode closeBatchMode;
+    private final Optional<OrderParams> maybeOffsetOrderParams;
+    private final TaskParamsBase offsetSubmitParams;
+    private final int minOrdersForOffset;
 
     private ClosePositionParams(final Builder builder) {
         super(builder);
@@ -29,6 +35,9 @@ public class ClosePositionParams extends TaskParamsWithType {
         instrument = builder.instrument;
         closeExecutionMode = builder.closeExecutionMode;
         closeBatchMode = builder.closeBatchMode;
+        maybeOffsetOrderParams = builder.maybeOffsetOrderParams;
+        offsetSubmitParams = builder.offsetSubmitParams;
+        minOrdersForOffset = builder.minOrdersForOffset;
     }
 
     public MergePositionParams mergePositionParams() {
@@ -51,6 +60,18 @@ public class ClosePositionParams extends TaskParamsWithType {
         return closeBatchMode;
     }
 
+    public Optional<OrderParams> maybeOffsetOrderParams() {
+        return maybeOffsetOrderParams;
+    }
+
+    public TaskParamsBase offsetSubmitParams() {
+        return offsetSubmitParams;
+    }
+
+    public int minOrdersForOffset() {
+        return minOrdersForOffset;
+    }
+
     @Override
     public TaskParamsType type() {
         return TaskParamsType.CLOSEPOSITION;
@@ -70,6 +91,11 @@ public class ClosePositionParams extends TaskParamsWithType {
         private final Function<IOrder, CloseParams> closeParamsFactory;
         private CloseExecutionMode closeExecutionMode = CloseExecutionMode.CloseAll;
         private BatchMode closeBatchMode = BatchMode.MERGE;
+        private Optional<OrderParams> maybeOffsetOrderParams = Optional.empty();
+        private TaskParamsBase offsetSubmitParams = TaskParamsBase
+            .create()
+            .build();
+        private int minOrdersForOffset = 2;
         private final Instrument instrument;
 
         public Builder(final MergePositionParams mergePositionParams,
@@ -93,8 +119,41 @@ public class ClosePositionParams extends TaskParamsWithType {
             return this;
         }
 
+        public Builder withOffsettingOrder(final OrderParams offsetOrderParams) {
+            checkNotNull(offsetOrderParams);
+            checkArgument(offsetOrderParams.instrument() == instrument,
+                          "Offsetting order instrument %s differs from position instrument %s!",
+                          offsetOrderParams.instrument(),
+                          instrument);
+
+            maybeOffsetOrderParams = Optional.of(offsetOrderParams);
+            closeExecutionMode = CloseExecutionMode.CloseAllWithOffset;
+            return this;
+        }
+
+        public Builder withOffsetSubmitParams(final TaskParamsBase offsetSubmitParams) {
+            checkNotNull(offsetSubmitParams);
+
+            this.offsetSubmitParams = offsetSubmitParams;
+            return this;
+        }
+
+        public Builder withMinOrdersForOffset(final int minOrdersForOffset) {
+            checkArgument(minOrdersForOffset > 0,
+                          "Min orders for offset must be positive but is %s!",
+                          minOrdersForOffset);
+
+            this.minOrdersForOffset = minOrdersForOffset;
+            return this;
+        }
+
         @Override
         public ClosePositionParams build() {
+            final boolean isOffsetMode = closeExecutionMode == CloseExecutionMode.CloseAllWithOffset;
+            checkArgument(!isOffsetMode || maybeOffsetOrderParams.isPresent(),
+                          "Close mode %s needs offsetting order params!",
+                          closeExecutionMode);
+
             return new ClosePositionParams(this);
         }
     }
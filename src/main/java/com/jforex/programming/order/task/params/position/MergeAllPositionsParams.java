@@ -1,10 +1,13 @@
 package com.jforex.programming.order.task.params.position;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.task.PositionPriority;
 import com.jforex.programming.order.task.params.TaskParamsBase;
 import com.jforex.programming.order.task.params.TaskParamsType;
 import com.jforex.programming.order.task.params.TaskParamsWithType;
@@ -12,17 +15,41 @@ import com.jforex.programming.order.task.params.TaskParamsWithType;
 public class MergeAllPositionsParams extends TaskParamsWithType {
 
     private final Function<Instrument, MergePositionParams> mergePositionParamsFactory;
+    private final int maxConcurrency;
+    private final PositionPriority positionPriority;
+    private final long instrumentTimeoutMillis;
+    private final boolean isDelayInstrumentErrors;
 
     private MergeAllPositionsParams(final Builder builder) {
         super(builder);
 
         mergePositionParamsFactory = builder.mergePositionParamsFactory;
+        maxConcurrency = builder.maxConcurrency;
+        positionPriority = builder.positionPriority;
+        instrumentTimeoutMillis = builder.instrumentTimeoutMillis;
+        isDelayInstrumentErrors = builder.isDelayInstrumentErrors;
     }
 
     public Function<Instrument, MergePositionParams> mergePositionParamsFactory() {
         return mergePositionParamsFactory;
     }
 
+    public int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public PositionPriority positionPriority() {
+        return positionPriority;
+    }
+
+    public long instrumentTimeoutMillis() {
+        return instrumentTimeoutMillis;
+    }
+
+    public boolean isDelayInstrumentErrors() {
+        return isDelayInstrumentErrors;
+    }
+
     @Override
     public TaskParamsType type() {
         return TaskParamsType.MERGEALLPOSITIONS;
@@ -38,11 +65,57 @@ public class MergeAllPositionsParams extends TaskParamsWithType {
     public static class Builder extends TaskParamsBase.Builder<Builder> {
 
         private final Function<Instrument, MergePositionParams> mergePositionParamsFactory;
+        private int maxConcurrency = Integer.MAX_VALUE;
+        private PositionPriority positionPriority = PositionPriority.NONE;
+        private long instrumentTimeoutMillis;
+        private boolean isDelayInstrumentErrors;
 
         public Builder(final Function<Instrument, MergePositionParams> mergePositionParamsFactory) {
             this.mergePositionParamsFactory = mergePositionParamsFactory;
         }
 
+        public Builder withMaxConcurrency(final int maxConcurrency) {
+            checkArgument(maxConcurrency > 0,
+                          "Max concurrency must be positive but is %s!",
+                          maxConcurrency);
+
+            this.maxConcurrency = maxConcurrency;
+            return this;
+        }
+
+        public Builder withPositionPriority(final PositionPriority positionPriority) {
+            checkNotNull(positionPriority);
+
+            this.positionPriority = positionPriority;
+            return this;
+        }
+
+        public Builder withInstrumentTimeout(final long instrumentTimeout,
+                                             final TimeUnit timeUnit) {
+            checkArgument(instrumentTimeout > 0,
+                          "Instrument timeout must be positive but is %s!",
+                          instrumentTimeout);
+            checkNotNull(timeUnit);
+
+            final long instrumentTimeoutMillis = timeUnit.toMillis(instrumentTimeout);
+            checkArgument(instrumentTimeoutMillis > 0,
+                          "Instrument timeout must be at least one millisecond but is %s %s!",
+                          instrumentTimeout,
+                          timeUnit);
+
+            this.instrumentTimeoutMillis = instrumentTimeoutMillis;
+            return this;
+        }
+
+        /**
+         * Lets the error of an instrument, including its timeout, wait until
+         * all other instruments have terminated instead of cancelling them.
+         */
+        public Builder withDelayedInstrumentErrors() {
+            isDelayInstrumentErrors = true;
+            return this;
+        }
+
         @Override
         public MergeAllPositionsParams build() {
             return new MergeAllPositionsParams(this);
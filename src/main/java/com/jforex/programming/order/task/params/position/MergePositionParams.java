@@ -1,5 +1,6 @@
 package com.jforex.programming.order.task.params.position;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.function.Function;
@@ -28,6 +29,7 @@ public class MergePositionParams extends TaskParamsWithType {
     private final TaskParamsBase batchCancelTPParams;
     private final Function<IOrder, CancelSLParams> cancelSLParamsFactory;
     private final Function<IOrder, CancelTPParams> cancelTPParamsFactory;
+    private final int mergeChunkSize;
 
     private MergePositionParams(final Builder builder) {
         super(builder);
@@ -43,6 +45,7 @@ public class MergePositionParams extends TaskParamsWithType {
         batchCancelTPParams = builder.batchCancelTPParams;
         cancelSLParamsFactory = builder.cancelSLParamsFactory;
         cancelTPParamsFactory = builder.cancelTPParamsFactory;
+        mergeChunkSize = builder.mergeChunkSize;
     }
 
     public Instrument instrument() {
@@ -89,6 +92,14 @@ public class MergePositionParams extends TaskParamsWithType {
         return batchCancelTPMode;
     }
 
+    public boolean isPipelinedMerge() {
+        return mergeChunkSize > 0;
+    }
+
+    public int mergeChunkSize() {
+        return mergeChunkSize;
+    }
+
     @Override
     public TaskParamsType type() {
         return TaskParamsType.MERGEPOSITION;
@@ -115,6 +126,7 @@ public class MergePositionParams extends TaskParamsWithType {
         private TaskParamsBase batchCancelTPParams;
         private Function<IOrder, CancelSLParams> cancelSLParamsFactory;
         private Function<IOrder, CancelTPParams> cancelTPParamsFactory;
+        private int mergeChunkSize;
 
         public Builder(final Instrument instrument,
                        final String mergeOrderLabel) {
@@ -204,6 +216,24 @@ public class MergePositionParams extends TaskParamsWithType {
             return this;
         }
 
+        /**
+         * Merges the orders in chunks of the given size, each chunk after its
+         * own SL/TP cancel, and finally merges the chunk results. The chunks
+         * keep the retry params but run without the cancel SL/TP, batch cancel
+         * and merge callbacks of these params. The merge callbacks only apply
+         * to the final merge, or to relabeling the single chunk merge order to
+         * the merge order label if no final merge is needed. The cancel SL/TP
+         * params factories still apply to each order.
+         */
+        public Builder withPipelinedMerge(final int mergeChunkSize) {
+            checkArgument(mergeChunkSize >= 2,
+                          "Merge chunk size must be at least 2 but is %s!",
+                          mergeChunkSize);
+
+            this.mergeChunkSize = mergeChunkSize;
+            return this;
+        }
+
         @Override
         public MergePositionParams build() {
             return new MergePositionParams(this);
@@ -0,0 +1,88 @@
+package com.jforex.programming.position;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.jforex.programming.order.OrderStaticUtil.isCanceled;
+import static com.jforex.programming.order.OrderStaticUtil.isClosed;
+import static com.jforex.programming.order.event.OrderEventTypeSets.createEvents;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+
+import io.reactivex.Observable;
+
+public class OrderLabelIndex {
+
+    private final Map<String, IOrder> orderByLabel = new ConcurrentHashMap<>();
+    private final Map<IOrder, String> labelByOrder = new ConcurrentHashMap<>();
+
+    public OrderLabelIndex(final Observable<OrderEvent> orderEventObservable) {
+        observeCreatedOrdersForInsertion(orderEventObservable);
+        observeChangedLabels(orderEventObservable);
+        observeClosedOrdersForRemoval(orderEventObservable);
+    }
+
+    private void observeCreatedOrdersForInsertion(final Observable<OrderEvent> orderEventObservable) {
+        orderEventObservable
+            .filter(orderEvent -> createEvents.contains(orderEvent.type()))
+            .filter(OrderEvent::isInternal)
+            .map(OrderEvent::order)
+            .doOnNext(this::putOrder)
+            .subscribe();
+    }
+
+    private void observeChangedLabels(final Observable<OrderEvent> orderEventObservable) {
+        orderEventObservable
+            .filter(orderEvent -> orderEvent.type() == OrderEventType.CHANGED_LABEL)
+            .map(OrderEvent::order)
+            .filter(this::contains)
+            .doOnNext(this::putOrder)
+            .subscribe();
+    }
+
+    private void observeClosedOrdersForRemoval(final Observable<OrderEvent> orderEventObservable) {
+        orderEventObservable
+            .map(OrderEvent::order)
+            .filter(this::contains)
+            .filter(isClosed.or(isCanceled)::test)
+            .doOnNext(this::removeOrder)
+            .subscribe();
+    }
+
+    private synchronized void putOrder(final IOrder order) {
+        final String label = order.getLabel();
+        final String oldLabel = labelByOrder.put(order, label);
+        if (oldLabel != null && !oldLabel.equals(label))
+            orderByLabel.remove(oldLabel, order);
+        orderByLabel.put(label, order);
+    }
+
+    public synchronized void importOrders(final Collection<IOrder> orders) {
+        orders.forEach(this::putOrder);
+    }
+
+    private synchronized void removeOrder(final IOrder order) {
+        final String label = labelByOrder.remove(order);
+        if (label != null)
+            orderByLabel.remove(label, order);
+    }
+
+    public Optional<IOrder> maybeOrder(final String label) {
+        checkNotNull(label);
+
+        return Optional.ofNullable(orderByLabel.get(label));
+    }
+
+    public boolean contains(final IOrder order) {
+        return labelByOrder.containsKey(order);
+    }
+
+    public int size() {
+        return labelByOrder.size();
+    }
+}
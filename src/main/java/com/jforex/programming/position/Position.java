@@ -5,6 +5,7 @@ import static com.jforex.programming.order.OrderStaticUtil.isClosed;
 import static com.jforex.programming.order.event.OrderEventTypeSets.createEvents;
 import static java.util.stream.Collectors.toSet;
 
+import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Predicate;
@@ -58,6 +59,10 @@ public class Position implements PositionOrders {
         orderRepository.put(order, true);
     }
 
+    public synchronized void importOrders(final Collection<IOrder> orders) {
+        orders.forEach(order -> orderRepository.put(order, true));
+    }
+
     @Override
     public Instrument instrument() {
         return instrument;
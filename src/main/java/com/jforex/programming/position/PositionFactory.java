@@ -1,9 +1,13 @@
 package com.jforex.programming.position;
 
+import static java.util.stream.Collectors.groupingBy;
+
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
 import com.jforex.programming.order.event.OrderEvent;
 
@@ -12,20 +16,38 @@ import io.reactivex.Observable;
 public class PositionFactory {
 
     private final Observable<OrderEvent> orderEventObservable;
+    private final OrderLabelIndex orderLabelIndex;
     private final Map<Instrument, Position> positionByInstrument = new ConcurrentHashMap<>();
 
     public PositionFactory(final Observable<OrderEvent> orderEventObservable) {
         this.orderEventObservable = orderEventObservable;
+
+        orderLabelIndex = new OrderLabelIndex(orderEventObservable);
     }
 
     public Collection<Position> all() {
         return positionByInstrument.values();
     }
 
+    public OrderLabelIndex orderLabelIndex() {
+        return orderLabelIndex;
+    }
+
     public Position forInstrument(final Instrument instrument) {
         return positionByInstrument.computeIfAbsent(instrument, this::createNew);
     }
 
+    public Map<Instrument, List<IOrder>> importOrders(final Collection<IOrder> orders) {
+        final Map<Instrument, List<IOrder>> ordersByInstrument = orders
+            .stream()
+            .collect(groupingBy(IOrder::getInstrument));
+        ordersByInstrument.forEach((instrument, instrumentOrders) -> forInstrument(instrument)
+            .importOrders(instrumentOrders));
+        orderLabelIndex.importOrders(orders);
+
+        return ordersByInstrument;
+    }
+
     private final Position createNew(final Instrument instrument) {
         return new Position(instrument, orderEventObservable);
     }
@@ -2,23 +2,39 @@ package com.jforex.programming.position;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
+import com.dukascopy.api.IAccount;
+import com.dukascopy.api.ICurrency;
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.math.CalculationUtil;
 import com.jforex.programming.order.OrderStaticUtil;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.task.PositionPriority;
 
 import io.reactivex.Observable;
 
 public class PositionUtil {
 
     private final PositionFactory positionFactory;
+    private final CalculationUtil calculationUtil;
+    private final IAccount account;
 
-    public PositionUtil(final PositionFactory positionFactory) {
+    public PositionUtil(final PositionFactory positionFactory,
+                        final CalculationUtil calculationUtil,
+                        final IAccount account) {
         this.positionFactory = positionFactory;
+        this.calculationUtil = calculationUtil;
+        this.account = account;
     }
 
     public PositionOrders positionOrders(final Instrument instrument) {
@@ -41,14 +57,47 @@ public class PositionUtil {
         return positionOrders(instrument).filledOrOpened();
     }
 
+    public Optional<IOrder> maybeOrderByLabel(final String label) {
+        checkNotNull(label);
+
+        return positionFactory
+            .orderLabelIndex()
+            .maybeOrder(label);
+    }
+
     public List<Observable<OrderEvent>> observablesFromFactory(final Function<Instrument,
                                                                               Observable<OrderEvent>> paramsFactory) {
-        return Observable
-            .fromIterable(positionFactory.all())
-            .map(Position::instrument)
-            .map(paramsFactory::apply)
-            .toList()
-            .blockingGet();
+        return observablesFromFactory(paramsFactory, PositionPriority.NONE);
+    }
+
+    public List<Observable<OrderEvent>> observablesFromFactory(final Function<Instrument,
+                                                                              Observable<OrderEvent>> paramsFactory,
+                                                               final PositionPriority positionPriority) {
+        checkNotNull(paramsFactory);
+        checkNotNull(positionPriority);
+
+        final List<Position> positions = new ArrayList<>(positionFactory.all());
+        if (positionPriority == PositionPriority.LARGEST_EXPOSURE_FIRST)
+            sortByLargestExposure(positions);
+
+        final List<Observable<OrderEvent>> observables = new ArrayList<>(positions.size());
+        for (final Position position : positions)
+            observables.add(paramsFactory.apply(position.instrument()));
+        return observables;
+    }
+
+    private void sortByLargestExposure(final List<Position> positions) {
+        final ICurrency accountCurrency = account.getAccountCurrency();
+        final Map<Position, Double> exposureByPosition = new HashMap<>();
+        for (final Position position : positions) {
+            final double exposure = calculationUtil.convertAmount(position.signedExposure(),
+                                                                  position.instrument().getPrimaryJFCurrency(),
+                                                                  accountCurrency,
+                                                                  OfferSide.BID);
+            exposureByPosition.put(position, Math.abs(exposure));
+        }
+
+        positions.sort(Comparator.comparingDouble(position -> -exposureByPosition.get(position)));
     }
 
     public static final PositionDirection direction(final Collection<IOrder> positionOrders) {
@@ -0,0 +1,96 @@
+package com.jforex.programming.quote;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+
+/**
+ * A synthetic bid/ask quote of a cross instrument, derived from the ticks of
+ * its two leg instruments.
+ *
+ * The time is the time of the newer leg tick.
+ */
+public final class CrossQuote {
+
+    private final Instrument instrument;
+    private final long time;
+    private final double bid;
+    private final double ask;
+
+    public CrossQuote(final Instrument instrument,
+                      final long time,
+                      final double bid,
+                      final double ask) {
+        this.instrument = instrument;
+        this.time = time;
+        this.bid = bid;
+        this.ask = ask;
+    }
+
+    public final Instrument instrument() {
+        return instrument;
+    }
+
+    public final long time() {
+        return time;
+    }
+
+    public final double bid() {
+        return bid;
+    }
+
+    public final double ask() {
+        return ask;
+    }
+
+    public final double forOfferSide(final OfferSide offerSide) {
+        return offerSide == OfferSide.BID
+                ? bid
+                : ask;
+    }
+
+    @Override
+    public int hashCode() {
+        final HashCodeBuilder builder = new HashCodeBuilder();
+        builder.append(instrument);
+        builder.append(time);
+        builder.append(bid);
+        builder.append(ask);
+
+        return builder.toHashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (!(obj instanceof CrossQuote))
+            return false;
+
+        final CrossQuote other = (CrossQuote) obj;
+        final EqualsBuilder builder = new EqualsBuilder();
+        builder.append(instrument, other.instrument);
+        builder.append(time, other.time);
+        builder.append(bid, other.bid);
+        builder.append(ask, other.ask);
+
+        return builder.isEquals();
+    }
+
+    @Override
+    public String toString() {
+        final ToStringBuilder toStringBuilder = new ToStringBuilder(this, ToStringStyle.DEFAULT_STYLE);
+        toStringBuilder.append("instrument", instrument);
+        toStringBuilder.append("time", time);
+        toStringBuilder.append("bid", bid);
+        toStringBuilder.append("ask", ask);
+
+        return toStringBuilder.toString();
+    }
+}
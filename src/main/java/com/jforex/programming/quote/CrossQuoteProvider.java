@@ -0,0 +1,151 @@
+package com.jforex.programming.quote;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.instrument.CrossInstrument;
+import com.jforex.programming.rx.JFHotPublisher;
+
+import io.reactivex.Observable;
+import io.reactivex.disposables.Disposable;
+
+/**
+ * Publishes synthetic quotes for cross instruments which are derived from the
+ * ticks of their leg instruments.
+ *
+ * A tick of a leg instrument recomputes only the crosses which depend on this
+ * leg, found by the ordinal of the leg in a dependency index. The latest leg
+ * ticks are seeded from the tick quote repository, so a cross is available
+ * with the first tick of either leg once the other leg has been seen.
+ */
+public class CrossQuoteProvider {
+
+    private final CrossInstrument[][] crossesByLegOrdinal = new CrossInstrument[Instrument.values().length][];
+    private final ITick[] latestTickByLegOrdinal = new ITick[Instrument.values().length];
+    private final JFHotPublisher<CrossQuote> crossQuotePublisher = new JFHotPublisher<>();
+    private final CrossQuoteRepository crossQuoteRepository;
+    private final Disposable legTicksDisposable;
+
+    private static final CrossInstrument[] noCrosses = new CrossInstrument[0];
+
+    public CrossQuoteProvider(final TickQuoteProvider tickQuoteProvider,
+                              final Collection<CrossInstrument> crossInstruments) {
+        checkNotNull(tickQuoteProvider);
+        checkNotNull(crossInstruments);
+
+        crossQuoteRepository = new CrossQuoteRepository(crossQuotePublisher.observable());
+        final Set<Instrument> legInstruments = createDependencyIndex(crossInstruments);
+        tickQuoteProvider
+            .repository()
+            .getAll()
+            .forEach((instrument, tickQuote) -> {
+                if (legInstruments.contains(instrument))
+                    latestTickByLegOrdinal[instrument.ordinal()] = tickQuote.tick();
+            });
+        legTicksDisposable = tickQuoteProvider
+            .observableForInstruments(legInstruments)
+            .subscribe(this::onLegTickQuote);
+    }
+
+    private Set<Instrument> createDependencyIndex(final Collection<CrossInstrument> crossInstruments) {
+        final List<List<CrossInstrument>> crossesByLeg = new ArrayList<>();
+        for (int i = 0; i < crossesByLegOrdinal.length; ++i)
+            crossesByLeg.add(new ArrayList<>());
+
+        final Set<Instrument> legInstruments = EnumSet.noneOf(Instrument.class);
+        for (final CrossInstrument crossInstrument : crossInstruments) {
+            crossesByLeg
+                .get(crossInstrument.firstInstrument().ordinal())
+                .add(crossInstrument);
+            crossesByLeg
+                .get(crossInstrument.secondInstrument().ordinal())
+                .add(crossInstrument);
+            legInstruments.add(crossInstrument.firstInstrument());
+            legInstruments.add(crossInstrument.secondInstrument());
+        }
+
+        for (int i = 0; i < crossesByLegOrdinal.length; ++i)
+            crossesByLegOrdinal[i] = crossesByLeg
+                .get(i)
+                .toArray(noCrosses);
+        return legInstruments;
+    }
+
+    private void onLegTickQuote(final TickQuote tickQuote) {
+        final int legOrdinal = tickQuote
+            .instrument()
+            .ordinal();
+        latestTickByLegOrdinal[legOrdinal] = tickQuote.tick();
+
+        for (final CrossInstrument crossInstrument : crossesByLegOrdinal[legOrdinal])
+            publishCrossQuote(crossInstrument);
+    }
+
+    private void publishCrossQuote(final CrossInstrument crossInstrument) {
+        final ITick firstTick = latestTickByLegOrdinal[crossInstrument.firstInstrument().ordinal()];
+        final ITick secondTick = latestTickByLegOrdinal[crossInstrument.secondInstrument().ordinal()];
+        if (firstTick == null || secondTick == null)
+            return;
+
+        final CrossQuote crossQuote = new CrossQuote(crossInstrument.get(),
+                                                     Math.max(firstTick.getTime(), secondTick.getTime()),
+                                                     crossInstrument.rate(firstTick, secondTick, OfferSide.BID),
+                                                     crossInstrument.rate(firstTick, secondTick, OfferSide.ASK));
+        crossQuotePublisher.onNext(crossQuote);
+    }
+
+    public CrossQuote quote(final Instrument instrument) {
+        checkNotNull(instrument);
+
+        return crossQuoteRepository.get(instrument);
+    }
+
+    public double ask(final Instrument instrument) {
+        checkNotNull(instrument);
+
+        return quote(instrument).ask();
+    }
+
+    public double bid(final Instrument instrument) {
+        checkNotNull(instrument);
+
+        return quote(instrument).bid();
+    }
+
+    public double forOfferSide(final Instrument instrument,
+                               final OfferSide offerSide) {
+        checkNotNull(instrument);
+        checkNotNull(offerSide);
+
+        return quote(instrument).forOfferSide(offerSide);
+    }
+
+    public Observable<CrossQuote> observable() {
+        return crossQuotePublisher.observable();
+    }
+
+    public Observable<CrossQuote> observableForInstruments(final Set<Instrument> instruments) {
+        checkNotNull(instruments);
+
+        return crossQuotePublisher
+            .observable()
+            .filter(crossQuote -> instruments.contains(crossQuote.instrument()));
+    }
+
+    public CrossQuoteRepository repository() {
+        return crossQuoteRepository;
+    }
+
+    public void onStop() {
+        legTicksDisposable.dispose();
+        crossQuotePublisher.unsubscribe();
+    }
+}
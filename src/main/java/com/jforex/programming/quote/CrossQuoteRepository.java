@@ -0,0 +1,38 @@
+package com.jforex.programming.quote;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dukascopy.api.Instrument;
+
+import io.reactivex.Observable;
+
+public class CrossQuoteRepository {
+
+    private final Map<Instrument, CrossQuote> quotesByInstrument = new ConcurrentHashMap<>();
+
+    public CrossQuoteRepository(final Observable<CrossQuote> crossQuoteObservable) {
+        crossQuoteObservable.subscribe(this::onCrossQuote);
+    }
+
+    private final void onCrossQuote(final CrossQuote crossQuote) {
+        quotesByInstrument.put(crossQuote.instrument(), crossQuote);
+    }
+
+    public CrossQuote get(final Instrument instrument) {
+        final CrossQuote crossQuote = quotesByInstrument.get(instrument);
+        if (crossQuote == null)
+            throw new QuoteException("No cross quote for " + instrument + " available yet!");
+
+        return crossQuote;
+    }
+
+    public boolean contains(final Instrument instrument) {
+        return quotesByInstrument.containsKey(instrument);
+    }
+
+    public Map<Instrument, CrossQuote> getAll() {
+        return Collections.unmodifiableMap(quotesByInstrument);
+    }
+}
@@ -7,7 +7,9 @@ import com.jforex.programming.order.task.params.RetryParams;
 
 import io.reactivex.Flowable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
 import io.reactivex.functions.Action;
+import io.reactivex.schedulers.Schedulers;
 
 public final class RxUtil {
 
@@ -19,21 +21,39 @@ public final class RxUtil {
                               (err, attempt) -> attempt <= retryParams.noOfRetries());
     }
 
+    public static final RetryWhenFunction retryWithDelay(final RetryParams retryParams,
+                                                         final Scheduler scheduler) {
+        return retryWithDelay(retryParams,
+                              (err, attempt) -> attempt <= retryParams.noOfRetries(),
+                              scheduler);
+    }
+
     public static final RetryWhenFunction retryWithDelay(final RetryParams retryParams,
                                                          final RetryPredicate retryPredicate) {
+        return retryWithDelay(retryParams,
+                              retryPredicate,
+                              Schedulers.computation());
+    }
+
+    public static final RetryWhenFunction retryWithDelay(final RetryParams retryParams,
+                                                         final RetryPredicate retryPredicate,
+                                                         final Scheduler scheduler) {
         return failures -> failures
             .zipWith(retryCounter(retryParams.noOfRetries()), (err, attempt) -> retryPredicate.apply(err, attempt)
-                    ? waitForRetry(retryParams, attempt)
+                    ? waitForRetry(retryParams, attempt, scheduler)
                     : Observable.<Long> error(err))
             .flatMap(x -> x);
     }
 
     private static final Observable<Long> waitForRetry(final RetryParams retryParams,
-                                                       final int attempt) {
+                                                       final int attempt,
+                                                       final Scheduler scheduler) {
         final RetryDelay retryDelay = retryParams
             .delayFunction()
             .apply(attempt);
-        return wait(retryDelay.delay(), retryDelay.timeUnit());
+        return wait(retryDelay.delay(),
+                    retryDelay.timeUnit(),
+                    scheduler);
     }
 
     public static final Observable<Integer> retryCounter(final int noOfRetries) {
@@ -45,6 +65,14 @@ public final class RxUtil {
         return Observable.timer(delay, timeUnit);
     }
 
+    public static final Observable<Long> wait(final long delay,
+                                              final TimeUnit timeUnit,
+                                              final Scheduler scheduler) {
+        return Observable.timer(delay,
+                                timeUnit,
+                                scheduler);
+    }
+
     public static final RetryWhenFunctionForSingle retryWithDelayForSingle(final RetryParams retryParams) {
         return retryWithDelayForSingle(retryParams,
                                        (err, attempt) -> attempt <= retryParams.noOfRetries());
@@ -52,20 +80,31 @@ public final class RxUtil {
 
     public static final RetryWhenFunctionForSingle retryWithDelayForSingle(final RetryParams retryParams,
                                                                            final RetryPredicate retryPredicate) {
+        return retryWithDelayForSingle(retryParams,
+                                       retryPredicate,
+                                       Schedulers.computation());
+    }
+
+    public static final RetryWhenFunctionForSingle retryWithDelayForSingle(final RetryParams retryParams,
+                                                                           final RetryPredicate retryPredicate,
+                                                                           final Scheduler scheduler) {
         return failures -> failures
             .zipWith(retryCounterForSingle(retryParams.noOfRetries()),
                      (err, attempt) -> retryPredicate.apply(err, attempt)
-                             ? waitForRetryForSingle(retryParams, attempt)
+                             ? waitForRetryForSingle(retryParams, attempt, scheduler)
                              : Flowable.<Long> error(err))
             .flatMap(x -> x);
     }
 
     private static final Flowable<Long> waitForRetryForSingle(final RetryParams retryParams,
-                                                              final int attempt) {
+                                                              final int attempt,
+                                                              final Scheduler scheduler) {
         final RetryDelay retryDelay = retryParams
             .delayFunction()
             .apply(attempt);
-        return waitForSingle(retryDelay.delay(), retryDelay.timeUnit());
+        return waitForSingle(retryDelay.delay(),
+                             retryDelay.timeUnit(),
+                             scheduler);
     }
 
     public static final Flowable<Integer> retryCounterForSingle(final int noOfRetries) {
@@ -77,6 +116,14 @@ public final class RxUtil {
         return Flowable.timer(delay, timeUnit);
     }
 
+    public static final Flowable<Long> waitForSingle(final long delay,
+                                                     final TimeUnit timeUnit,
+                                                     final Scheduler scheduler) {
+        return Flowable.timer(delay,
+                              timeUnit,
+                              scheduler);
+    }
+
     public static final Callable<Boolean> actionToCallable(final Action action) {
         return () -> {
             action.run();
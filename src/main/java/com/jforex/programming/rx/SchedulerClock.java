@@ -0,0 +1,57 @@
+package com.jforex.programming.rx;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+import com.jforex.programming.misc.DateTimeUtil;
+
+import io.reactivex.Scheduler;
+
+/**
+ * A clock which reads the time of an Rx scheduler, so delays on the scheduler
+ * and checks against the clock share one time source. With a test scheduler
+ * the clock only moves when the scheduler is advanced.
+ */
+public final class SchedulerClock extends Clock {
+
+    private final Scheduler scheduler;
+    private final ZoneId zone;
+
+    private SchedulerClock(final Scheduler scheduler,
+                           final ZoneId zone) {
+        this.scheduler = scheduler;
+        this.zone = zone;
+    }
+
+    public static final SchedulerClock of(final Scheduler scheduler) {
+        checkNotNull(scheduler);
+
+        return new SchedulerClock(scheduler, DateTimeUtil.dukascopyZoneId);
+    }
+
+    @Override
+    public long millis() {
+        return scheduler.now(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId newZone) {
+        checkNotNull(newZone);
+
+        return new SchedulerClock(scheduler, newZone);
+    }
+}
@@ -3,6 +3,8 @@ package com.jforex.programming.settings;
 import org.aeonbits.owner.Config;
 import org.aeonbits.owner.Config.Sources;
 
+import com.jforex.programming.order.OrderSchedulerMode;
+
 @Sources({ "file:UserSettings.properties" })
 public interface UserSettings extends Config {
 
@@ -34,6 +36,14 @@ public interface UserSettings extends Config {
     @DefaultValue("500")
     public long delayOnHistoryFailRetry();
 
+    @Key("order.metricslogintervalmillis")
+    @DefaultValue("0")
+    public long orderCallMetricsLogInterval();
+
+    @Key("order.schedulermode")
+    @DefaultValue("IMMEDIATE")
+    public OrderSchedulerMode orderSchedulerMode();
+
     @Key("env.enableweekendquotefilter")
     @DefaultValue("true")
     public boolean enableWeekendQuoteFilter();
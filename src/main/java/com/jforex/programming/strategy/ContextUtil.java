@@ -1,14 +1,19 @@
 package com.jforex.programming.strategy;
 
+import java.time.Clock;
+
 import com.dukascopy.api.IAccount;
 import com.dukascopy.api.IContext;
 import com.dukascopy.api.IDataService;
 import com.dukascopy.api.IEngine;
 import com.dukascopy.api.IHistory;
 import com.dukascopy.api.feed.IBarFeedListener;
-import com.jforex.programming.misc.DateTimeUtil;
 import com.jforex.programming.misc.HistoryUtil;
 import com.jforex.programming.quote.BarParams;
+import com.jforex.programming.rx.SchedulerClock;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
 
 public final class ContextUtil {
 
@@ -18,14 +23,42 @@ public final class ContextUtil {
     private final IHistory history;
     private final HistoryUtil historyUtil;
     private final IDataService dataService;
+    private final Clock clock;
+    private final Scheduler delayScheduler;
 
     public ContextUtil(final IContext context) {
+        this(context, Clock.systemDefaultZone());
+    }
+
+    public ContextUtil(final IContext context,
+                       final Clock clock) {
+        this(context,
+             clock,
+             Schedulers.computation());
+    }
+
+    /**
+     * Uses the scheduler as the only time source: delays run on it and the
+     * clock for market closed checks reads its time.
+     */
+    public ContextUtil(final IContext context,
+                       final Scheduler timeScheduler) {
+        this(context,
+             SchedulerClock.of(timeScheduler),
+             timeScheduler);
+    }
+
+    private ContextUtil(final IContext context,
+                        final Clock clock,
+                        final Scheduler delayScheduler) {
         this.context = context;
+        this.clock = clock;
+        this.delayScheduler = delayScheduler;
         engine = context.getEngine();
         account = context.getAccount();
         history = context.getHistory();
         dataService = context.getDataService();
-        historyUtil = new HistoryUtil(history);
+        historyUtil = new HistoryUtil(history, delayScheduler);
     }
 
     public final IContext context() {
@@ -48,8 +81,16 @@ public final class ContextUtil {
         return historyUtil;
     }
 
+    public final Clock clock() {
+        return clock;
+    }
+
+    public final Scheduler delayScheduler() {
+        return delayScheduler;
+    }
+
     public final boolean isMarketNowClosed() {
-        return isMarketClosedAtTime(DateTimeUtil.localMillisNow());
+        return isMarketClosedAtTime(clock.millis());
     }
 
     public final boolean isMarketClosedAtTime(final long time) {
@@ -1,11 +1,22 @@
 package com.jforex.programming.strategy;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import com.dukascopy.api.IEngine;
 import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
 import com.jforex.programming.math.CalculationUtil;
 import com.jforex.programming.misc.StrategyThreadRunner;
+import com.jforex.programming.order.OrderSchedulers;
 import com.jforex.programming.order.OrderUtil;
 import com.jforex.programming.order.OrderUtilHandler;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.order.call.OrderCallRequest;
 import com.jforex.programming.order.event.OrderEventFactory;
 import com.jforex.programming.order.event.OrderEventGateway;
@@ -31,6 +42,9 @@ import com.jforex.programming.rx.JFHotPublisher;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
 
 public class OrderInitUtil {
 
@@ -48,7 +62,9 @@ public class OrderInitUtil {
     private final BatchChangeTask batchChangeTask;
     private final MergePositionTask orderMergeTask;
     private final ClosePositionTask orderCloseTask;
-    private final TaskParamsUtil taskParamsUtil = new TaskParamsUtil();
+    private final OrderCallMetrics orderCallMetrics = new OrderCallMetrics();
+    private final OrderSchedulers orderSchedulers;
+    private final TaskParamsUtil taskParamsUtil;
     private final OrdersForPositionClose ordersForPositionClose;
     private final MergeAndClosePositionTask mergeAndClosePositionTask;
     private final CancelSLTPAndMergeTask cancelSLTPAndMergeTask;
@@ -59,19 +75,40 @@ public class OrderInitUtil {
     private final OrderEventFactory orderEventFactory;
     private final OrderEventTypeDataFactory orderEventTypeDataFactory = new OrderEventTypeDataFactory();
     private final JFHotPublisher<OrderCallRequest> callRequestPublisher = new JFHotPublisher<>();
+    private final Disposable metricsLogDisposable;
+
+    private static final Logger logger = LogManager.getLogger(OrderInitUtil.class);
 
     public OrderInitUtil(final ContextUtil contextUtil,
                          final Observable<IMessage> messageObservable,
                          final CalculationUtil calculationUtil) {
+        this(contextUtil,
+             messageObservable,
+             calculationUtil,
+             OrderSchedulers.forMode(StrategyUtil.userSettings.orderSchedulerMode()));
+    }
+
+    public OrderInitUtil(final ContextUtil contextUtil,
+                         final Observable<IMessage> messageObservable,
+                         final CalculationUtil calculationUtil,
+                         final OrderSchedulers orderSchedulers) {
+        this.orderSchedulers = orderSchedulers;
+
         engine = contextUtil.engine();
+        taskParamsUtil = new TaskParamsUtil(orderCallMetrics,
+                                            orderSchedulers,
+                                            contextUtil.delayScheduler());
         orderEventFactory = new OrderEventFactory(callRequestPublisher.observable());
         orderEventGateway = new OrderEventGateway(messageObservable, orderEventFactory);
         strategyThreadRunner = new StrategyThreadRunner(contextUtil.context());
         positionFactory = new PositionFactory(orderEventGateway.observable());
-        positionUtil = new PositionUtil(positionFactory);
+        positionUtil = new PositionUtil(positionFactory,
+                                        calculationUtil,
+                                        contextUtil.account());
         orderUtilHandler = new OrderUtilHandler(orderEventGateway,
                                                 orderEventTypeDataFactory,
-                                                callRequestPublisher);
+                                                callRequestPublisher,
+                                                orderCallMetrics);
         orderTaskExecutor = new TaskExecutor(strategyThreadRunner, engine);
         orderBasicTask = new BasicTask(orderTaskExecutor,
                                        orderUtilHandler,
@@ -85,17 +122,34 @@ public class OrderInitUtil {
         cancelSLTPAndMergeTask = new CancelSLTPAndMergeTask(cancelSLTPTask,
                                                             orderBasicTask,
                                                             taskParamsUtil);
-        orderMergeTask = new MergePositionTask(cancelSLTPAndMergeTask, positionUtil);
+        orderMergeTask = new MergePositionTask(cancelSLTPAndMergeTask,
+                                               positionUtil,
+                                               contextUtil.delayScheduler());
         ordersForPositionClose = new OrdersForPositionClose(positionUtil);
         mergeAndClosePositionTask = new MergeAndClosePositionTask(orderMergeTask,
                                                                   batchChangeTask,
-                                                                  ordersForPositionClose);
-        orderCloseTask = new ClosePositionTask(mergeAndClosePositionTask, positionUtil);
+                                                                  orderBasicTask,
+                                                                  ordersForPositionClose,
+                                                                  taskParamsUtil);
+        orderCloseTask = new ClosePositionTask(mergeAndClosePositionTask,
+                                               positionUtil,
+                                               contextUtil.delayScheduler());
         orderUtil = new OrderUtil(orderBasicTask,
                                   orderMergeTask,
                                   orderCloseTask,
                                   positionUtil,
                                   taskParamsUtil);
+        metricsLogDisposable = startMetricsLog(StrategyUtil.userSettings.orderCallMetricsLogInterval(),
+                                               contextUtil.delayScheduler());
+    }
+
+    private Disposable startMetricsLog(final long logInterval,
+                                       final Scheduler scheduler) {
+        return logInterval > 0L
+                ? orderCallMetrics.logPeriodically(logInterval,
+                                                   TimeUnit.MILLISECONDS,
+                                                   scheduler)
+                : Disposables.disposed();
     }
 
     public OrderUtil orderUtil() {
@@ -110,18 +164,30 @@ public class OrderInitUtil {
         return strategyThreadRunner;
     }
 
+    public OrderCallMetrics orderCallMetrics() {
+        return orderCallMetrics;
+    }
+
+    public OrderSchedulers orderSchedulers() {
+        return orderSchedulers;
+    }
+
     public void onStop() {
+        metricsLogDisposable.dispose();
         callRequestPublisher.unsubscribe();
+        orderSchedulers.shutdown();
     }
 
     public Completable importOrders() {
         return Observable
             .fromCallable(() -> engine.getOrders())
-            .flatMap(Observable::fromIterable)
-            .doOnNext(order -> {
-                positionFactory.forInstrument(order.getInstrument());
-                orderEventGateway.importOrder(order);
-            })
+            .doOnNext(this::importOrders)
             .ignoreElements();
     }
+
+    private void importOrders(final List<IOrder> orders) {
+        final Map<Instrument, List<IOrder>> ordersByInstrument = positionFactory.importOrders(orders);
+        logger.info("Imported " + orders.size() + " orders for "
+                + ordersByInstrument.size() + " instruments.");
+    }
 }
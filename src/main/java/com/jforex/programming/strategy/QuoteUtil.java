@@ -2,15 +2,21 @@ package com.jforex.programming.strategy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
 import com.dukascopy.api.IBar;
 import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
 import com.dukascopy.api.OfferSide;
 import com.dukascopy.api.Period;
+import com.jforex.programming.instrument.CrossInstrument;
 import com.jforex.programming.quote.BarParams;
 import com.jforex.programming.quote.BarQuote;
 import com.jforex.programming.quote.BarQuoteProvider;
 import com.jforex.programming.quote.BarQuoteRepository;
+import com.jforex.programming.quote.CrossQuoteProvider;
 import com.jforex.programming.quote.TickQuote;
 import com.jforex.programming.quote.TickQuoteProvider;
 import com.jforex.programming.quote.TickQuoteRepository;
@@ -26,6 +32,7 @@ public class QuoteUtil {
     private final boolean isWeekendQuoteFilter;
     private final JFHotPublisher<TickQuote> tickQuotePublisher = new JFHotPublisher<>();
     private final JFHotPublisher<BarQuote> barQuotePublisher = new JFHotPublisher<>();
+    private final List<CrossQuoteProvider> crossQuoteProviders = new CopyOnWriteArrayList<>();
 
     public QuoteUtil(final ContextUtil contextUtil,
                      final boolean isWeekendQuoteFilter) {
@@ -49,6 +56,14 @@ public class QuoteUtil {
         return barQuoteProvider;
     }
 
+    public CrossQuoteProvider crossQuoteProvider(final Collection<CrossInstrument> crossInstruments) {
+        checkNotNull(crossInstruments);
+
+        final CrossQuoteProvider crossQuoteProvider = new CrossQuoteProvider(tickQuoteProvider, crossInstruments);
+        crossQuoteProviders.add(crossQuoteProvider);
+        return crossQuoteProvider;
+    }
+
     public void onTick(final Instrument instrument,
                        final ITick tick) {
         if (shouldForwardQuote(tick.getTime())) {
@@ -100,6 +115,7 @@ public class QuoteUtil {
     }
 
     public void onStop() {
+        crossQuoteProviders.forEach(CrossQuoteProvider::onStop);
         tickQuotePublisher.unsubscribe();
         barQuotePublisher.unsubscribe();
     }
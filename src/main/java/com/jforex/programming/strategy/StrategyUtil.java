@@ -2,6 +2,11 @@ package com.jforex.programming.strategy;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.aeonbits.owner.ConfigFactory;
 import org.apache.commons.lang3.StringUtils;
 
@@ -14,37 +19,67 @@ import com.dukascopy.api.IMessage;
 import com.dukascopy.api.ITick;
 import com.dukascopy.api.Instrument;
 import com.dukascopy.api.Period;
+import com.jforex.programming.instrument.CrossInstrument;
 import com.jforex.programming.instrument.InstrumentUtil;
 import com.jforex.programming.math.CalculationUtil;
+import com.jforex.programming.math.ConversionRoutes;
+import com.jforex.programming.math.CurrencyRateMatrix;
 import com.jforex.programming.misc.HistoryUtil;
 import com.jforex.programming.misc.StrategyThreadRunner;
 import com.jforex.programming.order.OrderUtil;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.position.PositionUtil;
 import com.jforex.programming.quote.BarQuoteProvider;
+import com.jforex.programming.quote.CrossQuoteProvider;
 import com.jforex.programming.quote.TickQuoteProvider;
 import com.jforex.programming.rx.JFHotPublisher;
 import com.jforex.programming.settings.PlatformSettings;
 import com.jforex.programming.settings.UserSettings;
 
 import io.reactivex.Completable;
+import io.reactivex.Scheduler;
 
 public class StrategyUtil {
 
     private final ContextUtil contextUtil;
     private final QuoteUtil quoteUtil;
     private final OrderInitUtil orderInitUtil;
+    private final CurrencyRateMatrix currencyRateMatrix;
     private final CalculationUtil calculationUtil;
     private final JFHotPublisher<IMessage> messagePublisher = new JFHotPublisher<>();
+    private final Map<Instrument, InstrumentUtil> instrumentUtilByInstrument = new ConcurrentHashMap<>();
 
     public static final PlatformSettings platformSettings = ConfigFactory.create(PlatformSettings.class);
     public static final UserSettings userSettings = ConfigFactory.create(UserSettings.class);
 
     public StrategyUtil(final IContext context) {
-        checkNotNull(context);
+        this(context, Clock.systemDefaultZone());
+    }
+
+    public StrategyUtil(final IContext context,
+                        final Clock clock) {
+        this(new ContextUtil(checkNotNull(context), checkNotNull(clock)));
+    }
+
+    /**
+     * Uses the scheduler as the only time source: retry and history request
+     * delays run on it and market closed checks read its time.
+     */
+    public StrategyUtil(final IContext context,
+                        final Scheduler timeScheduler) {
+        this(new ContextUtil(checkNotNull(context), checkNotNull(timeScheduler)));
+    }
 
-        contextUtil = new ContextUtil(context);
+    private StrategyUtil(final ContextUtil contextUtil) {
+        this.contextUtil = contextUtil;
         quoteUtil = new QuoteUtil(contextUtil, userSettings.enableWeekendQuoteFilter());
-        calculationUtil = new CalculationUtil(tickQuoteProvider());
+        currencyRateMatrix = new CurrencyRateMatrix(tickQuoteProvider().observable());
+        calculationUtil = new CalculationUtil(tickQuoteProvider(),
+                                              currencyRateMatrix,
+                                              new ConversionRoutes(currencyRateMatrix,
+                                                                   contextUtil
+                                                                       .context()
+                                                                       .getSubscribedInstruments()));
         orderInitUtil = new OrderInitUtil(contextUtil,
                                           messagePublisher.observable(),
                                           calculationUtil);
@@ -78,6 +113,12 @@ public class StrategyUtil {
         return quoteUtil.barQuoteProvider();
     }
 
+    public CrossQuoteProvider crossQuoteProvider(final Collection<CrossInstrument> crossInstruments) {
+        checkNotNull(crossInstruments);
+
+        return quoteUtil.crossQuoteProvider(crossInstruments);
+    }
+
     public CalculationUtil calculationUtil() {
         return calculationUtil;
     }
@@ -94,13 +135,18 @@ public class StrategyUtil {
         return orderInitUtil.strategyThreadRunner();
     }
 
+    public OrderCallMetrics orderCallMetrics() {
+        return orderInitUtil.orderCallMetrics();
+    }
+
     public InstrumentUtil instrumentUtil(final Instrument instrument) {
         checkNotNull(instrument);
 
-        return new InstrumentUtil(instrument,
-                                  tickQuoteProvider(),
-                                  barQuoteProvider(),
-                                  calculationUtil);
+        return instrumentUtilByInstrument.computeIfAbsent(instrument,
+                                                          key -> new InstrumentUtil(key,
+                                                                                    tickQuoteProvider(),
+                                                                                    barQuoteProvider(),
+                                                                                    calculationUtil));
     }
 
     public void onMessage(final IMessage message) {
@@ -134,6 +180,7 @@ public class StrategyUtil {
 
     public void onStop() {
         quoteUtil.onStop();
+        currencyRateMatrix.onStop();
         orderInitUtil.onStop();
         messagePublisher.unsubscribe();
     }
@@ -0,0 +1,62 @@
+package com.jforex.programming.currency.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.JFCurrency;
+import com.jforex.programming.currency.CurrencyCode;
+import com.jforex.programming.currency.CurrencyIndex;
+import com.jforex.programming.currency.CurrencyMask;
+import com.jforex.programming.test.common.CurrencyUtilForTest;
+
+public class CurrencyIndexTest extends CurrencyUtilForTest {
+
+    @Test
+    public void testConstructorIsPrivate() throws Exception {
+        assertPrivateConstructor(CurrencyIndex.class);
+    }
+
+    @Test
+    public void currencyCodesComeFirstWithTheirOrdinal() {
+        assertThat(CurrencyIndex.noOfCurrencyCodes(), equalTo(CurrencyCode.values().length));
+        for (final CurrencyCode currencyCode : CurrencyCode.values()) {
+            final ICurrency currency = JFCurrency.getInstance(currencyCode.toString());
+
+            assertThat(CurrencyIndex.index(currency), equalTo(currencyCode.ordinal()));
+            assertThat(CurrencyIndex.currency(currencyCode.ordinal()), equalTo(currency));
+        }
+    }
+
+    @Test
+    public void allInstrumentCurrenciesAreIndexed() {
+        for (final Instrument instrument : Instrument.values()) {
+            final int baseIndex = CurrencyIndex.baseIndex(instrument);
+            final int quoteIndex = CurrencyIndex.quoteIndex(instrument);
+
+            assertTrue(baseIndex >= 0 && baseIndex < CurrencyIndex.size());
+            assertThat(CurrencyIndex.currency(baseIndex), equalTo(instrument.getPrimaryJFCurrency()));
+            assertThat(CurrencyIndex.currency(quoteIndex), equalTo(instrument.getSecondaryJFCurrency()));
+        }
+    }
+
+    @Test
+    public void maskIndexIsSharedIndex() {
+        assertThat(CurrencyMask.index(currencyEUR), equalTo(CurrencyIndex.index(currencyEUR)));
+        assertThat(CurrencyMask.currency(CurrencyIndex.index(currencyUSD)), equalTo(currencyUSD));
+    }
+
+    @Test
+    public void currenciesBehindTheCurrencyCodesHaveNoMaskIndex() {
+        for (int index = CurrencyIndex.noOfCurrencyCodes(); index < CurrencyIndex.size(); ++index) {
+            final ICurrency currency = CurrencyIndex.currency(index);
+
+            assertThat(CurrencyIndex.index(currency), equalTo(index));
+            assertThat(CurrencyMask.index(currency), equalTo(-1));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jforex.programming.currency.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.JFCurrency;
+import com.google.common.collect.Sets;
+import com.jforex.programming.currency.CurrencyCode;
+import com.jforex.programming.currency.CurrencyFactory;
+import com.jforex.programming.currency.CurrencyMask;
+import com.jforex.programming.currency.CurrencyUtil;
+import com.jforex.programming.test.common.CurrencyUtilForTest;
+
+public class CurrencyMaskTest extends CurrencyUtilForTest {
+
+    private final ICurrency notIndexedCurrency = JFCurrency.getInstance("XAU");
+
+    @Test
+    public void testConstructorIsPrivate() throws Exception {
+        assertPrivateConstructor(CurrencyMask.class);
+    }
+
+    @Test
+    public void indexIsOrdinalOfCurrencyCode() {
+        for (final CurrencyCode currencyCode : CurrencyCode.values()) {
+            final ICurrency currency = JFCurrency.getInstance(currencyCode.toString());
+
+            assertThat(CurrencyMask.index(currencyCode), equalTo(currencyCode.ordinal()));
+            assertThat(CurrencyMask.index(currency), equalTo(currencyCode.ordinal()));
+            assertThat(CurrencyMask.currency(currencyCode.ordinal()), equalTo(currency));
+            assertThat(CurrencyMask.of(currency), equalTo(CurrencyMask.of(currencyCode)));
+        }
+    }
+
+    @Test
+    public void currencyWithoutCodeIsNotIndexed() {
+        assertFalse(CurrencyMask.isIndexed(notIndexedCurrency));
+        assertThat(CurrencyMask.index(notIndexedCurrency), equalTo(-1));
+        assertThat(CurrencyMask.of(notIndexedCurrency), equalTo(CurrencyMask.EMPTY));
+        assertFalse(CurrencyMask.contains(-1L, notIndexedCurrency));
+    }
+
+    @Test
+    public void instrumentMaskHoldsBothCurrencies() {
+        final long mask = CurrencyMask.ofInstrument(instrumentEURUSD);
+
+        assertTrue(CurrencyMask.isIndexed(instrumentEURUSD));
+        assertThat(CurrencyMask.size(mask), equalTo(2));
+        assertTrue(CurrencyMask.contains(mask, currencyEUR));
+        assertTrue(CurrencyMask.contains(mask, currencyUSD));
+        assertFalse(CurrencyMask.contains(mask, currencyJPY));
+    }
+
+    @Test
+    public void instrumentMasksMatchCurrencyFactory() {
+        for (final Instrument instrument : Instrument.values())
+            assertThat(CurrencyMask.toCurrencies(CurrencyMask.ofInstrument(instrument)),
+                       equalTo(CurrencyFactory.fromInstrument(instrument)));
+    }
+
+    @Test
+    public void setOperationsAreCorrect() {
+        final long maskEURUSD = CurrencyMask.ofInstrument(instrumentEURUSD);
+        final long maskUSDJPY = CurrencyMask.ofInstrument(instrumentUSDJPY);
+        final long union = CurrencyMask.union(maskEURUSD, maskUSDJPY);
+        final long intersection = CurrencyMask.intersection(maskEURUSD, maskUSDJPY);
+
+        assertThat(union, equalTo(CurrencyMask.ofInstruments(Sets.newHashSet(instrumentEURUSD,
+                                                                              instrumentUSDJPY))));
+        assertThat(CurrencyMask.toCurrencies(union),
+                   equalTo(Sets.newHashSet(currencyEUR, currencyUSD, currencyJPY)));
+        assertThat(CurrencyMask.toCurrencies(intersection), equalTo(Sets.newHashSet(currencyUSD)));
+        assertTrue(CurrencyMask.containsAll(union, maskEURUSD));
+        assertFalse(CurrencyMask.containsAll(maskEURUSD, union));
+    }
+
+    @Test
+    public void maskOfCurrenciesIsCorrect() {
+        final long mask = CurrencyMask.of(Sets.newHashSet(currencyEUR, currencyUSD, notIndexedCurrency));
+
+        assertThat(mask, equalTo(CurrencyMask.ofInstrument(instrumentEURUSD)));
+        assertThat(CurrencyMask.toCurrencies(CurrencyMask.EMPTY).size(), equalTo(0));
+    }
+
+    @Test
+    public void currencyUtilFallsBackForNotIndexedCurrency() {
+        assertFalse(CurrencyUtil.isInInstruments(notIndexedCurrency, Sets.newHashSet(instrumentEURUSD)));
+        assertFalse(CurrencyUtil.isInAllInstruments(notIndexedCurrency, Sets.newHashSet(instrumentEURUSD)));
+    }
+}
@@ -6,11 +6,18 @@ import static org.junit.Assert.assertThat;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.OfferSide;
 import com.jforex.programming.instrument.CrossInstrument;
 import com.jforex.programming.instrument.FxRate;
-import com.jforex.programming.test.common.CurrencyUtilForTest;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
 
-public class CrossInstrumentTest extends CurrencyUtilForTest {
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+public class CrossInstrumentTest extends QuoteProviderForTest {
 
     private CrossInstrument crossInstrumentA;
     private CrossInstrument crossInstrumentB;
@@ -27,6 +34,11 @@ public class CrossInstrumentTest extends CurrencyUtilForTest {
         crossInstrumentE = new CrossInstrument(instrumentEURGBP, instrumentEURUSD);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void constructorRejectsInstrumentsWithoutCross() {
+        new CrossInstrument(instrumentEURUSD, instrumentGBPJPY);
+    }
+
     @Test
     public void instrumentIsCorrect() {
         assertThat(crossInstrumentA.get(), equalTo(instrumentEURGBP));
@@ -74,4 +86,62 @@ public class CrossInstrumentTest extends CurrencyUtilForTest {
         assertThat(crossInstrumentE.rate(rateA, rateB).value(),
                    equalTo(1.24879));
     }
+
+    @Test
+    public void crossRateIsIndependentOfRateOrder() {
+        final FxRate rateA = new FxRate(0.86347, instrumentEURGBP);
+        final FxRate rateB = new FxRate(1.07829, instrumentEURUSD);
+
+        assertThat(crossInstrumentE.rate(rateB, rateA).value(),
+                   equalTo(1.24879));
+    }
+
+    @Test
+    public void primitiveCrossRateIsCorrect() {
+        assertThat(crossInstrumentA.rate(1.15863, 1.31044), equalTo(0.88415));
+        assertThat(crossInstrumentB.rate(0.88415, 1.31044), equalTo(1.15863));
+        assertThat(crossInstrumentC.rate(131.452, 148.653), equalTo(0.88429));
+        assertThat(crossInstrumentD.rate(0.88429, 148.653), equalTo(131.452));
+        assertThat(crossInstrumentE.rate(0.86347, 1.07829), equalTo(1.24879));
+    }
+
+    @Test
+    public void tickCrossRateUsesOppositeSideForDenominator() {
+        final ITick tickEURUSD = mockForITick(1.15860, 1.15866);
+        final ITick tickGBPUSD = mockForITick(1.31040, 1.31048);
+
+        assertThat(crossInstrumentA.rate(tickEURUSD, tickGBPUSD, OfferSide.BID),
+                   equalTo(crossInstrumentA.rate(1.15860, 1.31048)));
+        assertThat(crossInstrumentA.rate(tickEURUSD, tickGBPUSD, OfferSide.ASK),
+                   equalTo(crossInstrumentA.rate(1.15866, 1.31040)));
+    }
+
+    @Test
+    public void tickCrossRateUsesSameSideForMultiplication() {
+        final ITick tickEURGBP = mockForITick(0.88410, 0.88420);
+        final ITick tickGBPUSD = mockForITick(1.31040, 1.31048);
+
+        assertThat(crossInstrumentB.rate(tickEURGBP, tickGBPUSD, OfferSide.BID),
+                   equalTo(crossInstrumentB.rate(0.88410, 1.31040)));
+        assertThat(crossInstrumentB.rate(tickEURGBP, tickGBPUSD, OfferSide.ASK),
+                   equalTo(crossInstrumentB.rate(0.88420, 1.31048)));
+    }
+
+    @Test
+    public void rateObservableEmitsWhenBothInstrumentsHaveTicks() {
+        final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+        final TestObserver<Double> testObserver = crossInstrumentA
+            .rateObservable(tickQuoteSubject, OfferSide.BID)
+            .map(FxRate::value)
+            .test();
+
+        tickQuoteSubject.onNext(new TickQuote(instrumentEURUSD, mockForITick(1.15863, 1.15863)));
+        testObserver.assertNoValues();
+
+        tickQuoteSubject.onNext(tickQuoteAUDUSD);
+        tickQuoteSubject.onNext(new TickQuote(instrumentGBPUSD, mockForITick(1.31044, 1.31044)));
+        tickQuoteSubject.onNext(new TickQuote(instrumentEURUSD, mockForITick(1.15000, 1.15000)));
+
+        testObserver.assertValues(0.88415, crossInstrumentA.rate(1.15000, 1.31044));
+    }
 }
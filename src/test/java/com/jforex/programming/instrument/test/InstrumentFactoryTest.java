@@ -9,6 +9,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 
+import java.util.Optional;
 import java.util.Set;
 
 import org.junit.Test;
@@ -16,6 +17,7 @@ import org.junit.Test;
 import com.dukascopy.api.ICurrency;
 import com.dukascopy.api.Instrument;
 import com.google.common.collect.Sets;
+import com.jforex.programming.instrument.CrossInstrument;
 import com.jforex.programming.instrument.InstrumentFactory;
 import com.jforex.programming.test.common.CurrencyUtilForTest;
 
@@ -53,9 +55,28 @@ public class InstrumentFactoryTest extends CurrencyUtilForTest {
     @Test
     public void testFromNameReturnsEmptyOptionalForInvalidInstrumentName() {
         assertFalse(maybeFromName("").isPresent());
-        assertFalse(maybeFromName("EURUSD").isPresent());
-        assertFalse(maybeFromName("EURUSD").isPresent());
-        assertFalse(maybeFromName("eurusd").isPresent());
+        assertFalse(maybeFromName("HUG/USD").isPresent());
+        assertFalse(maybeFromName("EUR/USDX").isPresent());
+        assertFalse(maybeFromName("EU/RUSD").isPresent());
+        assertFalse(maybeFromName("EUR-USD").isPresent());
+    }
+
+    @Test
+    public void testFromNameReturnsOptionalWithCorrectInstrumentForNameWithoutSeparator() {
+        assertThat(maybeFromName("EURUSD").get(), equalTo(instrumentEURUSD));
+        assertThat(maybeFromName("eurusd").get(), equalTo(instrumentEURUSD));
+        assertThat(maybeFromName("usdEUR").get(), equalTo(instrumentEURUSD));
+    }
+
+    @Test
+    public void testFromNameFindsAllInstruments() {
+        for (final Instrument instrument : Instrument.values()) {
+            assertThat(maybeFromName(instrument.toString()).get(), equalTo(instrument));
+            assertThat(maybeFromName(instrument.toString().toLowerCase()).get(), equalTo(instrument));
+            assertThat(maybeFromName(instrument.getPrimaryJFCurrency().toString()
+                    + instrument.getSecondaryJFCurrency().toString()).get(),
+                       equalTo(instrument));
+        }
     }
 
     @Test
@@ -170,6 +191,23 @@ public class InstrumentFactoryTest extends CurrencyUtilForTest {
             .assertNoValues();
     }
 
+    @Test
+    public void testMaybeCrossInstrumentIsEmptyWhenNoCrossExists() {
+        assertFalse(InstrumentFactory
+            .maybeCrossInstrument(instrumentEURUSD, instrumentGBPJPY)
+            .isPresent());
+    }
+
+    @Test
+    public void testMaybeCrossInstrumentHoldsCross() {
+        final Optional<CrossInstrument> maybeCrossInstrument =
+                InstrumentFactory.maybeCrossInstrument(instrumentEURUSD, instrumentGBPUSD);
+
+        assertThat(maybeCrossInstrument
+            .get()
+            .get(), equalTo(instrumentEURGBP));
+    }
+
     @Test
     public void testMaybeCrossInstrumentIsCorrect() {
         assertThat(maybeCross(instrumentEURUSD, instrumentGBPUSD).blockingGet(), equalTo(instrumentEURGBP));
@@ -177,4 +215,19 @@ public class InstrumentFactoryTest extends CurrencyUtilForTest {
         assertThat(maybeCross(instrumentUSDJPY, instrumentGBPUSD).blockingGet(), equalTo(instrumentGBPJPY));
         assertThat(maybeCross(instrumentGBPAUD, instrumentAUDJPY).blockingGet(), equalTo(instrumentGBPJPY));
     }
+
+    @Test
+    public void testMaybeCrossInstrumentIsEmptyWhenCrossInstrumentDoesNotExist() {
+        maybeCross(Instrument.USDCZK, Instrument.USDHUF)
+            .test()
+            .assertNoValues();
+    }
+
+    @Test
+    public void testMaybeCrossInstrumentIsIndependentOfInstrumentOrder() {
+        for (final Instrument firstInstrument : Instrument.values())
+            for (final Instrument secondInstrument : Instrument.values())
+                assertThat(maybeCross(firstInstrument, secondInstrument).blockingGet(),
+                           equalTo(maybeCross(secondInstrument, firstInstrument).blockingGet()));
+    }
 }
@@ -0,0 +1,54 @@
+package com.jforex.programming.instrument.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.dukascopy.api.Instrument;
+import com.google.common.collect.Sets;
+import com.jforex.programming.instrument.InstrumentMetadata;
+import com.jforex.programming.test.common.CurrencyUtilForTest;
+
+public class InstrumentMetadataTest extends CurrencyUtilForTest {
+
+    private final InstrumentMetadata metadataEURUSD = InstrumentMetadata.of(instrumentEURUSD);
+    private final InstrumentMetadata metadataUSDJPY = InstrumentMetadata.of(instrumentUSDJPY);
+
+    @Test
+    public void sameInstanceIsReturnedForInstrument() {
+        assertThat(InstrumentMetadata.of(instrumentEURUSD), sameInstance(metadataEURUSD));
+    }
+
+    @Test
+    public void allInstrumentsHaveMetadata() {
+        for (final Instrument instrument : Instrument.values())
+            assertThat(InstrumentMetadata.of(instrument).instrument(), equalTo(instrument));
+    }
+
+    @Test
+    public void pipValuesAreCorrect() {
+        assertThat(metadataEURUSD.pipValue(), equalTo(instrumentEURUSD.getPipValue()));
+        assertThat(metadataEURUSD.inversePipValue(), equalTo(1 / instrumentEURUSD.getPipValue()));
+        assertThat(metadataEURUSD.pipScale(), equalTo(instrumentEURUSD.getPipScale()));
+        assertThat(metadataEURUSD.numberOfDigits(), equalTo(noOfDigitsNonJPYInstrument));
+        assertThat(metadataUSDJPY.numberOfDigits(), equalTo(noOfDigitsJPYInstrument));
+    }
+
+    @Test
+    public void currenciesAreCorrect() {
+        assertThat(metadataEURUSD.baseCurrency(), equalTo(currencyEUR));
+        assertThat(metadataEURUSD.quoteCurrency(), equalTo(currencyUSD));
+        assertThat(metadataEURUSD.baseJavaCurrency(), equalTo(currencyEUR.getJavaCurrency()));
+        assertThat(metadataEURUSD.quoteJavaCurrency(), equalTo(currencyUSD.getJavaCurrency()));
+        assertThat(metadataEURUSD.currencies(), equalTo(Sets.newHashSet(currencyEUR, currencyUSD)));
+    }
+
+    @Test
+    public void namesAreCorrect() {
+        assertThat(metadataEURUSD.name(), equalTo("EUR/USD"));
+        assertThat(metadataEURUSD.nameNoSeparator(), equalTo("EURUSD"));
+        assertThat(metadataEURUSD.toString(), equalTo("EUR/USD"));
+    }
+}
@@ -114,6 +114,14 @@ public class InstrumentUtilTest extends QuoteProviderForTest {
         assertTrue(instrumentUtil.isPricePipDivisible(133.243));
     }
 
+    @Test
+    public void isPricePipDivisibleUsesFractionalPipScaleOfInstrument() {
+        assertTrue(isPricePipDivisible(instrumentEURUSD, 1.1234));
+        assertFalse(isPricePipDivisible(instrumentEURUSD, 1.123456));
+        assertTrue(isPricePipDivisible(instrumentUSDJPY, 133.243));
+        assertFalse(isPricePipDivisible(instrumentUSDJPY, 133.2435));
+    }
+
     @Test
     public void convertAmountForSameInstrumentCallsCalculcationUtilCorrect() {
         final double amount = 213456.78;
@@ -3,14 +3,30 @@ package com.jforex.programming.math.test;
 import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.junit.runner.RunWith;
 
+import com.dukascopy.api.IEngine.OrderCommand;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
 import com.dukascopy.api.OfferSide;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import com.jforex.programming.math.CalculationUtil;
+import com.jforex.programming.math.ConversionRoutes;
+import com.jforex.programming.math.CurrencyRateMatrix;
 import com.jforex.programming.math.MathUtil;
+import com.jforex.programming.quote.TickQuote;
 import com.jforex.programming.test.common.QuoteProviderForTest;
 
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
 public class CalculationUtilTest extends QuoteProviderForTest {
 
     private CalculationUtil calculationUtil;
@@ -142,4 +158,208 @@ public class CalculationUtilTest extends QuoteProviderForTest {
 
         assertThat(tpPrice, equalTo(1.12222));
     }
+
+    public class WithCurrencyRateMatrix {
+
+        private final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+        private final double amount = 45678.89;
+
+        @Before
+        public void setUp() {
+            calculationUtil = new CalculationUtil(tickQuoteHandlerMock,
+                                                  new CurrencyRateMatrix(tickQuoteSubject));
+        }
+
+        @Test
+        public void quoteProviderIsUsedWhenNoTickWasReceived() {
+            final double convertedAmount = calculationUtil.convertAmount(amount,
+                                                                         currencyUSD,
+                                                                         currencyJPY,
+                                                                         OfferSide.BID);
+
+            assertThat(convertedAmount, equalTo(convertedAmountForQuote(amount, bidUSDJPY)));
+        }
+
+        @Test
+        public void matrixRateIsUsedAfterTick() {
+            final double newBid = 125.5;
+            tickQuoteSubject.onNext(new TickQuote(instrumentUSDJPY, mockForITick(newBid, 125.6)));
+
+            final double convertedAmount = calculationUtil.convertAmount(amount,
+                                                                         currencyUSD,
+                                                                         currencyJPY,
+                                                                         OfferSide.BID);
+
+            assertThat(convertedAmount, equalTo(convertedAmountForQuote(amount, newBid)));
+            verify(tickQuoteHandlerMock, never()).forOfferSide(instrumentUSDJPY, OfferSide.BID);
+        }
+
+        @Test
+        public void invertedMatrixRateIsUsedAfterTick() {
+            tickQuoteSubject.onNext(tickQuoteEURUSD);
+
+            final double convertedAmount = calculationUtil.convertAmount(amount,
+                                                                         currencyUSD,
+                                                                         currencyEUR,
+                                                                         OfferSide.ASK);
+
+            assertThat(convertedAmount, equalTo(MathUtil.roundAmount(amount * (1 / askEURUSD))));
+        }
+    }
+
+    public class WithConversionRoutes {
+
+        private final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+        private final double amount = 45678.89;
+
+        @Before
+        public void setUp() {
+            final CurrencyRateMatrix currencyRateMatrix = new CurrencyRateMatrix(tickQuoteSubject);
+            calculationUtil = new CalculationUtil(tickQuoteHandlerMock,
+                                                  currencyRateMatrix,
+                                                  new ConversionRoutes(currencyRateMatrix,
+                                                                       Sets.newHashSet(instrumentEURUSD,
+                                                                                       instrumentUSDJPY)));
+
+            tickQuoteSubject.onNext(tickQuoteEURUSD);
+            tickQuoteSubject.onNext(tickQuoteUSDJPY);
+        }
+
+        @Test
+        public void pairWithoutTickIsConvertedOverRoute() {
+            final double convertedAmount = calculationUtil.convertAmount(amount,
+                                                                         currencyEUR,
+                                                                         currencyJPY,
+                                                                         OfferSide.BID);
+
+            assertThat(convertedAmount,
+                       equalTo(MathUtil.roundAmount(amount * (bidEURUSD * bidUSDJPY))));
+            verify(tickQuoteHandlerMock, never()).forOfferSide(instrumentEURJPY, OfferSide.BID);
+        }
+    }
+
+    public class BulkCalculations {
+
+        private final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+        private final double[] amounts = { 1000.0, -2500.5, 31234.7, 4000.0 };
+        private final Instrument[] instruments = { instrumentEURUSD,
+                instrumentUSDJPY,
+                instrumentEURJPY,
+                instrumentUSDJPY };
+        private final int[] instrumentOrdinals = new int[instruments.length];
+
+        @Before
+        public void setUp() {
+            calculationUtil = new CalculationUtil(tickQuoteHandlerMock,
+                                                  new CurrencyRateMatrix(tickQuoteSubject));
+            tickQuoteSubject.onNext(tickQuoteEURUSD);
+            tickQuoteSubject.onNext(tickQuoteUSDJPY);
+
+            for (int i = 0; i < instruments.length; ++i)
+                instrumentOrdinals[i] = instruments[i].ordinal();
+        }
+
+        private IOrder orderMock(final Instrument instrument,
+                                 final OrderCommand orderCommand,
+                                 final double amount,
+                                 final double openPrice) {
+            final IOrder orderMock = mock(IOrder.class);
+            when(orderMock.getInstrument()).thenReturn(instrument);
+            when(orderMock.getOrderCommand()).thenReturn(orderCommand);
+            when(orderMock.getAmount()).thenReturn(amount);
+            when(orderMock.getOpenPrice()).thenReturn(openPrice);
+
+            return orderMock;
+        }
+
+        @Test
+        public void pipValuesAreEqualToSingleCalculations() {
+            final double[] pipValues = calculationUtil.pipValuesInCurrency(amounts,
+                                                                           instrumentOrdinals,
+                                                                           currencyEUR,
+                                                                           OfferSide.ASK);
+
+            for (int i = 0; i < amounts.length; ++i)
+                assertThat(pipValues[i], equalTo(calculationUtil.pipValueInCurrency(amounts[i],
+                                                                                    instruments[i],
+                                                                                    currencyEUR,
+                                                                                    OfferSide.ASK)));
+        }
+
+        @Test
+        public void exposuresAreEqualToConvertedAmounts() {
+            final double[] exposures = calculationUtil.exposuresInCurrency(amounts,
+                                                                           instrumentOrdinals,
+                                                                           currencyJPY,
+                                                                           OfferSide.BID);
+
+            for (int i = 0; i < amounts.length; ++i)
+                assertThat(exposures[i],
+                           equalTo(calculationUtil.convertAmount(amounts[i],
+                                                                 instruments[i].getPrimaryJFCurrency(),
+                                                                 currencyJPY,
+                                                                 OfferSide.BID)));
+        }
+
+        @Test
+        public void conversionQuoteIsFetchedOncePerCurrency() {
+            calculationUtil.pipValuesInCurrency(amounts,
+                                                instrumentOrdinals,
+                                                currencyEUR,
+                                                OfferSide.ASK);
+
+            verify(tickQuoteHandlerMock).forOfferSide(instrumentEURJPY, OfferSide.ASK);
+        }
+
+        @Test
+        public void profitLossUsesCloseSideOfDirection() {
+            final double[] signedAmounts = { 1000.0, -2000.0 };
+            final int[] ordinals = { instrumentEURUSD.ordinal(), instrumentEURUSD.ordinal() };
+            final double[] openPrices = { 1.1, 1.2 };
+
+            final double[] profitLosses = calculationUtil.profitLossInCurrency(signedAmounts,
+                                                                               ordinals,
+                                                                               openPrices,
+                                                                               currencyUSD,
+                                                                               OfferSide.BID);
+
+            assertThat(profitLosses[0], equalTo(MathUtil.roundAmount(1000.0 * (bidEURUSD - 1.1))));
+            assertThat(profitLosses[1], equalTo(MathUtil.roundAmount(-2000.0 * (askEURUSD - 1.2))));
+        }
+
+        @Test
+        public void orderCalculationsUseAmountsInUnits() {
+            final List<IOrder> orders = ImmutableList.of(orderMock(instrumentEURUSD, OrderCommand.BUY, 0.1, 1.1),
+                                                         orderMock(instrumentUSDJPY, OrderCommand.SELL, 0.2, 125.0));
+
+            final double[] pipValues = calculationUtil.pipValuesInCurrency(orders, currencyUSD, OfferSide.BID);
+            final double[] exposures = calculationUtil.exposuresInCurrency(orders, currencyUSD, OfferSide.BID);
+            final double[] profitLosses = calculationUtil.profitLossInCurrency(orders, currencyUSD, OfferSide.BID);
+
+            assertThat(pipValues[0], equalTo(calculationUtil.pipValueInCurrency(100000.0,
+                                                                                instrumentEURUSD,
+                                                                                currencyUSD,
+                                                                                OfferSide.BID)));
+            assertThat(pipValues[1], equalTo(calculationUtil.pipValueInCurrency(200000.0,
+                                                                                instrumentUSDJPY,
+                                                                                currencyUSD,
+                                                                                OfferSide.BID)));
+            assertThat(exposures[0], equalTo(calculationUtil.convertAmount(100000.0,
+                                                                           currencyEUR,
+                                                                           currencyUSD,
+                                                                           OfferSide.BID)));
+            assertThat(exposures[1], equalTo(-200000.0));
+            assertThat(profitLosses[0], equalTo(MathUtil.roundAmount(100000.0 * (bidEURUSD - 1.1))));
+            assertThat(profitLosses[1],
+                       equalTo(MathUtil.roundAmount(-200000.0 * (askUSDJPY - 125.0) / bidUSDJPY)));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void differentArrayLengthsAreRejected() {
+            calculationUtil.pipValuesInCurrency(amounts,
+                                                new int[] { instrumentEURUSD.ordinal() },
+                                                currencyEUR,
+                                                OfferSide.ASK);
+        }
+    }
 }
@@ -0,0 +1,91 @@
+package com.jforex.programming.math.test;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.OfferSide;
+import com.google.common.collect.Sets;
+import com.jforex.programming.math.ConversionRoutes;
+import com.jforex.programming.math.CurrencyRateMatrix;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ConversionRoutesTest extends QuoteProviderForTest {
+
+    private ConversionRoutes conversionRoutes;
+    private final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+    private final ICurrency currencyAUD = instrumentAUDUSD.getPrimaryJFCurrency();
+
+    @Before
+    public void setUp() {
+        conversionRoutes = new ConversionRoutes(new CurrencyRateMatrix(tickQuoteSubject),
+                                                Sets.newHashSet(instrumentEURUSD,
+                                                                instrumentUSDJPY,
+                                                                instrumentAUDUSD));
+    }
+
+    @Test
+    public void directInstrumentHasOneLeg() {
+        assertThat(conversionRoutes.noOfLegs(currencyEUR, currencyUSD), equalTo(1));
+        assertThat(conversionRoutes.noOfLegs(currencyJPY, currencyUSD), equalTo(1));
+    }
+
+    @Test
+    public void crossOverSharedCurrencyHasTwoLegs() {
+        assertThat(conversionRoutes.noOfLegs(currencyAUD, currencyJPY), equalTo(2));
+        assertThat(conversionRoutes.noOfLegs(currencyEUR, currencyAUD), equalTo(2));
+    }
+
+    @Test
+    public void noRouteForCurrencyWithoutRouteInstrument() {
+        assertFalse(conversionRoutes.hasRoute(currencyEUR, currencyGBP));
+        assertThat(conversionRoutes.noOfLegs(currencyEUR, currencyGBP), equalTo(0));
+        assertTrue(Double.isNaN(conversionRoutes.rate(currencyEUR,
+                                                      currencyGBP,
+                                                      OfferSide.ASK)));
+    }
+
+    @Test
+    public void rateIsNaNWhenLegHasNoTick() {
+        tickQuoteSubject.onNext(tickQuoteAUDUSD);
+
+        assertTrue(Double.isNaN(conversionRoutes.rate(currencyAUD,
+                                                      currencyJPY,
+                                                      OfferSide.BID)));
+    }
+
+    public class AfterLegTicks {
+
+        @Before
+        public void setUp() {
+            tickQuoteSubject.onNext(tickQuoteEURUSD);
+            tickQuoteSubject.onNext(tickQuoteUSDJPY);
+            tickQuoteSubject.onNext(tickQuoteAUDUSD);
+        }
+
+        @Test
+        public void crossRateMultipliesWhenSharedCurrencyIsOnDifferentSides() {
+            assertThat(conversionRoutes.rate(currencyAUD, currencyJPY, OfferSide.BID),
+                       closeTo(bidAUDUSD * bidUSDJPY, 1e-9));
+        }
+
+        @Test
+        public void crossRateDividesWhenSharedCurrencyIsOnSameSide() {
+            assertThat(conversionRoutes.rate(currencyEUR, currencyAUD, OfferSide.ASK),
+                       closeTo(askEURUSD / askAUDUSD, 1e-9));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.jforex.programming.math.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.ICurrency;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.math.CurrencyRateMatrix;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class CurrencyRateMatrixTest extends QuoteProviderForTest {
+
+    private CurrencyRateMatrix currencyRateMatrix;
+    private final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+
+    @Before
+    public void setUp() {
+        currencyRateMatrix = new CurrencyRateMatrix(tickQuoteSubject);
+    }
+
+    @Test
+    public void rateIsNaNWithoutTick() {
+        assertTrue(Double.isNaN(currencyRateMatrix.rate(currencyEUR,
+                                                        currencyUSD,
+                                                        OfferSide.ASK)));
+    }
+
+    @Test
+    public void rateIsNaNForUnknownCurrency() {
+        assertTrue(Double.isNaN(currencyRateMatrix.rate(mock(ICurrency.class),
+                                                        currencyUSD,
+                                                        OfferSide.ASK)));
+    }
+
+    public class AfterTickEURUSD {
+
+        @Before
+        public void setUp() {
+            tickQuoteSubject.onNext(tickQuoteEURUSD);
+        }
+
+        @Test
+        public void ratesFromBaseToQuoteAreQuotes() {
+            assertThat(currencyRateMatrix.rate(currencyEUR, currencyUSD, OfferSide.ASK),
+                       equalTo(askEURUSD));
+            assertThat(currencyRateMatrix.rate(currencyEUR, currencyUSD, OfferSide.BID),
+                       equalTo(bidEURUSD));
+        }
+
+        @Test
+        public void ratesFromQuoteToBaseAreInvertedQuotes() {
+            assertThat(currencyRateMatrix.rate(currencyUSD, currencyEUR, OfferSide.ASK),
+                       equalTo(1 / askEURUSD));
+            assertThat(currencyRateMatrix.rate(currencyUSD, currencyEUR, OfferSide.BID),
+                       equalTo(1 / bidEURUSD));
+        }
+
+        @Test
+        public void otherRatesAreStillNaN() {
+            assertTrue(Double.isNaN(currencyRateMatrix.rate(currencyUSD,
+                                                            currencyJPY,
+                                                            OfferSide.ASK)));
+        }
+
+        @Test
+        public void nextTickUpdatesRates() {
+            final double newAsk = 1.2;
+            final double newBid = 1.1;
+            tickQuoteSubject.onNext(new TickQuote(instrumentEURUSD, mockForITick(newBid, newAsk)));
+
+            assertThat(currencyRateMatrix.rate(currencyEUR, currencyUSD, OfferSide.ASK),
+                       equalTo(newAsk));
+            assertThat(currencyRateMatrix.rate(currencyUSD, currencyEUR, OfferSide.BID),
+                       equalTo(1 / newBid));
+        }
+
+        @Test
+        public void noUpdatesAfterStop() {
+            currencyRateMatrix.onStop();
+
+            tickQuoteSubject.onNext(new TickQuote(instrumentEURUSD, mockForITick(1.1, 1.2)));
+
+            assertThat(currencyRateMatrix.rate(currencyEUR, currencyUSD, OfferSide.ASK),
+                       equalTo(askEURUSD));
+            assertTrue(!tickQuoteSubject.hasObservers());
+        }
+    }
+}
@@ -6,8 +6,10 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.Currency;
+import java.util.Random;
 import java.util.Set;
 
 import org.junit.Test;
@@ -97,6 +99,70 @@ public class MathUtilTest extends CurrencyUtilForTest {
         assertThat(MathUtil.roundDouble(-1.35, 1), equalTo(-1.4));
     }
 
+    private double roundWithBigDecimal(final double rawValue,
+                                       final int digitPrecision) {
+        return BigDecimal
+            .valueOf(rawValue)
+            .setScale(digitPrecision, BigDecimal.ROUND_HALF_UP)
+            .doubleValue();
+    }
+
+    private void assertRoundDoubleEqualsBigDecimal(final double rawValue,
+                                                   final int digitPrecision) {
+        assertThat("rawValue " + rawValue + " with precision " + digitPrecision,
+                   MathUtil.roundDouble(rawValue, digitPrecision),
+                   equalTo(roundWithBigDecimal(rawValue, digitPrecision)));
+    }
+
+    @Test
+    public void testRoundDoubleHandlesDecimalTiesLikeBigDecimal() {
+        assertThat(MathUtil.roundDouble(1.005, 2), equalTo(1.01));
+        assertThat(MathUtil.roundDouble(-1.005, 2), equalTo(-1.01));
+        assertThat(MathUtil.roundDouble(0.125, 2), equalTo(0.13));
+        assertThat(MathUtil.roundDouble(1.0000005, 6), equalTo(1.000001));
+    }
+
+    @Test
+    public void testRoundDoubleOfSmallNegativeValueIsPositiveZero() {
+        assertThat(MathUtil.roundDouble(-0.001, 2), equalTo(0.0));
+        assertThat(MathUtil.roundDouble(-0.0, 2), equalTo(0.0));
+    }
+
+    @Test
+    public void testRoundDoubleOutsideFastRangeEqualsBigDecimal() {
+        assertRoundDoubleEqualsBigDecimal(1.23456789e20, 3);
+        assertRoundDoubleEqualsBigDecimal(123456.789, -2);
+        assertRoundDoubleEqualsBigDecimal(1.23456789012345678, 17);
+    }
+
+    @Test
+    public void testRoundDoubleEqualsBigDecimalForRandomValues() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 200000; ++i) {
+            final int digitPrecision = random.nextInt(10);
+            final double magnitude = Math.pow(10, random.nextInt(12) - 4);
+            final double rawValue = (random.nextDouble() - 0.5) * magnitude;
+
+            assertRoundDoubleEqualsBigDecimal(rawValue, digitPrecision);
+        }
+    }
+
+    @Test
+    public void testRoundDoubleEqualsBigDecimalForDecimalTies() {
+        final Random random = new Random(4711L);
+        for (int i = 0; i < 200000; ++i) {
+            final int digitPrecision = random.nextInt(8);
+            final long unscaledValue = random.nextInt(100000000) * 10L + 5L;
+            final double rawValue = BigDecimal
+                .valueOf(random.nextBoolean() ? unscaledValue : -unscaledValue, digitPrecision + 1)
+                .doubleValue();
+
+            assertRoundDoubleEqualsBigDecimal(rawValue, digitPrecision);
+            assertRoundDoubleEqualsBigDecimal(Math.nextUp(rawValue), digitPrecision);
+            assertRoundDoubleEqualsBigDecimal(Math.nextDown(rawValue), digitPrecision);
+        }
+    }
+
     @Test
     public void testRoundAmount() {
         assertThat(MathUtil.roundAmount(123456.7867545), equalTo(123456.786755));
@@ -136,6 +202,39 @@ public class MathUtilTest extends CurrencyUtilForTest {
         assertTrue(MathUtil.isValueDivisibleByX(1000, 10));
     }
 
+    @Test
+    public void testHasMaxFractionDigits() {
+        assertTrue(MathUtil.hasMaxFractionDigits(1.12345, 5));
+        assertTrue(MathUtil.hasMaxFractionDigits(1.1234, 5));
+        assertFalse(MathUtil.hasMaxFractionDigits(1.123456, 5));
+        assertTrue(MathUtil.hasMaxFractionDigits(133.243, 3));
+        assertFalse(MathUtil.hasMaxFractionDigits(133.2435, 3));
+        assertTrue(MathUtil.hasMaxFractionDigits(-0.0001, 4));
+        assertTrue(MathUtil.hasMaxFractionDigits(0, 0));
+        assertTrue(MathUtil.hasMaxFractionDigits(1e20, 2));
+        assertFalse(MathUtil.hasMaxFractionDigits(1.123456789012345678, 15));
+    }
+
+    @Test
+    public void testHasMaxFractionDigitsEqualsIsValueDivisibleByX() {
+        final Random random = new Random(42L);
+        for (int i = 0; i < 100000; ++i) {
+            final int fractionDigits = random.nextInt(8);
+            final int valueDigits = random.nextInt(10);
+            final double value = BigDecimal
+                .valueOf(random.nextInt(100000000) - 50000000L, valueDigits)
+                .doubleValue();
+            final double divisor = BigDecimal
+                .ONE
+                .scaleByPowerOfTen(-fractionDigits)
+                .doubleValue();
+
+            assertThat("value " + value + " with fraction digits " + fractionDigits,
+                       MathUtil.hasMaxFractionDigits(value, fractionDigits),
+                       equalTo(MathUtil.isValueDivisibleByX(value, divisor)));
+        }
+    }
+
     @Test
     public void scaleAmountForPlatformIsCorrect() {
         final double amount = 213456.78;
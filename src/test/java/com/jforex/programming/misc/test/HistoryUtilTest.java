@@ -6,6 +6,7 @@ import static org.junit.Assert.assertThat;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -22,6 +23,7 @@ import com.jforex.programming.test.common.QuoteProviderForTest;
 import com.jforex.programming.test.common.RxTestUtil;
 
 import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
 
 public class HistoryUtilTest extends QuoteProviderForTest {
 
@@ -79,6 +81,26 @@ public class HistoryUtilTest extends QuoteProviderForTest {
         assertTickSubscriber();
     }
 
+    @Test
+    public void retriesWaitOnGivenDelayScheduler() throws JFException {
+        final TestScheduler delayScheduler = new TestScheduler();
+        historyUtil = new HistoryUtil(historyMock, delayScheduler);
+        when(historyMock.getLastTick(instrumentEURUSD))
+            .thenThrow(jfException)
+            .thenReturn(tickEURUSD);
+
+        historyUtil
+            .lastestTickObservable(instrumentEURUSD)
+            .subscribe(tickSubscriber);
+
+        RxTestUtil.advanceTimeInMillisBy(5000L);
+        verify(historyMock).getLastTick(instrumentEURUSD);
+
+        delayScheduler.advanceTimeBy(5000L, TimeUnit.MILLISECONDS);
+        verify(historyMock, times(2)).getLastTick(instrumentEURUSD);
+        assertTickSubscriber();
+    }
+
     @Test
     public void tickQuotesMapIsCorrect() throws JFException {
         final Set<Instrument> instruments = Sets.newHashSet(instrumentEURUSD, instrumentAUDUSD);
@@ -0,0 +1,85 @@
+package com.jforex.programming.misc.test;
+
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.jforex.programming.misc.LatencyHistogram;
+
+public class LatencyHistogramTest {
+
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram();
+
+    private void recordRange(final long from,
+                             final long to) {
+        for (long value = from; value <= to; ++value)
+            latencyHistogram.record(value);
+    }
+
+    private void assertPercentileWithinError(final double percentile,
+                                             final long expectedValue) {
+        final long value = latencyHistogram.valueAtPercentile(percentile);
+
+        assertThat(value, greaterThanOrEqualTo(expectedValue));
+        assertThat((double) value, lessThanOrEqualTo(expectedValue * 1.04));
+    }
+
+    @Test
+    public void emptyHistogramReturnsZeroValues() {
+        assertThat(latencyHistogram.count(), equalTo(0L));
+        assertThat(latencyHistogram.max(), equalTo(0L));
+        assertThat(latencyHistogram.mean(), equalTo(0.0));
+        assertThat(latencyHistogram.valueAtPercentile(99.0), equalTo(0L));
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        recordRange(1L, 50L);
+
+        assertThat(latencyHistogram.count(), equalTo(50L));
+        assertThat(latencyHistogram.max(), equalTo(50L));
+        assertThat(latencyHistogram.mean(), closeTo(25.5, 1e-9));
+        assertThat(latencyHistogram.valueAtPercentile(50.0), equalTo(25L));
+        assertThat(latencyHistogram.valueAtPercentile(100.0), equalTo(50L));
+    }
+
+    @Test
+    public void largeValuesAreWithinRelativeError() {
+        recordRange(1L, 100000L);
+
+        assertPercentileWithinError(50.0, 50000L);
+        assertPercentileWithinError(90.0, 90000L);
+        assertPercentileWithinError(99.0, 99000L);
+        assertThat(latencyHistogram.max(), equalTo(100000L));
+    }
+
+    @Test
+    public void percentileIsCappedAtMax() {
+        latencyHistogram.record(1000003L);
+
+        assertThat(latencyHistogram.valueAtPercentile(50.0), equalTo(1000003L));
+    }
+
+    @Test
+    public void negativeValuesAreRecordedAsZero() {
+        latencyHistogram.record(-5L);
+
+        assertThat(latencyHistogram.count(), equalTo(1L));
+        assertThat(latencyHistogram.max(), equalTo(0L));
+    }
+
+    @Test
+    public void resetClearsAllValues() {
+        recordRange(1L, 1000L);
+
+        latencyHistogram.reset();
+
+        assertThat(latencyHistogram.count(), equalTo(0L));
+        assertThat(latencyHistogram.max(), equalTo(0L));
+        assertThat(latencyHistogram.valueAtPercentile(50.0), equalTo(0L));
+    }
+}
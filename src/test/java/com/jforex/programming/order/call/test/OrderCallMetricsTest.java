@@ -0,0 +1,122 @@
+package com.jforex.programming.order.call.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.call.OrderCallMetrics;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.call.OrderCallStats;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.test.common.InstrumentUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.schedulers.TestScheduler;
+
+@RunWith(HierarchicalContextRunner.class)
+public class OrderCallMetricsTest extends InstrumentUtilForTest {
+
+    private final OrderCallMetrics orderCallMetrics = new OrderCallMetrics();
+    private final OrderCallReason callReason = OrderCallReason.CLOSE;
+
+    private OrderEvent rejectEvent() {
+        return new OrderEvent(buyOrderEURUSD,
+                              messageMock,
+                              OrderEventType.CLOSE_REJECTED,
+                              true);
+    }
+
+    @Test
+    public void statsAreEmptyInitially() {
+        final OrderCallStats stats = orderCallMetrics.stats(callReason);
+
+        assertThat(stats.count(), equalTo(0L));
+        assertThat(stats.rejectRate(), equalTo(0.0));
+        assertThat(orderCallMetrics.all().isEmpty(), equalTo(true));
+    }
+
+    @Test
+    public void retryWithoutRejectedCallIsIgnored() {
+        orderCallMetrics.recordRetry(rejectEvent());
+
+        assertThat(orderCallMetrics.stats(callReason).retries(), equalTo(0L));
+    }
+
+    @Test
+    public void periodicLogRunsOnGivenScheduler() {
+        final OrderCallMetrics orderCallMetricsSpy = spy(orderCallMetrics);
+        final TestScheduler testScheduler = new TestScheduler();
+
+        orderCallMetricsSpy.logPeriodically(1L, TimeUnit.MINUTES, testScheduler);
+        verify(orderCallMetricsSpy, never()).logStats();
+
+        testScheduler.advanceTimeBy(2L, TimeUnit.MINUTES);
+        verify(orderCallMetricsSpy, times(2)).logStats();
+    }
+
+    public class AfterCallsAreRecorded {
+
+        @Before
+        public void setUp() {
+            orderCallMetrics.recordCall(buyOrderEURUSD, callReason, 1000L, false);
+            orderCallMetrics.recordCall(buyOrderEURUSD, callReason, 3000L, true);
+            orderCallMetrics.recordCall(buyOrderAUDUSD, callReason, 2000L, false);
+        }
+
+        @Test
+        public void aggregatedStatsAreCorrect() {
+            final OrderCallStats stats = orderCallMetrics.stats(callReason);
+
+            assertThat(stats.callReason(), equalTo(callReason));
+            assertThat(stats.maybeInstrument().isPresent(), equalTo(false));
+            assertThat(stats.count(), equalTo(3L));
+            assertThat(stats.rejects(), equalTo(1L));
+            assertThat(stats.meanLatency(), equalTo(2000.0));
+            assertThat(stats.maxLatency(), equalTo(3000L));
+        }
+
+        @Test
+        public void instrumentStatsAreCorrect() {
+            final OrderCallStats stats = orderCallMetrics.stats(callReason, instrumentEURUSD);
+
+            assertThat(stats.maybeInstrument().get(), equalTo(instrumentEURUSD));
+            assertThat(stats.count(), equalTo(2L));
+            assertThat(stats.rejects(), equalTo(1L));
+            assertThat(stats.rejectRate(), equalTo(0.5));
+        }
+
+        @Test
+        public void otherCallReasonIsNotAffected() {
+            assertThat(orderCallMetrics.stats(OrderCallReason.SUBMIT).count(), equalTo(0L));
+        }
+
+        @Test
+        public void allContainsOneEntryPerInstrument() {
+            assertThat(orderCallMetrics.all().size(), equalTo(2));
+        }
+
+        @Test
+        public void retryIsCountedForRejectedCall() {
+            orderCallMetrics.recordRetry(rejectEvent());
+
+            assertThat(orderCallMetrics.stats(callReason).retries(), equalTo(1L));
+            assertThat(orderCallMetrics.stats(callReason, instrumentEURUSD).retries(), equalTo(1L));
+            assertThat(orderCallMetrics.stats(callReason, Instrument.AUDUSD).retries(), equalTo(0L));
+        }
+
+        @Test
+        public void resetClearsAllStats() {
+            orderCallMetrics.reset();
+
+            assertThat(orderCallMetrics.stats(callReason).count(), equalTo(0L));
+            assertThat(orderCallMetrics.all().isEmpty(), equalTo(true));
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.jforex.programming.order.task.params.position.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -11,6 +13,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.task.PositionPriority;
 import com.jforex.programming.order.task.params.TaskParamsType;
 import com.jforex.programming.order.task.params.position.CloseAllPositionsParams;
 import com.jforex.programming.order.task.params.position.ClosePositionParams;
@@ -57,4 +60,42 @@ public class CloseAllPositionsParamsTest extends CommonParamsForTest {
     public void typeIsCLOSEALLPOSITIONS() {
         assertThat(closeAllPositionsParams.type(), equalTo(TaskParamsType.CLOSEALLPOSITIONS));
     }
+
+    @Test
+    public void fanOutDefaultsAreCorrect() {
+        assertThat(closeAllPositionsParams.maxConcurrency(), equalTo(Integer.MAX_VALUE));
+        assertThat(closeAllPositionsParams.positionPriority(), equalTo(PositionPriority.NONE));
+        assertThat(closeAllPositionsParams.instrumentTimeoutMillis(), equalTo(0L));
+        assertFalse(closeAllPositionsParams.isDelayInstrumentErrors());
+    }
+
+    @Test
+    public void fanOutValuesAreCorrect() {
+        closeAllPositionsParams = CloseAllPositionsParams
+            .newBuilder(closePositonParamsFactoryMock)
+            .withMaxConcurrency(3)
+            .withPositionPriority(PositionPriority.LARGEST_EXPOSURE_FIRST)
+            .withInstrumentTimeout(2L, TimeUnit.SECONDS)
+            .withDelayedInstrumentErrors()
+            .build();
+
+        assertThat(closeAllPositionsParams.maxConcurrency(), equalTo(3));
+        assertThat(closeAllPositionsParams.positionPriority(), equalTo(PositionPriority.LARGEST_EXPOSURE_FIRST));
+        assertThat(closeAllPositionsParams.instrumentTimeoutMillis(), equalTo(2000L));
+        assertTrue(closeAllPositionsParams.isDelayInstrumentErrors());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subMillisecondInstrumentTimeoutIsRejected() {
+        CloseAllPositionsParams
+            .newBuilder(closePositonParamsFactoryMock)
+            .withInstrumentTimeout(500L, TimeUnit.MICROSECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveMaxConcurrencyIsRejected() {
+        CloseAllPositionsParams
+            .newBuilder(closePositonParamsFactoryMock)
+            .withMaxConcurrency(0);
+    }
 }
@@ -1,6 +1,7 @@
 package com.jforex.programming.order.task.params.position.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -14,6 +15,7 @@ import org.mockito.Mock;
 import com.dukascopy.api.IOrder;
 import com.jforex.programming.order.task.BatchMode;
 import com.jforex.programming.order.task.CloseExecutionMode;
+import com.jforex.programming.order.task.params.TaskParamsBase;
 import com.jforex.programming.order.task.params.TaskParamsType;
 import com.jforex.programming.order.task.params.basic.CloseParams;
 import com.jforex.programming.order.task.params.position.ClosePositionParams;
@@ -39,6 +41,53 @@ public class ClosePositionParamsTest extends CommonParamsForTest {
         when(mergePositionParamsMock.instrument()).thenReturn(instrumentEURUSD);
     }
 
+    public class OffsetTests {
+
+        @Test
+        public void offsettingOrderSetsOffsetMode() {
+            closePositionParams = ClosePositionParams
+                .newBuilder(mergePositionParamsMock, closeParamsFactoryMock)
+                .withOffsettingOrder(buyParamsEURUSD)
+                .withMinOrdersForOffset(4)
+                .build();
+
+            assertThat(closePositionParams.closeExecutionMode(), equalTo(CloseExecutionMode.CloseAllWithOffset));
+            assertThat(closePositionParams.maybeOffsetOrderParams().get(), equalTo(buyParamsEURUSD));
+            assertThat(closePositionParams.minOrdersForOffset(), equalTo(4));
+        }
+
+        @Test
+        public void offsetSubmitParamsAreSet() {
+            final TaskParamsBase offsetSubmitParams = TaskParamsBase
+                .create()
+                .retryOnReject(retryParams)
+                .build();
+
+            closePositionParams = ClosePositionParams
+                .newBuilder(mergePositionParamsMock, closeParamsFactoryMock)
+                .withOffsettingOrder(buyParamsEURUSD)
+                .withOffsetSubmitParams(offsetSubmitParams)
+                .build();
+
+            assertThat(closePositionParams.offsetSubmitParams(), equalTo(offsetSubmitParams));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void offsettingOrderForOtherInstrumentIsRejected() {
+            ClosePositionParams
+                .newBuilder(mergePositionParamsMock, closeParamsFactoryMock)
+                .withOffsettingOrder(orderUtilForTest.buyParamsAUDUSD());
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void offsetModeWithoutOffsettingOrderIsRejected() {
+            ClosePositionParams
+                .newBuilder(mergePositionParamsMock, closeParamsFactoryMock)
+                .withCloseExecutionMode(CloseExecutionMode.CloseAllWithOffset)
+                .build();
+        }
+    }
+
     public class DefaultTests {
 
         @Before
@@ -78,6 +127,12 @@ public class ClosePositionParamsTest extends CommonParamsForTest {
             assertThat(closePositionParams.type(), equalTo(TaskParamsType.CLOSEPOSITION));
         }
 
+        @Test
+        public void noOffsetOrderParamsArePresent() {
+            assertFalse(closePositionParams.maybeOffsetOrderParams().isPresent());
+            assertThat(closePositionParams.minOrdersForOffset(), equalTo(2));
+        }
+
         @Test
         public void noConsumersForEvents() {
             assertTrue(closePositionParams
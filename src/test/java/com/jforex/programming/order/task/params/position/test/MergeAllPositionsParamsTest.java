@@ -1,9 +1,11 @@
 package com.jforex.programming.order.task.params.position.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -11,6 +13,7 @@ import org.junit.Test;
 import org.mockito.Mock;
 
 import com.dukascopy.api.Instrument;
+import com.jforex.programming.order.task.PositionPriority;
 import com.jforex.programming.order.task.params.TaskParamsType;
 import com.jforex.programming.order.task.params.position.MergeAllPositionsParams;
 import com.jforex.programming.order.task.params.position.MergePositionParams;
@@ -57,4 +60,42 @@ public class MergeAllPositionsParamsTest extends CommonParamsForTest {
     public void typeIsMERGEALLPOSITIONS() {
         assertThat(mergeAllPositionsParams.type(), equalTo(TaskParamsType.MERGEALLPOSITIONS));
     }
+
+    @Test
+    public void fanOutDefaultsAreCorrect() {
+        assertThat(mergeAllPositionsParams.maxConcurrency(), equalTo(Integer.MAX_VALUE));
+        assertThat(mergeAllPositionsParams.positionPriority(), equalTo(PositionPriority.NONE));
+        assertThat(mergeAllPositionsParams.instrumentTimeoutMillis(), equalTo(0L));
+        assertFalse(mergeAllPositionsParams.isDelayInstrumentErrors());
+    }
+
+    @Test
+    public void fanOutValuesAreCorrect() {
+        mergeAllPositionsParams = MergeAllPositionsParams
+            .withMergeParamsFactory(mergePositionParamsFactoryMock)
+            .withMaxConcurrency(3)
+            .withPositionPriority(PositionPriority.LARGEST_EXPOSURE_FIRST)
+            .withInstrumentTimeout(2L, TimeUnit.SECONDS)
+            .withDelayedInstrumentErrors()
+            .build();
+
+        assertThat(mergeAllPositionsParams.maxConcurrency(), equalTo(3));
+        assertThat(mergeAllPositionsParams.positionPriority(), equalTo(PositionPriority.LARGEST_EXPOSURE_FIRST));
+        assertThat(mergeAllPositionsParams.instrumentTimeoutMillis(), equalTo(2000L));
+        assertTrue(mergeAllPositionsParams.isDelayInstrumentErrors());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void subMillisecondInstrumentTimeoutIsRejected() {
+        MergeAllPositionsParams
+            .withMergeParamsFactory(mergePositionParamsFactoryMock)
+            .withInstrumentTimeout(500L, TimeUnit.MICROSECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveMaxConcurrencyIsRejected() {
+        MergeAllPositionsParams
+            .withMergeParamsFactory(mergePositionParamsFactoryMock)
+            .withMaxConcurrency(0);
+    }
 }
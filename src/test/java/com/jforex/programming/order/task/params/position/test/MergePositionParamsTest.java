@@ -1,6 +1,7 @@
 package com.jforex.programming.order.task.params.position.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
@@ -109,6 +110,12 @@ public class MergePositionParamsTest extends CommonParamsForTest {
             assertThat(mergePositionParams.batchCancelTPMode(), equalTo(BatchMode.MERGE));
         }
 
+        @Test
+        public void mergeIsNotPipelined() {
+            assertFalse(mergePositionParams.isPipelinedMerge());
+            assertThat(mergePositionParams.mergeChunkSize(), equalTo(0));
+        }
+
         @Test
         public void typeIsMERGEPOSITION() {
             assertThat(mergePositionParams.type(), equalTo(TaskParamsType.MERGEPOSITION));
@@ -138,6 +145,7 @@ public class MergePositionParamsTest extends CommonParamsForTest {
                 .withCancelSLParamsFactory(cancelSLParamsFactoryMock)
                 .withCancelTPParamsFactory(cancelTPParamsFactoryMock)
                 .withMergeParamsForPosition(mergeParamsForPositionMock)
+                .withPipelinedMerge(10)
                 .doOnStart(actionMock)
                 .doOnComplete(actionMock)
                 .doOnError(errorConsumerMock)
@@ -190,9 +198,22 @@ public class MergePositionParamsTest extends CommonParamsForTest {
             assertThat(mergePositionParams.batchCancelTPMode(), equalTo(BatchMode.CONCAT));
         }
 
+        @Test
+        public void mergeIsPipelinedWithChunkSize() {
+            assertTrue(mergePositionParams.isPipelinedMerge());
+            assertThat(mergePositionParams.mergeChunkSize(), equalTo(10));
+        }
+
         @Test
         public void assertComposeDataAreCorrect() {
             assertComposeData(mergePositionParams.composeData());
         }
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pipelinedMergeWithChunkSizeBelowTwoFails() {
+        MergePositionParams
+            .newBuilder(instrumentEURUSD, mergeOrderLabel)
+            .withPipelinedMerge(1);
+    }
 }
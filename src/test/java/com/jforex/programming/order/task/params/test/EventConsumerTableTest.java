@@ -0,0 +1,107 @@
+package com.jforex.programming.order.task.params.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.task.params.EventConsumerTable;
+import com.jforex.programming.order.task.params.basic.CloseParams;
+import com.jforex.programming.test.common.InstrumentUtilForTest;
+
+public class EventConsumerTableTest extends InstrumentUtilForTest {
+
+    private EventConsumerTable eventConsumerTable;
+
+    @Mock
+    private Consumer<OrderEvent> closeConsumerMock;
+    @Mock
+    private Consumer<OrderEvent> rejectConsumerMock;
+    private final Map<OrderEventType, Consumer<OrderEvent>> consumerByEventType = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        consumerByEventType.put(OrderEventType.CLOSE_OK, closeConsumerMock);
+        consumerByEventType.put(OrderEventType.CLOSE_REJECTED, rejectConsumerMock);
+
+        eventConsumerTable = EventConsumerTable.of(consumerByEventType);
+    }
+
+    @Test
+    public void emptyMapGivesSharedEmptyTable() {
+        final EventConsumerTable emptyTable = EventConsumerTable.of(new EnumMap<>(OrderEventType.class));
+
+        assertThat(emptyTable, sameInstance(EventConsumerTable.empty()));
+        assertTrue(emptyTable.isEmpty());
+        assertTrue(emptyTable.asMap().isEmpty());
+    }
+
+    @Test
+    public void consumersAreIndexedByEventType() {
+        assertFalse(eventConsumerTable.isEmpty());
+        assertThat(eventConsumerTable.consumer(OrderEventType.CLOSE_OK), equalTo(closeConsumerMock));
+        assertThat(eventConsumerTable.consumer(OrderEventType.CLOSE_REJECTED), equalTo(rejectConsumerMock));
+        assertThat(eventConsumerTable.consumer(OrderEventType.FULLY_FILLED), nullValue());
+    }
+
+    @Test
+    public void tableIsFrozen() {
+        consumerByEventType.clear();
+
+        assertThat(eventConsumerTable.asMap().size(), equalTo(2));
+        assertThat(eventConsumerTable.consumer(OrderEventType.CLOSE_OK), equalTo(closeConsumerMock));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void mapViewIsNotModifiable() {
+        eventConsumerTable
+            .asMap()
+            .put(OrderEventType.FULLY_FILLED, closeConsumerMock);
+    }
+
+    @Test
+    public void acceptDispatchesToConsumerOfEventType() {
+        final OrderEvent closeEvent = createEvent(OrderEventType.CLOSE_OK);
+
+        eventConsumerTable.accept(closeEvent);
+
+        verify(closeConsumerMock).accept(closeEvent);
+        verifyZeroInteractions(rejectConsumerMock);
+    }
+
+    @Test
+    public void acceptIgnoresEventWithoutConsumer() {
+        eventConsumerTable.accept(createEvent(OrderEventType.FULLY_FILLED));
+
+        verifyZeroInteractions(closeConsumerMock);
+        verifyZeroInteractions(rejectConsumerMock);
+    }
+
+    @Test
+    public void paramsWithoutConsumersShareEmptyComposeData() {
+        final CloseParams firstParams = CloseParams
+            .withOrder(buyOrderEURUSD)
+            .build();
+        final CloseParams secondParams = CloseParams
+            .withOrder(sellOrderEURUSD)
+            .build();
+
+        assertThat(firstParams.composeData(), sameInstance(secondParams.composeData()));
+        assertThat(firstParams
+            .composeData()
+            .eventConsumerTable(), sameInstance(EventConsumerTable.empty()));
+    }
+}
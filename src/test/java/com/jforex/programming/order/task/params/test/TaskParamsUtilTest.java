@@ -1,5 +1,9 @@
 package com.jforex.programming.order.task.params.test;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -9,6 +13,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 
+import com.jforex.programming.order.OrderSchedulers;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventType;
 import com.jforex.programming.order.task.params.ComposeDataImpl;
@@ -18,8 +24,10 @@ import com.jforex.programming.order.task.params.position.ClosePositionParams;
 import com.jforex.programming.test.common.InstrumentUtilForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.ObservableTransformer;
 import io.reactivex.functions.Action;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 
@@ -152,6 +160,57 @@ public class TaskParamsUtilTest extends InstrumentUtilForTest {
         }
     }
 
+    @Test
+    public void composerWithoutCallbacksAddsNoOperators() {
+        final ObservableTransformer<OrderEvent, OrderEvent> composer =
+                taskParamsUtil.composer(new ComposeDataImpl());
+
+        assertThat(orderEventSubject.compose(composer), equalTo(orderEventSubject));
+    }
+
+    public class ComposerTests {
+
+        private ObservableTransformer<OrderEvent, OrderEvent> composer;
+        private final Subject<OrderEvent> secondEventSubject = PublishSubject.create();
+
+        @Before
+        public void setUp() {
+            composeDataImpl.setStartAction(startActionMock);
+            composeDataImpl.setCompleteAction(completeActionMock);
+            composeDataImpl.setErrorConsumer(errorConsumerMock);
+            composeDataImpl.setEventConsumer(OrderEventType.CLOSE_OK, consumerMockA);
+
+            composer = taskParamsUtil.composer(composeDataImpl);
+        }
+
+        @Test
+        public void noCallbackIsCalledBeforeSubscription() throws Exception {
+            verifyZeroInteractions(startActionMock);
+        }
+
+        @Test
+        public void composerIsReusableForManyObservables() throws Exception {
+            final TestObserver<OrderEvent> firstObserver = orderEventSubject
+                .compose(composer)
+                .test();
+            final TestObserver<OrderEvent> secondObserver = secondEventSubject
+                .compose(composer)
+                .test();
+
+            orderEventSubject.onNext(closeEvent);
+            orderEventSubject.onComplete();
+            secondEventSubject.onError(jfException);
+
+            verify(startActionMock, times(2)).run();
+            verify(consumerMockA).accept(closeEvent);
+            verify(completeActionMock).run();
+            verify(errorConsumerMock).accept(jfException);
+            firstObserver.assertValue(closeEvent);
+            firstObserver.assertComplete();
+            secondObserver.assertError(jfException);
+        }
+    }
+
     public class ComposeParamsForOrderTests {
 
         private TestObserver<OrderEvent> testObserver;
@@ -192,4 +251,50 @@ public class TaskParamsUtilTest extends InstrumentUtilForTest {
             testObserver.assertError(jfException);
         }
     }
+
+    public class WithOrderSchedulers {
+
+        private final TestScheduler callbackScheduler = new TestScheduler();
+
+        @Before
+        public void setUp() {
+            taskParamsUtil = new TaskParamsUtil(new OrderCallMetrics(),
+                                                OrderSchedulers.of(callbackScheduler));
+            final CloseParams closeParams = CloseParams
+                .withOrder(buyOrderEURUSD)
+                .doOnComplete(completeActionMock)
+                .doOnClose(consumerMockA)
+                .build();
+
+            taskParamsUtil.composeAndSubscribe(orderEventSubject, closeParams);
+        }
+
+        @Test
+        public void taskIsSubscribedOnCallingThread() {
+            assertTrue(orderEventSubject.hasObservers());
+        }
+
+        public class AfterEvent {
+
+            @Before
+            public void setUp() {
+                orderEventSubject.onNext(closeEvent);
+                orderEventSubject.onComplete();
+            }
+
+            @Test
+            public void callbacksWaitForCallbackScheduler() throws Exception {
+                verifyZeroInteractions(consumerMockA);
+                verifyZeroInteractions(completeActionMock);
+            }
+
+            @Test
+            public void callbacksRunOnCallbackScheduler() throws Exception {
+                callbackScheduler.triggerActions();
+
+                verify(consumerMockA).accept(closeEvent);
+                verify(completeActionMock).run();
+            }
+        }
+    }
 }
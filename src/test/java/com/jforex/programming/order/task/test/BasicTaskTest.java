@@ -16,6 +16,7 @@ import com.jforex.programming.order.OrderParams;
 import com.jforex.programming.order.OrderUtilHandler;
 import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
 import com.jforex.programming.order.task.BasicTask;
 import com.jforex.programming.order.task.TaskExecutor;
 import com.jforex.programming.order.task.params.basic.CloseParams;
@@ -34,6 +35,7 @@ import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
 
 @RunWith(HierarchicalContextRunner.class)
 public class BasicTaskTest extends InstrumentUtilForTest {
@@ -61,12 +63,12 @@ public class BasicTaskTest extends InstrumentUtilForTest {
 
     private void setUpOrderUtilHandlerMock(final Observable<OrderEvent> observable,
                                            final OrderCallReason callReason) {
-        when(orderUtilHandlerMock.callObservable(orderForTest, callReason))
+        when(orderUtilHandlerMock.callObservable(eq(orderForTest), eq(callReason), anyLong()))
             .thenReturn(observable);
     }
 
     private void verifyOrderUtilHandlerMockCall(final OrderCallReason callReason) {
-        verify(orderUtilHandlerMock).callObservable(orderForTest, callReason);
+        verify(orderUtilHandlerMock).callObservable(eq(orderForTest), eq(callReason), anyLong());
     }
 
     private void assertTaskFilterCausesNoAction() {
@@ -644,6 +646,78 @@ public class BasicTaskTest extends InstrumentUtilForTest {
             }
         }
 
+        public class CoalescedChanges {
+
+            private final double newerSL = 1.1244;
+            private final double latestSL = 1.1254;
+            private final PublishSubject<OrderEvent> inFlightChange = PublishSubject.create();
+
+            private Observable<OrderEvent> setSLObservable(final double slPrice) {
+                return basicTask.setStopLossPriceCoalesced(SetSLParams
+                    .setSLAtPrice(orderForTest, slPrice)
+                    .build());
+            }
+
+            @Before
+            public void setUp() {
+                orderUtilForTest.setState(orderForTest, IOrder.State.FILLED);
+                when(orderTaskExecutorMock.setStopLossPrice(eq(orderForTest),
+                                                            anyDouble(),
+                                                            any(),
+                                                            anyDouble()))
+                                                                .thenReturn(emptyCompletable());
+                when(orderUtilHandlerMock.callObservable(eq(orderForTest), eq(OrderCallReason.CHANGE_SL), anyLong()))
+                    .thenReturn(inFlightChange.take(1))
+                    .thenReturn(emptyObservable());
+
+                setSLObservable(1.1234).test();
+                testObserver = setSLObservable(newerSL).test();
+                setSLObservable(latestSL).test();
+            }
+
+            @Test
+            public void changesRequestedWhileInFlightAreNotSent() {
+                verify(orderTaskExecutorMock).setStopLossPrice(eq(orderForTest),
+                                                               anyDouble(),
+                                                               any(),
+                                                               anyDouble());
+            }
+
+            @Test
+            public void supersededChangeCompletesWithoutEvents() {
+                testObserver.assertNoValues();
+                testObserver.assertComplete();
+            }
+
+            @Test
+            public void uncoalescedChangeIsSentWhileChangeIsInFlight() {
+                basicTask
+                    .setStopLossPrice(SetSLParams
+                        .setSLAtPrice(orderForTest, 1.1264)
+                        .build())
+                    .test();
+
+                verify(orderTaskExecutorMock).setStopLossPrice(eq(orderForTest),
+                                                               eq(1.1264),
+                                                               any(),
+                                                               anyDouble());
+            }
+
+            @Test
+            public void onlyLatestChangeIsSentAfterInFlightChangeFinished() {
+                inFlightChange.onNext(createEvent(OrderEventType.CHANGED_SL));
+
+                verify(orderTaskExecutorMock, never()).setStopLossPrice(eq(orderForTest),
+                                                                        eq(newerSL),
+                                                                        any(),
+                                                                        anyDouble());
+                verify(orderTaskExecutorMock).setStopLossPrice(eq(orderForTest),
+                                                               eq(latestSL),
+                                                               any(),
+                                                               anyDouble());
+            }
+        }
+
         public class AsPipsSetup {
 
             private final double pips = 20.3;
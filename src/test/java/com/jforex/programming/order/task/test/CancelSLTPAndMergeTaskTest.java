@@ -1,28 +1,44 @@
 package com.jforex.programming.order.task.test;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 
 import com.dukascopy.api.IOrder;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
 import com.jforex.programming.order.task.BasicTask;
+import com.jforex.programming.order.task.BatchMode;
 import com.jforex.programming.order.task.CancelSLTPAndMergeTask;
+import com.jforex.programming.order.task.CancelSLTPMode;
 import com.jforex.programming.order.task.CancelSLTPTask;
 import com.jforex.programming.order.task.params.ComposeDataImpl;
 import com.jforex.programming.order.task.params.TaskParamsBase;
 import com.jforex.programming.order.task.params.TaskParamsUtil;
+import com.jforex.programming.order.task.params.basic.CancelSLParams;
+import com.jforex.programming.order.task.params.basic.CancelTPParams;
 import com.jforex.programming.order.task.params.basic.MergeParamsForPosition;
+import com.jforex.programming.order.task.params.basic.SetLabelParams;
 import com.jforex.programming.order.task.params.position.MergePositionParams;
 import com.jforex.programming.test.common.InstrumentUtilForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
 
 @RunWith(HierarchicalContextRunner.class)
 public class CancelSLTPAndMergeTaskTest extends InstrumentUtilForTest {
@@ -135,4 +151,201 @@ public class CancelSLTPAndMergeTaskTest extends InstrumentUtilForTest {
             testObserver.assertNoValues();
         }
     }
+
+    public class PipelinedMerge {
+
+        private final List<IOrder> firstChunk = Lists.newArrayList(buyOrderEURUSD, buyOrderEURUSD2);
+        private final List<IOrder> secondChunk = Lists.newArrayList(sellOrderEURUSD, buyOrderAUDUSD, sellOrderAUDUSD);
+        private final List<IOrder> pipelinedOrders = Lists.newArrayList(buyOrderEURUSD,
+                                                                         buyOrderEURUSD2,
+                                                                         sellOrderEURUSD,
+                                                                         buyOrderAUDUSD,
+                                                                         sellOrderAUDUSD);
+        private final PublishSubject<OrderEvent> firstCancelSLTP = PublishSubject.create();
+        private final PublishSubject<OrderEvent> secondCancelSLTP = PublishSubject.create();
+        private final PublishSubject<OrderEvent> firstChunkMerge = PublishSubject.create();
+        private final PublishSubject<OrderEvent> secondChunkMerge = PublishSubject.create();
+        private final PublishSubject<OrderEvent> finalMerge = PublishSubject.create();
+        private final Function<IOrder, CancelSLParams> cancelSLParamsFactory = order -> CancelSLParams
+            .withOrder(order)
+            .build();
+        private final Function<IOrder, CancelTPParams> cancelTPParamsFactory = order -> CancelTPParams
+            .withOrder(order)
+            .build();
+        private final OrderEvent firstChunkMergeEvent = new OrderEvent(buyOrderEURUSD,
+                                                                       messageMock,
+                                                                       OrderEventType.MERGE_OK,
+                                                                       true);
+        private final OrderEvent secondChunkMergeEvent = new OrderEvent(sellOrderEURUSD,
+                                                                        messageMock,
+                                                                        OrderEventType.MERGE_OK,
+                                                                        true);
+
+        @Before
+        public void setUp() {
+            when(mergePositionParamsMock.isPipelinedMerge()).thenReturn(true);
+            when(mergePositionParamsMock.mergeChunkSize()).thenReturn(2);
+            when(mergePositionParamsMock.instrument()).thenReturn(instrumentEURUSD);
+            when(mergePositionParamsMock.mergeExecutionMode()).thenReturn(CancelSLTPMode.MergeCancelSLAndTP);
+            when(mergePositionParamsMock.batchCancelSLMode()).thenReturn(BatchMode.MERGE);
+            when(mergePositionParamsMock.batchCancelTPMode()).thenReturn(BatchMode.MERGE);
+            when(mergePositionParamsMock.cancelSLParamsFactory()).thenReturn(cancelSLParamsFactory);
+            when(mergePositionParamsMock.cancelTPParamsFactory()).thenReturn(cancelTPParamsFactory);
+            when(mergePositionParamsMock.batchCancelSLParams()).thenReturn(cancelSLTPParamsMock);
+            when(mergePositionParamsMock.batchCancelTPParams()).thenReturn(cancelSLTPParamsMock);
+            when(taskParamsUtilMock.compose(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
+            when(basicTaskMock.setLabel(any())).thenReturn(eventObservable(changedLabelEvent));
+            composeData.setRetryParams(retryParams);
+
+            when(cancelSLTPTaskMock.observe(eq(firstChunk), any()))
+                .thenReturn(firstCancelSLTP);
+            when(cancelSLTPTaskMock.observe(eq(secondChunk), any()))
+                .thenReturn(secondCancelSLTP);
+            when(basicTaskMock.mergeOrders(mergeOrderLabel + "_0", firstChunk))
+                .thenReturn(firstChunkMerge);
+            when(basicTaskMock.mergeOrders(mergeOrderLabel + "_1", secondChunk))
+                .thenReturn(secondChunkMerge);
+            when(basicTaskMock.mergeOrders(eq(mergeOrderLabel), any()))
+                .thenReturn(finalMerge);
+
+            testObserver = cancelSLTPAndMergeTask
+                .observe(pipelinedOrders, mergePositionParamsMock)
+                .test();
+        }
+
+        @Test
+        public void chunksAreCancelledConcurrently() {
+            assertTrue(firstCancelSLTP.hasObservers());
+            assertTrue(secondCancelSLTP.hasObservers());
+        }
+
+        private MergePositionParams chunkParams() {
+            final ArgumentCaptor<MergePositionParams> paramsCaptor = ArgumentCaptor.forClass(MergePositionParams.class);
+            verify(cancelSLTPTaskMock).observe(eq(firstChunk), paramsCaptor.capture());
+            return paramsCaptor.getValue();
+        }
+
+        private void completeChunks(final boolean withSecondChunkMergeOrder) {
+            firstCancelSLTP.onComplete();
+            secondCancelSLTP.onComplete();
+            firstChunkMerge.onNext(firstChunkMergeEvent);
+            firstChunkMerge.onComplete();
+            if (withSecondChunkMergeOrder)
+                secondChunkMerge.onNext(secondChunkMergeEvent);
+            secondChunkMerge.onComplete();
+        }
+
+        @Test
+        public void singleOrderRestIsAddedToLastChunk() {
+            verify(cancelSLTPTaskMock).observe(eq(secondChunk), any());
+        }
+
+        @Test
+        public void chunksUseParamsWithoutCallbacks() {
+            final MergePositionParams chunkParams = chunkParams();
+
+            assertThat(chunkParams.cancelSLParamsFactory(), equalTo(cancelSLParamsFactory));
+            assertThat(chunkParams.cancelTPParamsFactory(), equalTo(cancelTPParamsFactory));
+            assertThat(chunkParams.mergeExecutionMode(), equalTo(CancelSLTPMode.MergeCancelSLAndTP));
+            assertFalse(chunkParams.isPipelinedMerge());
+            verify(taskParamsUtilMock, never()).compose(any(), eq(cancelSLTPParamsMock));
+        }
+
+        @Test
+        public void chunksKeepRetryParams() {
+            final MergePositionParams chunkParams = chunkParams();
+
+            assertThat(chunkParams.cancelSLTPParams().composeData().retryParams(), equalTo(retryParams));
+            assertThat(chunkParams.batchCancelSLParams().composeData().retryParams(), equalTo(retryParams));
+            assertThat(chunkParams.batchCancelTPParams().composeData().retryParams(), equalTo(retryParams));
+            assertThat(chunkParams.mergeParamsForPosition().composeData().retryParams(), equalTo(retryParams));
+        }
+
+        @Test
+        public void userMergeParamsOnlyApplyToFinalMerge() {
+            completeChunks(true);
+
+            verify(taskParamsUtilMock, never()).compose(eq(firstChunkMerge), eq(mergeParamsForPositionMock));
+            verify(taskParamsUtilMock, never()).compose(eq(secondChunkMerge), eq(mergeParamsForPositionMock));
+            verify(taskParamsUtilMock).compose(finalMerge, mergeParamsForPositionMock);
+        }
+
+        @Test
+        public void userMergeParamsRunOnceWhenFinalMergeIsSkipped() {
+            completeChunks(false);
+
+            verify(taskParamsUtilMock).compose(any(), eq(mergeParamsForPositionMock));
+            testObserver.assertComplete();
+        }
+
+        @Test
+        public void chunkIsMergedWhenItsCancelSLTPIsDone() {
+            firstCancelSLTP.onComplete();
+
+            assertTrue(firstChunkMerge.hasObservers());
+            assertFalse(secondChunkMerge.hasObservers());
+        }
+
+        @Test
+        public void finalMergeWaitsForAllChunkMerges() {
+            firstCancelSLTP.onComplete();
+            firstChunkMerge.onNext(firstChunkMergeEvent);
+            firstChunkMerge.onComplete();
+
+            verify(basicTaskMock, never()).mergeOrders(eq(mergeOrderLabel), any());
+            testObserver.assertValue(firstChunkMergeEvent);
+            testObserver.assertNotComplete();
+        }
+
+        @Test
+        public void chunkMergeOrdersAreMergedWithMergeOrderLabel() {
+            firstCancelSLTP.onComplete();
+            secondCancelSLTP.onComplete();
+            firstChunkMerge.onNext(firstChunkMergeEvent);
+            firstChunkMerge.onComplete();
+            secondChunkMerge.onNext(secondChunkMergeEvent);
+            secondChunkMerge.onComplete();
+            finalMerge.onNext(mergeEvent);
+            finalMerge.onComplete();
+
+            verify(basicTaskMock).mergeOrders(mergeOrderLabel, Sets.newHashSet(buyOrderEURUSD, sellOrderEURUSD));
+            testObserver.assertValues(firstChunkMergeEvent, secondChunkMergeEvent, mergeEvent);
+            testObserver.assertComplete();
+        }
+
+        @Test
+        public void noFinalMergeWhenOnlyOneChunkMergeOrderIsLeft() {
+            firstCancelSLTP.onComplete();
+            secondCancelSLTP.onComplete();
+            firstChunkMerge.onNext(firstChunkMergeEvent);
+            firstChunkMerge.onComplete();
+            secondChunkMerge.onComplete();
+
+            verify(basicTaskMock, never()).mergeOrders(eq(mergeOrderLabel), any());
+            testObserver.assertComplete();
+        }
+
+        @Test
+        public void singleChunkMergeOrderGetsMergeOrderLabel() {
+            final ArgumentCaptor<SetLabelParams> paramsCaptor = ArgumentCaptor.forClass(SetLabelParams.class);
+
+            completeChunks(false);
+
+            verify(basicTaskMock).setLabel(paramsCaptor.capture());
+            assertThat(paramsCaptor.getValue().order(), equalTo(buyOrderEURUSD));
+            assertThat(paramsCaptor.getValue().newLabel(), equalTo(mergeOrderLabel));
+            testObserver.assertValues(firstChunkMergeEvent, changedLabelEvent);
+        }
+
+        @Test
+        public void noRelabelWhenNoChunkMergeOrderIsLeft() {
+            firstCancelSLTP.onComplete();
+            secondCancelSLTP.onComplete();
+            firstChunkMerge.onComplete();
+            secondChunkMerge.onComplete();
+
+            verify(basicTaskMock, never()).setLabel(any());
+            testObserver.assertComplete();
+        }
+    }
 }
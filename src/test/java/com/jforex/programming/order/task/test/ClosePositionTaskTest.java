@@ -1,6 +1,10 @@
 package com.jforex.programming.order.task.test;
 
+import static org.junit.Assert.assertFalse;
+
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -16,14 +20,19 @@ import com.dukascopy.api.Instrument;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.task.ClosePositionTask;
 import com.jforex.programming.order.task.MergeAndClosePositionTask;
+import com.jforex.programming.order.task.PositionPriority;
 import com.jforex.programming.order.task.params.position.CloseAllPositionsParams;
 import com.jforex.programming.order.task.params.position.ClosePositionParams;
 import com.jforex.programming.position.PositionUtil;
 import com.jforex.programming.test.common.InstrumentUtilForTest;
+import com.jforex.programming.test.common.RxTestUtil;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
 
 @RunWith(HierarchicalContextRunner.class)
 public class ClosePositionTaskTest extends InstrumentUtilForTest {
@@ -116,6 +125,12 @@ public class ClosePositionTaskTest extends InstrumentUtilForTest {
 
         private List<Observable<OrderEvent>> closeObservables;
 
+        @Before
+        public void setUp() {
+            when(closeAllPositionsParamsMock.maxConcurrency()).thenReturn(Integer.MAX_VALUE);
+            when(closeAllPositionsParamsMock.positionPriority()).thenReturn(PositionPriority.NONE);
+        }
+
         private void closeAllSubscribe() {
             testObserver = closePositionTask
                 .closeAll(closeAllPositionsParamsMock)
@@ -127,7 +142,8 @@ public class ClosePositionTaskTest extends InstrumentUtilForTest {
             closeObservables = Stream
                 .of(firstObservable, secondObservable)
                 .collect(Collectors.toList());
-            when(positionUtilMock.observablesFromFactory(factoryCaptor.capture()))
+            final PositionPriority positionPriority = closeAllPositionsParamsMock.positionPriority();
+            when(positionUtilMock.observablesFromFactory(factoryCaptor.capture(), eq(positionPriority)))
                 .thenReturn(closeObservables);
 
             closeAllSubscribe();
@@ -152,5 +168,103 @@ public class ClosePositionTaskTest extends InstrumentUtilForTest {
 
             testObserver.assertComplete();
         }
+
+        @Test
+        public void positionPriorityIsPassedToPositionUtil() {
+            when(closeAllPositionsParamsMock.positionPriority()).thenReturn(PositionPriority.LARGEST_EXPOSURE_FIRST);
+
+            setUpPositionUtilObservables(emptyObservable(), emptyObservable());
+
+            verify(positionUtilMock).observablesFromFactory(any(), eq(PositionPriority.LARGEST_EXPOSURE_FIRST));
+        }
+
+        @Test
+        public void noMoreInstrumentsThanMaxConcurrencyAreInProgress() {
+            when(closeAllPositionsParamsMock.maxConcurrency()).thenReturn(1);
+
+            setUpPositionUtilObservables(neverObservable(), eventObservable(event));
+
+            testObserver.assertNoValues();
+            testObserver.assertNotComplete();
+        }
+
+        @Test
+        public void nextInstrumentStartsWhenOneFinished() {
+            when(closeAllPositionsParamsMock.maxConcurrency()).thenReturn(1);
+
+            setUpPositionUtilObservables(emptyObservable(), eventObservable(event));
+
+            testObserver.assertValue(event);
+            testObserver.assertComplete();
+        }
+
+        @Test
+        public void errorOfOneInstrumentCancelsOthers() {
+            final Subject<OrderEvent> secondSubject = PublishSubject.create();
+
+            setUpPositionUtilObservables(Observable.error(jfException), secondSubject);
+
+            assertFalse(secondSubject.hasObservers());
+            testObserver.assertError(jfException);
+        }
+
+        @Test
+        public void errorOfOneInstrumentDoesNotCancelOthersWithDelayedErrors() {
+            final Subject<OrderEvent> secondSubject = PublishSubject.create();
+            when(closeAllPositionsParamsMock.isDelayInstrumentErrors()).thenReturn(true);
+
+            setUpPositionUtilObservables(Observable.error(jfException), secondSubject);
+            secondSubject.onNext(event);
+
+            testObserver.assertValue(event);
+            testObserver.assertNotTerminated();
+
+            secondSubject.onComplete();
+
+            testObserver.assertError(jfException);
+        }
+
+        @Test
+        public void stuckInstrumentTimesOutWithoutHoldingBackOthers() {
+            when(closeAllPositionsParamsMock.instrumentTimeoutMillis()).thenReturn(1000L);
+
+            setUpPositionUtilObservables(neverObservable(), eventObservable(event));
+            testObserver.assertValue(event);
+            testObserver.assertNotTerminated();
+
+            RxTestUtil.advanceTimeInMillisBy(1000L);
+
+            testObserver.assertError(TimeoutException.class);
+        }
+
+        public class WithDelayScheduler {
+
+            private final TestScheduler delayScheduler = new TestScheduler();
+
+            @Before
+            public void setUp() {
+                closePositionTask = new ClosePositionTask(paramsHandlerMock,
+                                                          positionUtilMock,
+                                                          delayScheduler);
+                when(closeAllPositionsParamsMock.instrumentTimeoutMillis()).thenReturn(1000L);
+
+                setUpPositionUtilObservables(neverObservable(), eventObservable(event));
+            }
+
+            @Test
+            public void noTimeoutWhenOnlyDefaultSchedulerAdvances() {
+                RxTestUtil.advanceTimeInMillisBy(1000L);
+
+                testObserver.assertValue(event);
+                testObserver.assertNotTerminated();
+            }
+
+            @Test
+            public void timeoutWhenDelaySchedulerAdvances() {
+                delayScheduler.advanceTimeBy(1000L, TimeUnit.MILLISECONDS);
+
+                testObserver.assertError(TimeoutException.class);
+            }
+        }
     }
 }
@@ -1,26 +1,45 @@
 package com.jforex.programming.order.task.test;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.Optional;
 import java.util.Set;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 
+import com.dukascopy.api.IEngine.OrderCommand;
 import com.dukascopy.api.IOrder;
 import com.google.common.collect.Sets;
+import com.jforex.programming.order.OrderParams;
+import com.jforex.programming.order.OrderStaticUtil;
+import com.jforex.programming.order.call.OrderCallRejectException;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.task.BasicTask;
 import com.jforex.programming.order.task.BatchChangeTask;
 import com.jforex.programming.order.task.CloseExecutionMode;
 import com.jforex.programming.order.task.MergeAndClosePositionTask;
 import com.jforex.programming.order.task.MergePositionTask;
 import com.jforex.programming.order.task.OrdersForPositionClose;
+import com.jforex.programming.order.task.params.TaskParamsBase;
+import com.jforex.programming.order.task.params.TaskParamsUtil;
+import com.jforex.programming.order.task.params.basic.SubmitParams;
 import com.jforex.programming.order.task.params.position.ClosePositionParams;
 import com.jforex.programming.order.task.params.position.MergePositionParams;
 import com.jforex.programming.test.common.QuoteProviderForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
 
 @RunWith(HierarchicalContextRunner.class)
 public class MergeAndClosePositionTaskTest extends QuoteProviderForTest {
@@ -32,11 +51,21 @@ public class MergeAndClosePositionTaskTest extends QuoteProviderForTest {
     @Mock
     private BatchChangeTask batchChangeTaskMock;
     @Mock
+    private BasicTask basicTaskMock;
+    @Mock
     private OrdersForPositionClose ordersForPositionCloseMock;
     @Mock
     private ClosePositionParams closePositionParamsMock;
     @Mock
     private MergePositionParams mergePositionParamsMock;
+    @Mock
+    private TaskParamsUtil taskParamsUtilMock;
+    @Mock
+    private TaskParamsBase offsetSubmitParamsMock;
+    @Captor
+    private ArgumentCaptor<SubmitParams> submitParamsCaptor;
+    @Captor
+    private ArgumentCaptor<Collection<IOrder>> toMergeOrdersCaptor;
     private TestObserver<OrderEvent> testObserver;
 
     @Before
@@ -45,7 +74,9 @@ public class MergeAndClosePositionTaskTest extends QuoteProviderForTest {
 
         mergeAndClosePositionTask = new MergeAndClosePositionTask(mergePositionTaskObservableMock,
                                                                   batchChangeTaskMock,
-                                                                  ordersForPositionCloseMock);
+                                                                  basicTaskMock,
+                                                                  ordersForPositionCloseMock,
+                                                                  taskParamsUtilMock);
     }
 
     private void setUpMocks() {
@@ -105,6 +136,165 @@ public class MergeAndClosePositionTaskTest extends QuoteProviderForTest {
         }
     }
 
+    public class ObserveOffsetAndMerge {
+
+        private final Set<IOrder> filledOrders = Sets.newHashSet(buyOrderEURUSD, buyOrderEURUSD2);
+        private final IOrder offsetOrder = sellOrderEURUSD;
+        private final Subject<OrderEvent> submitSubject = PublishSubject.create();
+
+        @Before
+        public void setUp() {
+            when(closePositionParamsMock.closeExecutionMode())
+                .thenReturn(CloseExecutionMode.CloseAllWithOffset);
+            when(closePositionParamsMock.minOrdersForOffset())
+                .thenReturn(2);
+            when(closePositionParamsMock.maybeOffsetOrderParams())
+                .thenReturn(Optional.of(buyParamsEURUSD));
+            when(ordersForPositionCloseMock.filled(instrumentEURUSD))
+                .thenReturn(filledOrders);
+            when(closePositionParamsMock.offsetSubmitParams())
+                .thenReturn(offsetSubmitParamsMock);
+            when(basicTaskMock.submitOrder(any()))
+                .thenReturn(submitSubject);
+            when(taskParamsUtilMock.compose(submitSubject, offsetSubmitParamsMock))
+                .thenReturn(submitSubject);
+            when(mergePositionTaskObservableMock.merge(anyCollection(), eq(mergePositionParamsMock)))
+                .thenReturn(eventObservable(mergeEvent));
+
+            testObserver = mergeAndClosePositionTask
+                .observeMerge(closePositionParamsMock)
+                .test();
+        }
+
+        @Test
+        public void offsettingOrderIsSubmittedForNegatedExposure() {
+            verify(basicTaskMock).submitOrder(submitParamsCaptor.capture());
+
+            final OrderParams offsetOrderParams = submitParamsCaptor
+                .getValue()
+                .orderParams();
+            assertThat(offsetOrderParams.orderCommand(), equalTo(OrderCommand.SELL));
+            assertThat(offsetOrderParams.amount(),
+                       equalTo(OrderStaticUtil.combinedSignedAmount(filledOrders)));
+            assertThat(offsetOrderParams.label(), equalTo(buyParamsEURUSD.label() + "_1"));
+        }
+
+        @Test
+        public void offsettingOrderLabelIsUniquePerClose() {
+            mergeAndClosePositionTask
+                .observeMerge(closePositionParamsMock)
+                .test();
+
+            verify(basicTaskMock, times(2)).submitOrder(submitParamsCaptor.capture());
+            assertThat(submitParamsCaptor
+                .getAllValues()
+                .get(1)
+                .orderParams()
+                .label(), equalTo(buyParamsEURUSD.label() + "_2"));
+        }
+
+        @Test
+        public void offsetSubmitIsComposedWithOffsetSubmitParams() {
+            verify(taskParamsUtilMock).compose(submitSubject, offsetSubmitParamsMock);
+        }
+
+        private void assertMergedOrders(final Collection<IOrder> mergedOrders) {
+            verify(mergePositionTaskObservableMock).merge(toMergeOrdersCaptor.capture(),
+                                                          eq(mergePositionParamsMock));
+            assertThat(toMergeOrdersCaptor.getValue(), equalTo(mergedOrders));
+        }
+
+        @Test
+        public void partiallyFilledOffsettingOrderIsMerged() {
+            submitSubject.onNext(new OrderEvent(offsetOrder,
+                                                messageMock,
+                                                OrderEventType.PARTIAL_FILL_OK,
+                                                true));
+            submitSubject.onComplete();
+
+            assertMergedOrders(Sets.newHashSet(buyOrderEURUSD, buyOrderEURUSD2, offsetOrder));
+        }
+
+        @Test
+        public void fillRejectedOffsettingOrderIsNotMerged() {
+            orderUtilForTest.setState(offsetOrder, IOrder.State.CANCELED);
+
+            submitSubject.onNext(new OrderEvent(offsetOrder,
+                                                messageMock,
+                                                OrderEventType.FILL_REJECTED,
+                                                true));
+            submitSubject.onComplete();
+
+            assertMergedOrders(filledOrders);
+        }
+
+        @Test
+        public void partiallyFilledOffsettingOrderIsMergedAfterFillReject() {
+            orderUtilForTest.setState(offsetOrder, IOrder.State.FILLED);
+
+            submitSubject.onNext(new OrderEvent(offsetOrder,
+                                                messageMock,
+                                                OrderEventType.FILL_REJECTED,
+                                                true));
+            submitSubject.onComplete();
+
+            assertMergedOrders(Sets.newHashSet(buyOrderEURUSD, buyOrderEURUSD2, offsetOrder));
+        }
+
+        @Test
+        public void filledOrdersAreMergedWhenOffsetRetriesAreExhausted() {
+            submitSubject.onError(new OrderCallRejectException("Reject event",
+                                                               createEvent(OrderEventType.FILL_REJECTED)));
+
+            assertMergedOrders(filledOrders);
+            testObserver.assertNoErrors();
+        }
+
+        @Test
+        public void noMergeBeforeOffsettingOrderIsFilled() {
+            verifyZeroInteractions(mergePositionTaskObservableMock);
+        }
+
+        @Test
+        public void filledOrdersAreMergedWithOffsettingOrder() {
+            final OrderEvent fillEvent = new OrderEvent(offsetOrder,
+                                                        messageMock,
+                                                        OrderEventType.FULLY_FILLED,
+                                                        true);
+            submitSubject.onNext(fillEvent);
+            submitSubject.onComplete();
+
+            verify(mergePositionTaskObservableMock).merge(toMergeOrdersCaptor.capture(),
+                                                          eq(mergePositionParamsMock));
+            assertThat(toMergeOrdersCaptor.getValue().size(), equalTo(3));
+            assertTrue(toMergeOrdersCaptor.getValue().contains(offsetOrder));
+            testObserver.assertValues(fillEvent, mergeEvent);
+            testObserver.assertComplete();
+        }
+
+        @Test
+        public void filledOrdersAreStillMergedWhenOffsettingOrderIsRejected() {
+            submitSubject.onNext(createEvent(OrderEventType.SUBMIT_REJECTED));
+            submitSubject.onComplete();
+
+            assertMergedOrders(filledOrders);
+        }
+
+        @Test
+        public void noOffsetForFewerOrdersThanMinimum() {
+            when(closePositionParamsMock.minOrdersForOffset())
+                .thenReturn(3);
+            reset(basicTaskMock);
+
+            mergeAndClosePositionTask
+                .observeMerge(closePositionParamsMock)
+                .test();
+
+            verify(mergePositionTaskObservableMock).merge(filledOrders, mergePositionParamsMock);
+            verifyZeroInteractions(basicTaskMock);
+        }
+    }
+
     public class ObserveClose {
 
         @Test
@@ -2,6 +2,8 @@ package com.jforex.programming.order.task.test;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -19,14 +21,17 @@ import com.google.common.collect.Sets;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.task.CancelSLTPAndMergeTask;
 import com.jforex.programming.order.task.MergePositionTask;
+import com.jforex.programming.order.task.PositionPriority;
 import com.jforex.programming.order.task.params.position.MergeAllPositionsParams;
 import com.jforex.programming.order.task.params.position.MergePositionParams;
 import com.jforex.programming.position.PositionUtil;
 import com.jforex.programming.test.common.InstrumentUtilForTest;
+import com.jforex.programming.test.common.RxTestUtil;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
 
 @RunWith(HierarchicalContextRunner.class)
 public class MergePositionTaskTest extends InstrumentUtilForTest {
@@ -162,6 +167,12 @@ public class MergePositionTaskTest extends InstrumentUtilForTest {
 
         private List<Observable<OrderEvent>> closeObservables;
 
+        @Before
+        public void setUp() {
+            when(mergeAllPositionsParamsMock.maxConcurrency()).thenReturn(Integer.MAX_VALUE);
+            when(mergeAllPositionsParamsMock.positionPriority()).thenReturn(PositionPriority.NONE);
+        }
+
         private void mergeAllSubscribe() {
             testObserver = mergeTask
                 .mergeAll(mergeAllPositionsParamsMock)
@@ -174,7 +185,8 @@ public class MergePositionTaskTest extends InstrumentUtilForTest {
                 .of(firstObservable, secondObservable)
                 .collect(Collectors.toList());
 
-            when(positionUtilMock.observablesFromFactory(factoryCaptor.capture()))
+            final PositionPriority positionPriority = mergeAllPositionsParamsMock.positionPriority();
+            when(positionUtilMock.observablesFromFactory(factoryCaptor.capture(), eq(positionPriority)))
                 .thenReturn(closeObservables);
 
             mergeAllSubscribe();
@@ -206,5 +218,64 @@ public class MergePositionTaskTest extends InstrumentUtilForTest {
 
             testObserver.assertComplete();
         }
+
+        @Test
+        public void noMoreInstrumentsThanMaxConcurrencyAreInProgress() {
+            when(mergeAllPositionsParamsMock.maxConcurrency()).thenReturn(1);
+
+            setUpPositionUtilObservables(neverObservable(), eventObservable(testEvent));
+
+            testObserver.assertNoValues();
+            testObserver.assertNotComplete();
+        }
+
+        @Test
+        public void errorOfOneInstrumentCancelsOthers() {
+            setUpPositionUtilObservables(Observable.error(jfException), eventObservable(testEvent));
+
+            testObserver.assertNoValues();
+            testObserver.assertError(jfException);
+        }
+
+        @Test
+        public void errorOfOneInstrumentIsDeliveredAfterOthersWithDelayedErrors() {
+            when(mergeAllPositionsParamsMock.isDelayInstrumentErrors()).thenReturn(true);
+
+            setUpPositionUtilObservables(Observable.error(jfException), eventObservable(testEvent));
+
+            testObserver.assertValue(testEvent);
+            testObserver.assertError(jfException);
+        }
+
+        public class WithDelayScheduler {
+
+            private final TestScheduler delayScheduler = new TestScheduler();
+
+            @Before
+            public void setUp() {
+                mergeTask = new MergePositionTask(splitterMock,
+                                                  positionUtilMock,
+                                                  delayScheduler);
+                when(mergeAllPositionsParamsMock.instrumentTimeoutMillis()).thenReturn(1000L);
+
+                setUpPositionUtilObservables(neverObservable(), eventObservable(testEvent));
+            }
+
+            @Test
+            public void noTimeoutWhenOnlyDefaultSchedulerAdvances() {
+                RxTestUtil.advanceTimeInMillisBy(1000L);
+
+                testObserver.assertValue(testEvent);
+                testObserver.assertNotTerminated();
+            }
+
+            @Test
+            public void timeoutWhenDelaySchedulerAdvances() {
+                delayScheduler.advanceTimeBy(1000L, TimeUnit.MILLISECONDS);
+
+                testObserver.assertValue(testEvent);
+                testObserver.assertError(TimeoutException.class);
+            }
+        }
     }
 }
@@ -0,0 +1,158 @@
+package com.jforex.programming.order.task.test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.IOrder;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.task.OrderChangeCoalescer;
+import com.jforex.programming.test.common.InstrumentUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class OrderChangeCoalescerTest extends InstrumentUtilForTest {
+
+    private OrderChangeCoalescer orderChangeCoalescer;
+
+    private final IOrder orderForTest = buyOrderEURUSD;
+    private final OrderEvent changedEvent = createEvent(OrderEventType.CHANGED_SL);
+    private final PublishSubject<OrderEvent> firstChange = PublishSubject.create();
+    private final PublishSubject<OrderEvent> secondChange = PublishSubject.create();
+    private final PublishSubject<OrderEvent> thirdChange = PublishSubject.create();
+
+    @Before
+    public void setUp() {
+        orderChangeCoalescer = new OrderChangeCoalescer();
+    }
+
+    private TestObserver<OrderEvent> subscribeChange(final Observable<OrderEvent> changeObservable) {
+        return orderChangeCoalescer
+            .coalesce(orderForTest, changeObservable)
+            .test();
+    }
+
+    @Test
+    public void changeIsDeferred() {
+        orderChangeCoalescer.coalesce(orderForTest, firstChange);
+
+        assertFalse(firstChange.hasObservers());
+        assertFalse(orderChangeCoalescer.isChangeInFlight(orderForTest));
+    }
+
+    @Test
+    public void changeWithoutInFlightChangeIsSentImmediately() {
+        final TestObserver<OrderEvent> testObserver = subscribeChange(firstChange);
+
+        assertTrue(firstChange.hasObservers());
+        assertTrue(orderChangeCoalescer.isChangeInFlight(orderForTest));
+
+        firstChange.onNext(changedEvent);
+        firstChange.onComplete();
+
+        testObserver.assertValue(changedEvent);
+        testObserver.assertComplete();
+        assertFalse(orderChangeCoalescer.isChangeInFlight(orderForTest));
+    }
+
+    @Test
+    public void changesOfOtherOrdersAreNotCoalesced() {
+        subscribeChange(firstChange);
+
+        orderChangeCoalescer
+            .coalesce(sellOrderEURUSD, secondChange)
+            .test();
+
+        assertTrue(secondChange.hasObservers());
+    }
+
+    public class ChangeInFlight {
+
+        private TestObserver<OrderEvent> firstObserver;
+        private TestObserver<OrderEvent> secondObserver;
+
+        @Before
+        public void setUp() {
+            firstObserver = subscribeChange(firstChange);
+            secondObserver = subscribeChange(secondChange);
+        }
+
+        @Test
+        public void newChangeIsQueued() {
+            assertFalse(secondChange.hasObservers());
+            secondObserver.assertNotTerminated();
+        }
+
+        @Test
+        public void queuedChangeIsSentWhenInFlightChangeCompletes() {
+            firstChange.onComplete();
+
+            firstObserver.assertComplete();
+            assertTrue(secondChange.hasObservers());
+            assertTrue(orderChangeCoalescer.isChangeInFlight(orderForTest));
+        }
+
+        @Test
+        public void queuedChangeIsSentWhenInFlightChangeFails() {
+            firstChange.onError(jfException);
+
+            firstObserver.assertError(jfException);
+            assertTrue(secondChange.hasObservers());
+        }
+
+        @Test
+        public void queuedChangeIsSentWhenInFlightChangeIsDisposed() {
+            firstObserver.dispose();
+
+            assertTrue(secondChange.hasObservers());
+        }
+
+        @Test
+        public void disposedQueuedChangeIsNotSent() {
+            secondObserver.dispose();
+            firstChange.onComplete();
+
+            assertFalse(secondChange.hasObservers());
+            assertFalse(orderChangeCoalescer.isChangeInFlight(orderForTest));
+        }
+
+        public class NewerChangeRequested {
+
+            private TestObserver<OrderEvent> thirdObserver;
+
+            @Before
+            public void setUp() {
+                thirdObserver = subscribeChange(thirdChange);
+            }
+
+            @Test
+            public void queuedChangeIsSupersededAndCompletesWithoutEvents() {
+                secondObserver.assertNoValues();
+                secondObserver.assertComplete();
+            }
+
+            @Test
+            public void onlyLatestChangeIsSentAfterInFlightChange() {
+                firstChange.onComplete();
+
+                assertFalse(secondChange.hasObservers());
+                assertTrue(thirdChange.hasObservers());
+
+                thirdChange.onNext(changedEvent);
+                thirdChange.onComplete();
+
+                thirdObserver.assertValue(changedEvent);
+                thirdObserver.assertComplete();
+                assertFalse(orderChangeCoalescer.isChangeInFlight(orderForTest));
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.jforex.programming.order.task.test;
 
 import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -17,6 +18,7 @@ import com.jforex.programming.test.common.RxTestUtil;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 
@@ -116,4 +118,39 @@ public class TaskRetryTest extends CommonUtilForTest {
             }
         }
     }
+
+    public class WithDelayScheduler {
+
+        private final TestScheduler delayScheduler = new TestScheduler();
+
+        @Before
+        public void setUp() {
+            testObserver = TaskRetry
+                .rejectObservable(subject,
+                                  retryParams,
+                                  rejectEvent -> {},
+                                  delayScheduler)
+                .test();
+
+            sendEvent(OrderEventType.CLOSE_REJECTED);
+        }
+
+        @Test
+        public void noRetryWhenOnlyDefaultSchedulerAdvances() {
+            advanceRetryTime();
+
+            sendEvent(OrderEventType.CLOSE_OK);
+
+            testObserver.assertNoValues();
+        }
+
+        @Test
+        public void retryWhenDelaySchedulerAdvances() {
+            delayScheduler.advanceTimeBy(delayInMillis, TimeUnit.MILLISECONDS);
+
+            eventForTest = sendEvent(OrderEventType.CLOSE_OK);
+
+            testObserver.assertValue(eventForTest);
+        }
+    }
 }
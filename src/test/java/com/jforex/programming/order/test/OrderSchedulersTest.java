@@ -0,0 +1,78 @@
+package com.jforex.programming.order.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.hamcrest.Matchers;
+import org.junit.After;
+import org.junit.Test;
+
+import com.jforex.programming.order.OrderSchedulerMode;
+import com.jforex.programming.order.OrderSchedulers;
+import com.jforex.programming.test.common.CommonUtilForTest;
+import com.jforex.programming.test.common.RxTestUtil;
+
+import io.reactivex.Observable;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+public class OrderSchedulersTest extends CommonUtilForTest {
+
+    private OrderSchedulers orderSchedulers;
+
+    @After
+    public void tearDown() {
+        orderSchedulers.shutdown();
+    }
+
+    private String threadNameOfObserveOnCallback() {
+        return orderSchedulers
+            .observeOnCallback(Observable.just(1))
+            .map(value -> Thread.currentThread().getName())
+            .blockingFirst();
+    }
+
+    @Test
+    public void immediateRunsCallbacksOnCallingThread() {
+        orderSchedulers = OrderSchedulers.forMode(OrderSchedulerMode.IMMEDIATE);
+
+        assertThat(threadNameOfObserveOnCallback(), equalTo(Thread.currentThread().getName()));
+    }
+
+    @Test
+    public void affinityRunsCallbacksOnOwnThread() {
+        orderSchedulers = OrderSchedulers.forMode(OrderSchedulerMode.AFFINITY);
+
+        assertThat(threadNameOfObserveOnCallback(), Matchers.startsWith("OrderSchedulers-callback"));
+    }
+
+    @Test
+    public void parallelRunsCallbacksOnComputationScheduler() {
+        orderSchedulers = OrderSchedulers.forMode(OrderSchedulerMode.PARALLEL);
+
+        final TestObserver<Integer> testObserver = orderSchedulers
+            .observeOnCallback(Observable.just(1))
+            .test();
+        testObserver.assertNoValues();
+
+        RxTestUtil.advanceTimeInMillisBy(0L);
+
+        testObserver.assertValue(1);
+    }
+
+    @Test
+    public void customCallbackSchedulerIsUsed() {
+        final TestScheduler testScheduler = new TestScheduler();
+        orderSchedulers = OrderSchedulers.of(testScheduler);
+
+        final TestObserver<Integer> testObserver = orderSchedulers
+            .observeOnCallback(Observable.just(1, 2))
+            .test();
+
+        testObserver.assertNoValues();
+
+        testScheduler.triggerActions();
+
+        testObserver.assertValues(1, 2);
+    }
+}
@@ -7,6 +7,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.assertThat;
 
 import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -17,8 +18,10 @@ import org.mockito.Mock;
 
 import com.dukascopy.api.IOrder;
 import com.jforex.programming.order.OrderUtilHandler;
+import com.jforex.programming.order.call.OrderCallMetrics;
 import com.jforex.programming.order.call.OrderCallReason;
 import com.jforex.programming.order.call.OrderCallRequest;
+import com.jforex.programming.order.call.OrderCallStats;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventGateway;
 import com.jforex.programming.order.event.OrderEventType;
@@ -47,6 +50,7 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
     @Captor
     private ArgumentCaptor<OrderCallRequest> callRequestCaptor;
     private final JFHotPublisher<OrderCallRequest> callRequestPublisher = new JFHotPublisher<>();
+    private final OrderCallMetrics orderCallMetrics = new OrderCallMetrics();
     private final TestObserver<OrderCallRequest> requestObserver = callRequestPublisher.observable().test();
     private final IOrder orderForTest = buyOrderEURUSD;
     private final OrderCallReason orderCallReason = OrderCallReason.SUBMIT;
@@ -59,6 +63,7 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
     private final EnumSet<OrderEventType> finishEventTypes = EnumSet.of(CLOSE_OK,
                                                                         CLOSE_REJECTED);
     private final Subject<OrderEvent> orderEventSubject = PublishSubject.create();
+    private final long callDurationNanos = TimeUnit.SECONDS.toNanos(1L);
 
     @Before
     public void setUp() {
@@ -66,7 +71,8 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
 
         orderUtilHandler = new OrderUtilHandler(orderEventGatewayMock,
                                                 orderEventTypeDataFactory,
-                                                callRequestPublisher);
+                                                callRequestPublisher,
+                                                orderCallMetrics);
     }
 
     public void setUpMocks() {
@@ -98,7 +104,9 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
 
         @Before
         public void setUp() {
-            observable = orderUtilHandler.callObservable(orderForTest, orderCallReason);
+            observable = orderUtilHandler.callObservable(orderForTest,
+                                                         orderCallReason,
+                                                         System.nanoTime() - callDurationNanos);
         }
 
         @Test
@@ -139,6 +147,40 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
                 assertNoEventsReceived();
             }
 
+            @Test
+            public void noCallIsRecordedInMetrics() {
+                assertThat(orderCallMetrics.stats(orderCallReason).count(), equalTo(0L));
+            }
+
+            public class OnRejectEvent {
+
+                @Before
+                public void setUp() {
+                    sendOrderEvent(orderForTest, OrderEventType.CLOSE_REJECTED);
+                }
+
+                @Test
+                public void observableCompleted() {
+                    testObserver.assertComplete();
+                }
+
+                @Test
+                public void rejectedCallIsRecordedInMetrics() {
+                    final OrderCallStats stats = orderCallMetrics.stats(orderCallReason,
+                                                                        orderForTest.getInstrument());
+
+                    assertThat(stats.count(), equalTo(1L));
+                    assertThat(stats.rejects(), equalTo(1L));
+                }
+
+                @Test
+                public void recordedLatencyStartsAtCallTime() {
+                    final OrderCallStats stats = orderCallMetrics.stats(orderCallReason);
+
+                    assertThat(stats.maxLatency() >= callDurationNanos, equalTo(true));
+                }
+            }
+
             @Test
             public void externalOrderInEventIsIgnored() {
                 sendOrderEvent(buyOrderAUDUSD, OrderEventType.SUBMIT_OK);
@@ -190,6 +232,14 @@ public class OrderUtilHandlerTest extends InstrumentUtilForTest {
                     public void observableCompleted() {
                         testObserver.assertComplete();
                     }
+
+                    @Test
+                    public void callIsRecordedOnceInMetrics() {
+                        final OrderCallStats stats = orderCallMetrics.stats(orderCallReason);
+
+                        assertThat(stats.count(), equalTo(1L));
+                        assertThat(stats.rejects(), equalTo(0L));
+                    }
                 }
             }
         }
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertThat;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -14,7 +16,9 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 
 import com.jforex.programming.order.OrderUtil;
+import com.jforex.programming.order.PreparedTask;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
 import com.jforex.programming.order.task.BasicTask;
 import com.jforex.programming.order.task.ClosePositionTask;
 import com.jforex.programming.order.task.MergePositionTask;
@@ -261,7 +265,7 @@ public class OrderUtilTest extends InstrumentUtilForTest {
 
         orderUtil.execute(setSLParamsMock);
 
-        verify(taskParamsUtilMock).composeAndSubscribe(basicTaskMock.setStopLossPrice(setSLParamsMock),
+        verify(taskParamsUtilMock).composeAndSubscribe(basicTaskMock.setStopLossPriceCoalesced(setSLParamsMock),
                                                        setSLParamsMock);
     }
 
@@ -272,7 +276,7 @@ public class OrderUtilTest extends InstrumentUtilForTest {
 
         orderUtil.execute(setTPParamsMock);
 
-        verify(taskParamsUtilMock).composeAndSubscribe(basicTaskMock.setTakeProfitPrice(setTPParamsMock),
+        verify(taskParamsUtilMock).composeAndSubscribe(basicTaskMock.setTakeProfitPriceCoalesced(setTPParamsMock),
                                                        setTPParamsMock);
     }
 
@@ -328,6 +332,91 @@ public class OrderUtilTest extends InstrumentUtilForTest {
                                                        closeAllPositionsParamsMock);
     }
 
+    public class PreparedTasks {
+
+        private final Consumer<OrderEvent> changedSLConsumer = orderEvent -> {};
+        private final SetSLParams template = SetSLParams
+            .setSLAtPrice(buyOrderEURUSD, 1.1234)
+            .doOnChangedSL(changedSLConsumer)
+            .build();
+        private final Subject<OrderEvent> setSLSubject = PublishSubject.create();
+        private PreparedTask<Double> preparedTask;
+
+        @Before
+        public void setUp() {
+            when(taskParamsUtilMock.composer(template.composeData()))
+                .thenReturn(observable -> observable);
+            when(basicTaskMock.setStopLossPriceCoalesced(any()))
+                .thenReturn(setSLSubject);
+
+            preparedTask = orderUtil.prepare(template,
+                                             newSL -> SetSLParams
+                                                 .setSLAtPrice(buyOrderEURUSD, newSL)
+                                                 .build());
+        }
+
+        @Test
+        public void typeIsTakenFromTemplate() {
+            assertThat(preparedTask.type(), equalTo(TaskParamsType.SETSL));
+        }
+
+        @Test
+        public void composerIsCreatedOnceForAllInvocations() {
+            preparedTask.execute(1.1240);
+            preparedTask.execute(1.1250);
+
+            verify(taskParamsUtilMock).composer(template.composeData());
+            verify(basicTaskMock, times(2)).setStopLossPriceCoalesced(any());
+        }
+
+        @Test
+        public void paramsAreCreatedForValue() {
+            final ArgumentCaptor<SetSLParams> paramsCaptor = ArgumentCaptor.forClass(SetSLParams.class);
+
+            preparedTask
+                .observable(1.1240)
+                .test();
+
+            verify(basicTaskMock).setStopLossPriceCoalesced(paramsCaptor.capture());
+            assertThat(paramsCaptor.getValue().priceOrPips(), equalTo(1.1240));
+        }
+
+        @Test
+        public void observableEmitsTaskEvents() {
+            final OrderEvent changedSLEvent = createEvent(OrderEventType.CHANGED_SL);
+            final TestObserver<OrderEvent> testObserver = preparedTask
+                .observable(1.1240)
+                .test();
+
+            setSLSubject.onNext(changedSLEvent);
+            setSLSubject.onComplete();
+
+            testObserver.assertValue(changedSLEvent);
+            testObserver.assertComplete();
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void paramsOfOtherTypeAreRejected() {
+            final PreparedTask<Double> wrongTask = orderUtil.prepare(template,
+                                                                     newTP -> SetTPParams
+                                                                         .setTPAtPrice(buyOrderEURUSD, newTP)
+                                                                         .build());
+
+            wrongTask.execute(1.1240);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void paramsWithCallbacksAreRejected() {
+            final PreparedTask<Double> taskWithCallbacks = orderUtil.prepare(template,
+                                                                             newSL -> SetSLParams
+                                                                                 .setSLAtPrice(buyOrderEURUSD, newSL)
+                                                                                 .doOnChangedSL(changedSLConsumer)
+                                                                                 .build());
+
+            taskWithCallbacks.execute(1.1240);
+        }
+    }
+
     @Test
     public void positionOrdersDelegatesToPositionTask() {
         final PositionOrders actualPositionOrders = orderUtil.positionOrders(instrumentEURUSD);
@@ -335,4 +424,11 @@ public class OrderUtilTest extends InstrumentUtilForTest {
         verify(positionUtilMock).positionOrders(instrumentEURUSD);
         assertThat(actualPositionOrders, equalTo(positionOrdersMock));
     }
+
+    @Test
+    public void orderByLabelDelegatesToPositionUtil() {
+        when(positionUtilMock.maybeOrderByLabel("buyLabel")).thenReturn(Optional.of(buyOrderEURUSD));
+
+        assertThat(orderUtil.maybeOrderByLabel("buyLabel"), equalTo(Optional.of(buyOrderEURUSD)));
+    }
 }
@@ -0,0 +1,170 @@
+package com.jforex.programming.position.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.IOrder;
+import com.google.common.collect.Lists;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.position.OrderLabelIndex;
+import com.jforex.programming.test.common.InstrumentUtilForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class OrderLabelIndexTest extends InstrumentUtilForTest {
+
+    private OrderLabelIndex orderLabelIndex;
+
+    private final Subject<OrderEvent> orderEventSubject = PublishSubject.create();
+    private final String buyLabel = buyOrderEURUSD.getLabel();
+
+    @Before
+    public void setUp() {
+        orderLabelIndex = new OrderLabelIndex(orderEventSubject);
+    }
+
+    private void sendOrderEvent(final IOrder order,
+                                final OrderEventType orderEventType,
+                                final boolean isInternal) {
+        orderEventSubject.onNext(new OrderEvent(order,
+                                                messageMock,
+                                                orderEventType,
+                                                isInternal));
+    }
+
+    private void sendOrderEvent(final IOrder order,
+                                final OrderEventType orderEventType) {
+        sendOrderEvent(order,
+                       orderEventType,
+                       true);
+    }
+
+    private void assertOrderForLabel(final String label,
+                                     final IOrder order) {
+        assertThat(orderLabelIndex.maybeOrder(label), equalTo(Optional.of(order)));
+    }
+
+    private void assertNoOrderForLabel(final String label) {
+        assertFalse(orderLabelIndex
+            .maybeOrder(label)
+            .isPresent());
+    }
+
+    @Test
+    public void indexIsEmptyAfterCreation() {
+        assertThat(orderLabelIndex.size(), equalTo(0));
+        assertNoOrderForLabel(buyLabel);
+    }
+
+    @Test
+    public void externalOrdersAreNotIndexed() {
+        sendOrderEvent(buyOrderEURUSD,
+                       OrderEventType.SUBMIT_OK,
+                       false);
+
+        assertNoOrderForLabel(buyLabel);
+    }
+
+    @Test
+    public void mergedOrderIsIndexed() {
+        sendOrderEvent(buyOrderAUDUSD, OrderEventType.MERGE_OK);
+
+        assertOrderForLabel(buyOrderAUDUSD.getLabel(), buyOrderAUDUSD);
+    }
+
+    @Test
+    public void importedOrdersAreIndexed() {
+        orderLabelIndex.importOrders(Lists.newArrayList(buyOrderEURUSD, sellOrderAUDUSD));
+
+        assertThat(orderLabelIndex.size(), equalTo(2));
+        assertOrderForLabel(buyLabel, buyOrderEURUSD);
+        assertOrderForLabel(sellOrderAUDUSD.getLabel(), sellOrderAUDUSD);
+    }
+
+    @Test
+    public void changedLabelOfNotIndexedOrderIsIgnored() {
+        sendOrderEvent(buyOrderEURUSD, OrderEventType.CHANGED_LABEL);
+
+        assertNoOrderForLabel(buyLabel);
+    }
+
+    public class AfterSubmit {
+
+        @Before
+        public void setUp() {
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.SUBMIT_OK);
+            sendOrderEvent(sellOrderEURUSD, OrderEventType.SUBMIT_OK);
+        }
+
+        @Test
+        public void ordersAreIndexedByLabel() {
+            assertThat(orderLabelIndex.size(), equalTo(2));
+            assertTrue(orderLabelIndex.contains(buyOrderEURUSD));
+            assertOrderForLabel(buyLabel, buyOrderEURUSD);
+            assertOrderForLabel(sellOrderEURUSD.getLabel(), sellOrderEURUSD);
+        }
+
+        @Test
+        public void changedLabelMovesOrderToNewLabel() {
+            orderUtilForTest.setLabel(buyOrderEURUSD, "newLabel");
+
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CHANGED_LABEL);
+
+            assertOrderForLabel("newLabel", buyOrderEURUSD);
+            assertNoOrderForLabel(buyLabel);
+            assertThat(orderLabelIndex.size(), equalTo(2));
+        }
+
+        @Test
+        public void closedOrderIsRemoved() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            assertNoOrderForLabel(buyLabel);
+            assertFalse(orderLabelIndex.contains(buyOrderEURUSD));
+            assertOrderForLabel(sellOrderEURUSD.getLabel(), sellOrderEURUSD);
+        }
+
+        @Test
+        public void canceledOrderIsRemoved() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CANCELED);
+
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            assertNoOrderForLabel(buyLabel);
+        }
+
+        @Test
+        public void mergeSourceOrderIsRemoved() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.MERGE_CLOSE_OK);
+
+            assertNoOrderForLabel(buyLabel);
+        }
+
+        @Test
+        public void closeOfPreviousOrderKeepsNewOrderWithSameLabel() {
+            orderUtilForTest.setLabel(buyOrderEURUSD2, buyLabel);
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+            sendOrderEvent(buyOrderEURUSD2, OrderEventType.SUBMIT_OK);
+
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            assertOrderForLabel(buyLabel, buyOrderEURUSD2);
+        }
+    }
+}
@@ -5,11 +5,14 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
 import com.google.common.collect.Lists;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventType;
@@ -37,6 +40,52 @@ public class PositionFactoryTest extends InstrumentUtilForTest {
         assertTrue(positionFactory.all().isEmpty());
     }
 
+    @Test
+    public void labelIndexObservesOrderEvents() {
+        assertTrue(positionFactory
+            .orderLabelIndex()
+            .contains(buyOrderEURUSD));
+    }
+
+    public class ImportingOrders {
+
+        private Map<Instrument, List<IOrder>> ordersByInstrument;
+
+        @Before
+        public void setUp() {
+            ordersByInstrument = positionFactory.importOrders(Lists.newArrayList(buyOrderEURUSD,
+                                                                                 sellOrderEURUSD,
+                                                                                 sellOrderAUDUSD));
+        }
+
+        @Test
+        public void ordersAreGroupedByInstrument() {
+            assertThat(ordersByInstrument.size(), equalTo(2));
+            assertThat(ordersByInstrument.get(instrumentEURUSD),
+                       equalTo(Lists.newArrayList(buyOrderEURUSD, sellOrderEURUSD)));
+            assertThat(ordersByInstrument.get(instrumentAUDUSD),
+                       equalTo(Lists.newArrayList(sellOrderAUDUSD)));
+        }
+
+        @Test
+        public void positionsContainImportedOrders() {
+            assertThat(positionFactory.all().size(), equalTo(2));
+            assertTrue(positionFactory
+                .forInstrument(instrumentEURUSD)
+                .contains(sellOrderEURUSD));
+            assertTrue(positionFactory
+                .forInstrument(instrumentAUDUSD)
+                .contains(sellOrderAUDUSD));
+        }
+
+        @Test
+        public void labelIndexContainsImportedOrders() {
+            assertTrue(positionFactory
+                .orderLabelIndex()
+                .contains(sellOrderAUDUSD));
+        }
+    }
+
     public class EURUSDRetreival {
 
         private Position positionEURUSD;
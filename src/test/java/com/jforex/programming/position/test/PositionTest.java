@@ -14,6 +14,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import com.dukascopy.api.IOrder;
+import com.google.common.collect.Lists;
 import com.jforex.programming.order.OrderStaticUtil;
 import com.jforex.programming.order.event.OrderEvent;
 import com.jforex.programming.order.event.OrderEventType;
@@ -82,6 +83,31 @@ public class PositionTest extends InstrumentUtilForTest {
         assertFalse(position.contains(buyOrderAUDUSD));
     }
 
+    public class ImportingOrders {
+
+        @Before
+        public void setUp() {
+            position.importOrders(Lists.newArrayList(buyOrderEURUSD, sellOrderEURUSD));
+        }
+
+        @Test
+        public void importedOrdersAreAdded() {
+            assertThat(position.size(), equalTo(2));
+            assertTrue(position.contains(buyOrderEURUSD));
+            assertTrue(position.contains(sellOrderEURUSD));
+        }
+
+        @Test
+        public void importedOrderIsRemovedWhenClosed() {
+            orderUtilForTest.setState(buyOrderEURUSD, IOrder.State.CLOSED);
+
+            sendOrderEvent(buyOrderEURUSD, OrderEventType.CLOSE_OK);
+
+            assertFalse(position.contains(buyOrderEURUSD));
+            assertTrue(position.contains(sellOrderEURUSD));
+        }
+    }
+
     public class AddingBuyOrder {
 
         @Before
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -15,20 +16,24 @@ import org.mockito.Mock;
 
 import com.dukascopy.api.IOrder;
 import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
 import com.google.common.collect.Sets;
+import com.jforex.programming.math.CalculationUtil;
 import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.task.PositionPriority;
+import com.jforex.programming.position.OrderLabelIndex;
 import com.jforex.programming.position.Position;
 import com.jforex.programming.position.PositionDirection;
 import com.jforex.programming.position.PositionFactory;
 import com.jforex.programming.position.PositionUtil;
-import com.jforex.programming.test.common.InstrumentUtilForTest;
+import com.jforex.programming.test.common.CurrencyUtilForTest;
 
 import de.bechte.junit.runners.context.HierarchicalContextRunner;
 import io.reactivex.Observable;
 import io.reactivex.functions.Action;
 
 @RunWith(HierarchicalContextRunner.class)
-public class PositionUtilTest extends InstrumentUtilForTest {
+public class PositionUtilTest extends CurrencyUtilForTest {
 
     private PositionUtil positionUtil;
 
@@ -40,13 +45,19 @@ public class PositionUtilTest extends InstrumentUtilForTest {
     private Position positionAUDUSDMock;
     @Mock
     private Action actionMock;
+    @Mock
+    private OrderLabelIndex orderLabelIndexMock;
+    @Mock
+    private CalculationUtil calculationUtilMock;
     private final Set<IOrder> testOrders = Sets.newHashSet(buyOrderEURUSD, sellOrderEURUSD);
 
     @Before
     public void setUp() {
         setUpMocks();
 
-        positionUtil = new PositionUtil(positionFactoryMock);
+        positionUtil = new PositionUtil(positionFactoryMock,
+                                        calculationUtilMock,
+                                        accountMock);
     }
 
     private void setUpMocks() {
@@ -90,6 +101,14 @@ public class PositionUtilTest extends InstrumentUtilForTest {
         assertThat(positionUtil.openedOrders(instrumentEURUSD), equalTo(testOrders));
     }
 
+    @Test
+    public void orderByLabelIsFromLabelIndex() {
+        when(positionFactoryMock.orderLabelIndex()).thenReturn(orderLabelIndexMock);
+        when(orderLabelIndexMock.maybeOrder("buyLabel")).thenReturn(Optional.of(buyOrderEURUSD));
+
+        assertThat(positionUtil.maybeOrderByLabel("buyLabel"), equalTo(Optional.of(buyOrderEURUSD)));
+    }
+
     @Test
     public void directionForSignedAmountIsLONGForPositiveAmount() {
         assertThat(PositionUtil.directionForSignedAmount(0.12), equalTo(PositionDirection.LONG));
@@ -134,5 +153,35 @@ public class PositionUtilTest extends InstrumentUtilForTest {
             assertTrue(observables.contains(observableForEURUSD));
             assertTrue(observables.contains(observableForAUDUSD));
         }
+
+        private List<Observable<OrderEvent>> observablesForExposuresInAccountCurrency(final double exposureEURUSD,
+                                                                                      final double exposureAUDUSD) {
+            when(positionFactoryMock.all()).thenReturn(Sets.newHashSet(positionEURUSDMock, positionAUDUSDMock));
+            when(positionEURUSDMock.signedExposure()).thenReturn(0.2);
+            when(positionAUDUSDMock.signedExposure()).thenReturn(-0.5);
+            when(accountMock.getAccountCurrency()).thenReturn(currencyUSD);
+            when(calculationUtilMock.convertAmount(0.2, currencyEUR, currencyUSD, OfferSide.BID))
+                .thenReturn(exposureEURUSD);
+            when(calculationUtilMock.convertAmount(-0.5, currencyAUD, currencyUSD, OfferSide.BID))
+                .thenReturn(exposureAUDUSD);
+
+            return positionUtil.observablesFromFactory(paramsFactory, PositionPriority.LARGEST_EXPOSURE_FIRST);
+        }
+
+        @Test
+        public void largestExposureComesFirst() {
+            final List<Observable<OrderEvent>> observables = observablesForExposuresInAccountCurrency(0.22, -0.35);
+
+            assertThat(observables.get(0), equalTo(observableForAUDUSD));
+            assertThat(observables.get(1), equalTo(observableForEURUSD));
+        }
+
+        @Test
+        public void exposuresAreComparedInAccountCurrency() {
+            final List<Observable<OrderEvent>> observables = observablesForExposuresInAccountCurrency(0.6, -0.35);
+
+            assertThat(observables.get(0), equalTo(observableForEURUSD));
+            assertThat(observables.get(1), equalTo(observableForAUDUSD));
+        }
     }
 }
@@ -0,0 +1,161 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.OfferSide;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.jforex.programming.instrument.CrossInstrument;
+import com.jforex.programming.quote.CrossQuote;
+import com.jforex.programming.quote.CrossQuoteProvider;
+import com.jforex.programming.quote.QuoteException;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.quote.TickQuoteProvider;
+import com.jforex.programming.quote.TickQuoteRepository;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+@RunWith(HierarchicalContextRunner.class)
+public class CrossQuoteProviderTest extends QuoteProviderForTest {
+
+    private CrossQuoteProvider crossQuoteProvider;
+
+    @Mock
+    private TickQuoteRepository tickQuoteRepositoryMock;
+    private final Subject<TickQuote> tickQuoteSubject = PublishSubject.create();
+    private final CrossInstrument crossEURGBP = new CrossInstrument(instrumentEURUSD, instrumentGBPUSD);
+    private final CrossInstrument crossEURJPY = new CrossInstrument(instrumentEURUSD, instrumentUSDJPY);
+    private final ITick tickGBPUSD = tickWithTime(1.31040, 1.31048, 2L);
+    private final ITick tickUSDJPY = tickWithTime(124.341, 124.345, 3L);
+    private TestObserver<CrossQuote> crossQuoteObserver;
+    private TestObserver<CrossQuote> crossQuoteEURJPYObserver;
+
+    @Before
+    public void setUp() {
+        when(tickEURUSD.getTime()).thenReturn(1L);
+        when(tickQuoteRepositoryMock.getAll())
+            .thenReturn(ImmutableMap.of(instrumentEURUSD, tickQuoteEURUSD));
+
+        crossQuoteProvider = new CrossQuoteProvider(new TickQuoteProvider(tickQuoteSubject,
+                                                                          tickQuoteRepositoryMock),
+                                                    ImmutableSet.of(crossEURGBP, crossEURJPY));
+        crossQuoteObserver = crossQuoteProvider
+            .observable()
+            .test();
+        crossQuoteEURJPYObserver = crossQuoteProvider
+            .observableForInstruments(Sets.newHashSet(instrumentEURJPY))
+            .test();
+    }
+
+    private ITick tickWithTime(final double bid,
+                               final double ask,
+                               final long time) {
+        final ITick tick = mockForITick(bid, ask);
+        when(tick.getTime()).thenReturn(time);
+
+        return tick;
+    }
+
+    private CrossQuote expectedQuote(final CrossInstrument crossInstrument,
+                                     final ITick firstTick,
+                                     final ITick secondTick) {
+        return new CrossQuote(crossInstrument.get(),
+                              Math.max(firstTick.getTime(), secondTick.getTime()),
+                              crossInstrument.rate(firstTick, secondTick, OfferSide.BID),
+                              crossInstrument.rate(firstTick, secondTick, OfferSide.ASK));
+    }
+
+    @Test
+    public void noQuoteIsPublishedInitially() {
+        crossQuoteObserver.assertNoValues();
+    }
+
+    @Test(expected = QuoteException.class)
+    public void quoteWithoutLegTicksThrows() {
+        crossQuoteProvider.quote(instrumentEURGBP);
+    }
+
+    @Test
+    public void tickOfOtherInstrumentPublishesNothing() {
+        tickQuoteSubject.onNext(tickQuoteAUDUSD);
+
+        crossQuoteObserver.assertNoValues();
+    }
+
+    public class AfterTickOfSecondLeg {
+
+        @Before
+        public void setUp() {
+            tickQuoteSubject.onNext(new TickQuote(instrumentGBPUSD, tickGBPUSD));
+        }
+
+        @Test
+        public void onlyDependentCrossIsPublished() {
+            crossQuoteObserver.assertValue(expectedQuote(crossEURGBP, tickEURUSD, tickGBPUSD));
+            crossQuoteEURJPYObserver.assertNoValues();
+        }
+
+        @Test
+        public void quoteIsInRepository() {
+            assertThat(crossQuoteProvider.bid(instrumentEURGBP),
+                       equalTo(crossEURGBP.rate(bidEURUSD, 1.31048)));
+            assertThat(crossQuoteProvider.ask(instrumentEURGBP),
+                       equalTo(crossEURGBP.rate(askEURUSD, 1.31040)));
+            assertThat(crossQuoteProvider.forOfferSide(instrumentEURGBP, OfferSide.BID),
+                       equalTo(crossQuoteProvider.bid(instrumentEURGBP)));
+            assertThat(crossQuoteProvider.quote(instrumentEURGBP).time(), equalTo(2L));
+        }
+
+        public class AfterTickOfSharedLeg {
+
+            private final ITick newTickEURUSD = tickWithTime(1.15860, 1.15866, 4L);
+
+            @Before
+            public void setUp() {
+                tickQuoteSubject.onNext(new TickQuote(instrumentUSDJPY, tickUSDJPY));
+                tickQuoteSubject.onNext(new TickQuote(instrumentEURUSD, newTickEURUSD));
+            }
+
+            @Test
+            public void allDependentCrossesArePublished() {
+                crossQuoteObserver.assertValues(expectedQuote(crossEURGBP, tickEURUSD, tickGBPUSD),
+                                                expectedQuote(crossEURJPY, tickEURUSD, tickUSDJPY),
+                                                expectedQuote(crossEURGBP, newTickEURUSD, tickGBPUSD),
+                                                expectedQuote(crossEURJPY, newTickEURUSD, tickUSDJPY));
+            }
+
+            @Test
+            public void repositoryHoldsLatestQuotes() {
+                assertThat(crossQuoteProvider.quote(instrumentEURJPY),
+                           equalTo(expectedQuote(crossEURJPY, newTickEURUSD, tickUSDJPY)));
+                assertThat(crossQuoteProvider.repository().getAll().size(), equalTo(2));
+            }
+        }
+    }
+
+    public class AfterStop {
+
+        @Before
+        public void setUp() {
+            crossQuoteProvider.onStop();
+            tickQuoteSubject.onNext(new TickQuote(instrumentGBPUSD, tickGBPUSD));
+        }
+
+        @Test
+        public void noQuoteIsPublished() {
+            crossQuoteObserver.assertNoValues();
+        }
+    }
+}
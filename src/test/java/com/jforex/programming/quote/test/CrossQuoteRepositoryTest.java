@@ -0,0 +1,40 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.jforex.programming.quote.CrossQuote;
+import com.jforex.programming.quote.CrossQuoteRepository;
+import com.jforex.programming.quote.QuoteException;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+import io.reactivex.subjects.PublishSubject;
+import io.reactivex.subjects.Subject;
+
+public class CrossQuoteRepositoryTest extends QuoteProviderForTest {
+
+    private final Subject<CrossQuote> crossQuoteSubject = PublishSubject.create();
+    private final CrossQuoteRepository crossQuoteRepository = new CrossQuoteRepository(crossQuoteSubject);
+    private final CrossQuote firstQuote = new CrossQuote(instrumentEURGBP, 1L, 0.88410, 0.88420);
+    private final CrossQuote secondQuote = new CrossQuote(instrumentEURGBP, 2L, 0.88411, 0.88421);
+
+    @Test(expected = QuoteException.class)
+    public void getWithoutQuoteThrows() {
+        crossQuoteRepository.get(instrumentEURGBP);
+    }
+
+    @Test
+    public void latestQuoteIsStored() {
+        crossQuoteSubject.onNext(firstQuote);
+        crossQuoteSubject.onNext(secondQuote);
+
+        assertTrue(crossQuoteRepository.contains(instrumentEURGBP));
+        assertFalse(crossQuoteRepository.contains(instrumentEURUSD));
+        assertThat(crossQuoteRepository.get(instrumentEURGBP), equalTo(secondQuote));
+        assertThat(crossQuoteRepository.getAll().size(), equalTo(1));
+    }
+}
@@ -0,0 +1,34 @@
+package com.jforex.programming.quote.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.quote.CrossQuote;
+import com.jforex.programming.test.common.QuoteProviderForTest;
+
+public class CrossQuoteTest extends QuoteProviderForTest {
+
+    private final CrossQuote crossQuote = new CrossQuote(instrumentEURGBP, 42L, 0.88410, 0.88420);
+
+    @Test
+    public void allAccessorsAreCorrect() {
+        assertThat(crossQuote.instrument(), equalTo(instrumentEURGBP));
+        assertThat(crossQuote.time(), equalTo(42L));
+        assertThat(crossQuote.bid(), equalTo(0.88410));
+        assertThat(crossQuote.ask(), equalTo(0.88420));
+    }
+
+    @Test
+    public void forOfferSideIsCorrect() {
+        assertThat(crossQuote.forOfferSide(OfferSide.BID), equalTo(0.88410));
+        assertThat(crossQuote.forOfferSide(OfferSide.ASK), equalTo(0.88420));
+    }
+
+    @Test
+    public void isEqualsContractOK() {
+        testEqualsContract(crossQuote);
+    }
+}
@@ -12,6 +12,7 @@ import com.jforex.programming.test.common.RxTestUtil;
 
 import io.reactivex.functions.Action;
 import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
 import io.reactivex.subjects.PublishSubject;
 import io.reactivex.subjects.Subject;
 
@@ -112,6 +113,34 @@ public class RxUtilTest extends CommonUtilForTest {
         subscriber.assertComplete();
     }
 
+    @Test
+    public void waitObservableUsesGivenScheduler() {
+        final TestScheduler delayScheduler = new TestScheduler();
+        final TestObserver<Long> subscriber = RxUtil
+            .wait(delayInMillis, timeUnit, delayScheduler)
+            .test();
+
+        advanceTime(delayInMillis);
+        subscriber.assertNotComplete();
+        delayScheduler.advanceTimeBy(delayInMillis, timeUnit);
+        subscriber.assertComplete();
+    }
+
+    @Test
+    public void retryWithDelayWaitsOnGivenScheduler() {
+        final TestScheduler delayScheduler = new TestScheduler();
+        final TestObserver<Throwable> subscriber = throwableSubject
+            .retryWhen(RxUtil.retryWithDelay(retryParams, delayScheduler))
+            .test();
+
+        throwableSubject.onError(jfException);
+        advanceTime(TimeUnit.MINUTES.toMillis(1L));
+        subscriber.assertNotTerminated();
+
+        delayScheduler.advanceTimeBy(1L, TimeUnit.MINUTES);
+        subscriber.assertError(jfException);
+    }
+
     @Test
     public void actionToCallabeIsCorrect() throws Exception {
         final Callable<Boolean> callable = RxUtil.actionToCallable(actionMock);
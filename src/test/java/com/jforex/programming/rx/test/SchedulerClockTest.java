@@ -0,0 +1,46 @@
+package com.jforex.programming.rx.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.jforex.programming.misc.DateTimeUtil;
+import com.jforex.programming.rx.SchedulerClock;
+import com.jforex.programming.test.common.CommonUtilForTest;
+
+import io.reactivex.schedulers.TestScheduler;
+
+public class SchedulerClockTest extends CommonUtilForTest {
+
+    private final TestScheduler scheduler = new TestScheduler();
+    private final SchedulerClock schedulerClock = SchedulerClock.of(scheduler);
+
+    @Test
+    public void millisFollowSchedulerTime() {
+        scheduler.advanceTimeTo(1500L, TimeUnit.MILLISECONDS);
+
+        assertThat(schedulerClock.millis(), equalTo(1500L));
+        assertThat(schedulerClock.instant(), equalTo(Instant.ofEpochMilli(1500L)));
+    }
+
+    @Test
+    public void zoneIsDukascopyZone() {
+        assertThat(schedulerClock.getZone(), equalTo(DateTimeUtil.dukascopyZoneId));
+    }
+
+    @Test
+    public void clockWithZoneKeepsScheduler() {
+        final Clock zonedClock = schedulerClock.withZone(ZoneOffset.ofHours(2));
+
+        scheduler.advanceTimeTo(2000L, TimeUnit.MILLISECONDS);
+
+        assertThat(zonedClock.getZone(), equalTo(ZoneOffset.ofHours(2)));
+        assertThat(zonedClock.millis(), equalTo(2000L));
+    }
+}
@@ -1,5 +1,15 @@
 package com.jforex.programming.strategy.test;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
@@ -9,6 +19,8 @@ import com.dukascopy.api.feed.IBarFeedListener;
 import com.jforex.programming.strategy.ContextUtil;
 import com.jforex.programming.test.common.QuoteProviderForTest;
 
+import io.reactivex.schedulers.TestScheduler;
+
 public class ContextUtilTest extends QuoteProviderForTest {
 
     private ContextUtil contextUtil;
@@ -30,4 +42,32 @@ public class ContextUtilTest extends QuoteProviderForTest {
                                                 eq(OfferSide.ASK),
                                                 eq(barFeedListenerMock));
     }
+
+    @Test
+    public void marketNowClosedUsesTimeOfClock() {
+        final long clockMillis = 1483228800000L;
+        contextUtil = new ContextUtil(contextMock, Clock.fixed(Instant.ofEpochMilli(clockMillis), ZoneOffset.UTC));
+        when(dataServiceMock.isOfflineTime(clockMillis)).thenReturn(true);
+
+        assertTrue(contextUtil.isMarketNowClosed());
+        verify(dataServiceMock).isOfflineTime(clockMillis);
+    }
+
+    @Test
+    public void marketNowOpenForClockTimeNotOffline() {
+        contextUtil = new ContextUtil(contextMock, Clock.fixed(Instant.ofEpochMilli(0L), ZoneOffset.UTC));
+
+        assertFalse(contextUtil.isMarketNowClosed());
+    }
+
+    @Test
+    public void timeSchedulerIsClockAndDelayScheduler() {
+        final TestScheduler timeScheduler = new TestScheduler();
+        timeScheduler.advanceTimeTo(1483228800000L, TimeUnit.MILLISECONDS);
+        contextUtil = new ContextUtil(contextMock, timeScheduler);
+        when(dataServiceMock.isOfflineTime(1483228800000L)).thenReturn(true);
+
+        assertTrue(contextUtil.isMarketNowClosed());
+        assertThat(contextUtil.delayScheduler(), equalTo(timeScheduler));
+    }
 }
@@ -1,11 +1,15 @@
 package com.jforex.programming.strategy.test;
 
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Optional;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -126,6 +130,14 @@ public class StrategyUtilTest extends QuoteProviderForTest {
         assertFalse(strategyUtil.isMarketClosed(testTime));
     }
 
+    @Test
+    public void instrumentUtilIsCachedPerInstrument() {
+        final InstrumentUtil instrumentUtilEURUSD = strategyUtil.instrumentUtil(instrumentEURUSD);
+
+        assertThat(strategyUtil.instrumentUtil(instrumentEURUSD), sameInstance(instrumentUtilEURUSD));
+        assertThat(strategyUtil.instrumentUtil(instrumentAUDUSD), not(sameInstance(instrumentUtilEURUSD)));
+    }
+
     @Test
     public void coverIsMarketNowClosed() {
         strategyUtil.isMarketClosed();
@@ -155,6 +167,9 @@ public class StrategyUtilTest extends QuoteProviderForTest {
 
         assertThat(ordersForAUDUSD.size(), equalTo(1));
         assertTrue(ordersForAUDUSD.contains(sellOrderAUDUSD));
+        assertThat(strategyUtil
+            .orderUtil()
+            .maybeOrderByLabel(sellOrderAUDUSD.getLabel()), equalTo(Optional.of(sellOrderAUDUSD)));
     }
 
     public class AfterBarPushed {
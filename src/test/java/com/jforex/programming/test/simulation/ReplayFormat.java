@@ -0,0 +1,43 @@
+package com.jforex.programming.test.simulation;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.dukascopy.api.Period;
+import com.dukascopy.api.Unit;
+
+/**
+ * The binary replay format. After the header each record starts with its
+ * type. Instruments and periods are defined once by a definition record and
+ * then referenced by their index, so a tick record takes 43 bytes and a bar
+ * record for both offer sides 93 bytes.
+ */
+final class ReplayFormat {
+
+    private ReplayFormat() {
+    }
+
+    static final int magic = 0x4A465250;
+    static final short version = 1;
+    static final int headerSize = 6;
+
+    static final byte instrumentDefinition = 1;
+    static final byte periodDefinition = 2;
+    static final byte tickRecord = 3;
+    static final byte barRecord = 4;
+
+    private static final List<Period> basicPeriods = Arrays.asList(Period.TICK,
+                                                                   Period.ONE_MIN,
+                                                                   Period.FIVE_MINS,
+                                                                   Period.ONE_HOUR,
+                                                                   Period.DAILY);
+
+    static Period period(final Unit unit,
+                         final int numOfUnits) {
+        return basicPeriods
+            .stream()
+            .filter(period -> period.getUnit() == unit && period.getNumOfUnits() == numOfUnits)
+            .findFirst()
+            .orElseGet(() -> Period.createCustomPeriod(unit, numOfUnits));
+    }
+}
@@ -0,0 +1,198 @@
+package com.jforex.programming.test.simulation;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.time.Clock;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongPredicate;
+
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.IContext;
+import com.dukascopy.api.IDataService;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.Period;
+import com.jforex.programming.rx.SchedulerClock;
+import com.jforex.programming.strategy.StrategyUtil;
+import com.jforex.programming.test.simulation.SimulatedProxy.MethodCall;
+
+import io.reactivex.schedulers.TestScheduler;
+
+/**
+ * Drives a {@link StrategyUtil} with recorded quotes of a
+ * {@link ReplayReader}. The quotes are passed on the calling thread and a
+ * {@link TestScheduler} follows the time of the quotes. It is the only time
+ * source of the strategy: market closed checks see the recorded time instead
+ * of the wall clock, and retry delays of order tasks and history requests
+ * pass without real waiting.
+ *
+ * With a speed of zero the quotes are replayed as fast as possible, else the
+ * gaps between quote times are waited for, divided by the speed.
+ *
+ * Only the quote path is simulated, the context has no engine, history or
+ * account.
+ */
+public final class ReplayHarness {
+
+    private final double speed;
+    private final LongPredicate isOfflineTime;
+    private final TestScheduler delayScheduler = new TestScheduler();
+    private final Clock clock = SchedulerClock.of(delayScheduler);
+    private final StrategyUtil strategyUtil;
+
+    private ReplayHarness(final Builder builder) {
+        speed = builder.speed;
+        isOfflineTime = builder.isOfflineTime;
+        delayScheduler.advanceTimeTo(builder.startMillis, TimeUnit.MILLISECONDS);
+
+        final IContext context = SimulatedProxy.create(IContext.class,
+                                                       contextCallByName(),
+                                                       () -> "ReplayContext");
+        strategyUtil = new StrategyUtil(context, delayScheduler);
+    }
+
+    private Map<String, MethodCall> contextCallByName() {
+        final IDataService dataService = SimulatedProxy.create(IDataService.class,
+                                                               Collections.singletonMap("isOfflineTime",
+                                                                                        args -> isOfflineTime
+                                                                                            .test((Long) args[0])),
+                                                               () -> "ReplayDataService");
+
+        final Map<String, MethodCall> callByName = new HashMap<>();
+        callByName.put("getEngine", args -> null);
+        callByName.put("getHistory", args -> null);
+        callByName.put("getAccount", args -> null);
+        callByName.put("getDataService", args -> dataService);
+        callByName.put("getSubscribedInstruments", args -> Collections.emptySet());
+        callByName.put("executeTask", args -> {
+            final FutureTask<?> futureTask = new FutureTask<>((Callable<?>) args[0]);
+            futureTask.run();
+            return futureTask;
+        });
+        callByName.put("subscribeToBarsFeed", args -> null);
+        callByName.put("stop", args -> null);
+        return callByName;
+    }
+
+    public StrategyUtil strategyUtil() {
+        return strategyUtil;
+    }
+
+    public Clock clock() {
+        return clock;
+    }
+
+    public TestScheduler delayScheduler() {
+        return delayScheduler;
+    }
+
+    /**
+     * Moves the virtual time forward without a quote, for example to let
+     * pending retries run after the last recorded quote. Time never runs
+     * backwards, so out of order records keep the latest time.
+     */
+    public void advanceTo(final long millis) {
+        if (millis > clock.millis())
+            delayScheduler.advanceTimeTo(millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Replays all remaining quotes of the reader.
+     *
+     * @return the number of replayed quotes
+     */
+    public long replay(final ReplayReader replayReader) {
+        checkNotNull(replayReader);
+
+        final PacedListener pacedListener = new PacedListener();
+        long replayedQuotes = 0L;
+        while (replayReader.next(pacedListener))
+            ++replayedQuotes;
+        return replayedQuotes;
+    }
+
+    private final class PacedListener implements ReplayListener {
+
+        private final long startNanos = System.nanoTime();
+        private long firstQuoteMillis = Long.MIN_VALUE;
+
+        @Override
+        public void onTick(final Instrument instrument,
+                           final ITick tick) {
+            advanceTo(tick.getTime());
+            strategyUtil.onTick(instrument, tick);
+        }
+
+        @Override
+        public void onBar(final Instrument instrument,
+                          final Period period,
+                          final IBar askBar,
+                          final IBar bidBar) {
+            advanceTo(askBar.getTime());
+            strategyUtil.onBar(instrument,
+                               period,
+                               askBar,
+                               bidBar);
+        }
+
+        private void advanceTo(final long quoteMillis) {
+            if (speed > 0.0)
+                waitForQuoteTime(quoteMillis);
+            ReplayHarness.this.advanceTo(quoteMillis);
+        }
+
+        private void waitForQuoteTime(final long quoteMillis) {
+            if (firstQuoteMillis == Long.MIN_VALUE)
+                firstQuoteMillis = quoteMillis;
+
+            final long dueNanos = startNanos
+                    + (long) (TimeUnit.MILLISECONDS.toNanos(quoteMillis - firstQuoteMillis) / speed);
+            long waitNanos = dueNanos - System.nanoTime();
+            while (waitNanos > 0L) {
+                LockSupport.parkNanos(waitNanos);
+                waitNanos = dueNanos - System.nanoTime();
+            }
+        }
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private double speed;
+        private long startMillis;
+        private LongPredicate isOfflineTime = time -> false;
+
+        public Builder withSpeed(final double speed) {
+            checkArgument(speed >= 0.0, "Speed must not be negative but is %s!", speed);
+
+            this.speed = speed;
+            return this;
+        }
+
+        public Builder withStartTime(final long startMillis) {
+            this.startMillis = startMillis;
+            return this;
+        }
+
+        public Builder withOfflineTimes(final LongPredicate isOfflineTime) {
+            checkNotNull(isOfflineTime);
+
+            this.isOfflineTime = isOfflineTime;
+            return this;
+        }
+
+        public ReplayHarness build() {
+            return new ReplayHarness(this);
+        }
+    }
+}
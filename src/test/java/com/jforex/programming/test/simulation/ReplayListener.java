@@ -0,0 +1,21 @@
+package com.jforex.programming.test.simulation;
+
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.Period;
+
+/**
+ * Receives the quotes of a replay in file order, with the same signatures as
+ * the quote callbacks of a strategy.
+ */
+public interface ReplayListener {
+
+    void onTick(Instrument instrument,
+                ITick tick);
+
+    void onBar(Instrument instrument,
+               Period period,
+               IBar askBar,
+               IBar bidBar);
+}
@@ -0,0 +1,159 @@
+package com.jforex.programming.test.simulation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.ITick;
+
+/**
+ * Creates immutable {@link ITick} and {@link IBar} instances for replayed
+ * quotes. Like the other simulated API types they are proxies, so they stay
+ * compatible with the full JForex API.
+ */
+public final class ReplayQuotes {
+
+    private ReplayQuotes() {
+    }
+
+    public static final ITick tick(final long time,
+                                   final double ask,
+                                   final double bid,
+                                   final double askVolume,
+                                   final double bidVolume) {
+        return (ITick) Proxy.newProxyInstance(ITick.class.getClassLoader(),
+                                              new Class<?>[] { ITick.class },
+                                              new TickHandler(time, ask, bid, askVolume, bidVolume));
+    }
+
+    public static final IBar bar(final long time,
+                                 final double open,
+                                 final double high,
+                                 final double low,
+                                 final double close,
+                                 final double volume) {
+        return (IBar) Proxy.newProxyInstance(IBar.class.getClassLoader(),
+                                             new Class<?>[] { IBar.class },
+                                             new BarHandler(time, open, high, low, close, volume));
+    }
+
+    private static Object objectMethod(final Object proxy,
+                                       final Method method,
+                                       final Object[] args,
+                                       final String description) {
+        switch (method.getName()) {
+        case "equals":
+            return proxy == args[0];
+        case "hashCode":
+            return System.identityHashCode(proxy);
+        case "toString":
+            return description;
+        default:
+            throw new UnsupportedOperationException("Replayed quote does not support " + method.getName() + "!");
+        }
+    }
+
+    private static final class TickHandler implements InvocationHandler {
+
+        private final long time;
+        private final double ask;
+        private final double bid;
+        private final double askVolume;
+        private final double bidVolume;
+
+        TickHandler(final long time,
+                    final double ask,
+                    final double bid,
+                    final double askVolume,
+                    final double bidVolume) {
+            this.time = time;
+            this.ask = ask;
+            this.bid = bid;
+            this.askVolume = askVolume;
+            this.bidVolume = bidVolume;
+        }
+
+        @Override
+        public Object invoke(final Object proxy,
+                             final Method method,
+                             final Object[] args) {
+            switch (method.getName()) {
+            case "getTime":
+                return time;
+            case "getAsk":
+                return ask;
+            case "getBid":
+                return bid;
+            case "getAskVolume":
+            case "getTotalAskVolume":
+                return askVolume;
+            case "getBidVolume":
+            case "getTotalBidVolume":
+                return bidVolume;
+            case "getAsks":
+                return new double[] { ask };
+            case "getBids":
+                return new double[] { bid };
+            case "getAskVolumes":
+                return new double[] { askVolume };
+            case "getBidVolumes":
+                return new double[] { bidVolume };
+            default:
+                return objectMethod(proxy,
+                                    method,
+                                    args,
+                                    "ReplayTick[" + time + ", " + ask + ", " + bid + "]");
+            }
+        }
+    }
+
+    private static final class BarHandler implements InvocationHandler {
+
+        private final long time;
+        private final double open;
+        private final double high;
+        private final double low;
+        private final double close;
+        private final double volume;
+
+        BarHandler(final long time,
+                   final double open,
+                   final double high,
+                   final double low,
+                   final double close,
+                   final double volume) {
+            this.time = time;
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.close = close;
+            this.volume = volume;
+        }
+
+        @Override
+        public Object invoke(final Object proxy,
+                             final Method method,
+                             final Object[] args) {
+            switch (method.getName()) {
+            case "getTime":
+                return time;
+            case "getOpen":
+                return open;
+            case "getHigh":
+                return high;
+            case "getLow":
+                return low;
+            case "getClose":
+                return close;
+            case "getVolume":
+                return volume;
+            default:
+                return objectMethod(proxy,
+                                    method,
+                                    args,
+                                    "ReplayBar[" + time + ", " + open + ", " + high + ", " + low + ", " + close + "]");
+            }
+        }
+    }
+}
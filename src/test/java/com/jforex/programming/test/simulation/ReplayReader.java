@@ -0,0 +1,214 @@
+package com.jforex.programming.test.simulation;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.Period;
+import com.dukascopy.api.Unit;
+import com.jforex.programming.instrument.InstrumentFactory;
+
+/**
+ * Reads recorded quotes from a memory-mapped file, either in the binary
+ * format of {@link ReplayWriter} or as CSV. The format is detected by the
+ * header of the file.
+ *
+ * CSV lines look like
+ *
+ * <pre>
+ * TICK,EUR/USD,time,ask,bid,askVolume,bidVolume
+ * BAR,EUR/USD,Minute,1,time,askOpen,askHigh,askLow,askClose,askVolume,bidOpen,bidHigh,bidLow,bidClose,bidVolume
+ * </pre>
+ *
+ * Empty lines and lines starting with # are skipped. CSV is meant for hand
+ * written test data, the binary format for replaying large recordings fast.
+ */
+public final class ReplayReader implements Closeable {
+
+    private final FileChannel fileChannel;
+    private final ByteBuffer buffer;
+    private final boolean isBinary;
+    private final List<Instrument> instrumentByIndex = new ArrayList<>();
+    private final List<Period> periodByIndex = new ArrayList<>();
+
+    private ReplayReader(final FileChannel fileChannel) throws IOException {
+        this.fileChannel = fileChannel;
+
+        final long size = fileChannel.size();
+        checkArgument(size <= Integer.MAX_VALUE, "Replay files are limited to 2 GB but file has %s bytes!", size);
+        buffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+        isBinary = size >= ReplayFormat.headerSize && buffer.getInt(0) == ReplayFormat.magic;
+        if (isBinary) {
+            buffer.position(ReplayFormat.headerSize);
+            final short fileVersion = buffer.getShort(4);
+            checkArgument(fileVersion == ReplayFormat.version, "Unsupported replay file version %s!", fileVersion);
+        }
+    }
+
+    public static ReplayReader open(final Path path) throws IOException {
+        checkNotNull(path);
+
+        return new ReplayReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    public boolean isBinary() {
+        return isBinary;
+    }
+
+    /**
+     * Passes the next tick or bar to the listener.
+     *
+     * @return false if the end of the file is reached
+     */
+    public boolean next(final ReplayListener listener) {
+        checkNotNull(listener);
+
+        return isBinary
+                ? nextBinary(listener)
+                : nextCSV(listener);
+    }
+
+    private boolean nextBinary(final ReplayListener listener) {
+        while (buffer.hasRemaining()) {
+            final byte recordType = buffer.get();
+            switch (recordType) {
+            case ReplayFormat.instrumentDefinition:
+                define(instrumentByIndex, buffer.getShort(), instrument(readUTF()));
+                break;
+            case ReplayFormat.periodDefinition:
+                final short periodIndex = buffer.getShort();
+                final Unit unit = Unit.valueOf(readUTF());
+                define(periodByIndex, periodIndex, ReplayFormat.period(unit, buffer.getInt()));
+                break;
+            case ReplayFormat.tickRecord:
+                final Instrument tickInstrument = instrumentByIndex.get(buffer.getShort());
+                listener.onTick(tickInstrument, ReplayQuotes.tick(buffer.getLong(),
+                                                                  buffer.getDouble(),
+                                                                  buffer.getDouble(),
+                                                                  buffer.getDouble(),
+                                                                  buffer.getDouble()));
+                return true;
+            case ReplayFormat.barRecord:
+                final Instrument barInstrument = instrumentByIndex.get(buffer.getShort());
+                final Period period = periodByIndex.get(buffer.getShort());
+                final long time = buffer.getLong();
+                final IBar askBar = readBar(time);
+                listener.onBar(barInstrument, period, askBar, readBar(time));
+                return true;
+            default:
+                throw new IllegalStateException("Unknown replay record type " + recordType
+                        + " at position " + (buffer.position() - 1) + "!");
+            }
+        }
+        return false;
+    }
+
+    private static <T> void define(final List<T> valueByIndex,
+                                   final short index,
+                                   final T value) {
+        while (valueByIndex.size() <= index)
+            valueByIndex.add(null);
+        valueByIndex.set(index, value);
+    }
+
+    private String readUTF() {
+        final byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private IBar readBar(final long time) {
+        return ReplayQuotes.bar(time,
+                                buffer.getDouble(),
+                                buffer.getDouble(),
+                                buffer.getDouble(),
+                                buffer.getDouble(),
+                                buffer.getDouble());
+    }
+
+    private boolean nextCSV(final ReplayListener listener) {
+        while (buffer.hasRemaining()) {
+            final String line = readLine().trim();
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+
+            final String[] fields = line.split(",");
+            final Instrument instrument = instrument(fields[1].trim());
+            switch (fields[0].trim()) {
+            case "TICK":
+                listener.onTick(instrument, ReplayQuotes.tick(parseLong(fields[2]),
+                                                              parseDouble(fields[3]),
+                                                              parseDouble(fields[4]),
+                                                              parseDouble(fields[5]),
+                                                              parseDouble(fields[6])));
+                return true;
+            case "BAR":
+                final Period period = ReplayFormat.period(Unit.valueOf(fields[2].trim()),
+                                                          Integer.parseInt(fields[3].trim()));
+                final long time = parseLong(fields[4]);
+                listener.onBar(instrument,
+                               period,
+                               csvBar(time, fields, 5),
+                               csvBar(time, fields, 10));
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown replay line " + line + "!");
+            }
+        }
+        return false;
+    }
+
+    private String readLine() {
+        final int start = buffer.position();
+        int end = start;
+        while (end < buffer.limit() && buffer.get(end) != '\n')
+            ++end;
+
+        final byte[] bytes = new byte[end - start];
+        buffer.get(bytes);
+        if (buffer.hasRemaining())
+            buffer.get();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static IBar csvBar(final long time,
+                               final String[] fields,
+                               final int offset) {
+        return ReplayQuotes.bar(time,
+                                parseDouble(fields[offset]),
+                                parseDouble(fields[offset + 1]),
+                                parseDouble(fields[offset + 2]),
+                                parseDouble(fields[offset + 3]),
+                                parseDouble(fields[offset + 4]));
+    }
+
+    private static long parseLong(final String field) {
+        return Long.parseLong(field.trim());
+    }
+
+    private static double parseDouble(final String field) {
+        return Double.parseDouble(field.trim());
+    }
+
+    private static Instrument instrument(final String instrumentName) {
+        return InstrumentFactory
+            .maybeFromName(instrumentName)
+            .orElseThrow(() -> new IllegalArgumentException("Unknown instrument " + instrumentName + "!"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileChannel.close();
+    }
+}
@@ -0,0 +1,119 @@
+package com.jforex.programming.test.simulation;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.Period;
+
+/**
+ * Records quotes into the binary replay format. Since it is a
+ * {@link ReplayListener}, a strategy can record its live quotes by forwarding
+ * its quote callbacks.
+ */
+public final class ReplayWriter implements ReplayListener, Closeable {
+
+    private final DataOutputStream output;
+    private final Map<Instrument, Short> indexByInstrument = new HashMap<>();
+    private final Map<Period, Short> indexByPeriod = new HashMap<>();
+
+    private ReplayWriter(final DataOutputStream output) throws IOException {
+        this.output = output;
+
+        output.writeInt(ReplayFormat.magic);
+        output.writeShort(ReplayFormat.version);
+    }
+
+    public static ReplayWriter create(final Path path) throws IOException {
+        checkNotNull(path);
+
+        return new ReplayWriter(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path))));
+    }
+
+    @Override
+    public void onTick(final Instrument instrument,
+                       final ITick tick) {
+        try {
+            final short instrumentIndex = instrumentIndex(instrument);
+            output.writeByte(ReplayFormat.tickRecord);
+            output.writeShort(instrumentIndex);
+            output.writeLong(tick.getTime());
+            output.writeDouble(tick.getAsk());
+            output.writeDouble(tick.getBid());
+            output.writeDouble(tick.getAskVolume());
+            output.writeDouble(tick.getBidVolume());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onBar(final Instrument instrument,
+                      final Period period,
+                      final IBar askBar,
+                      final IBar bidBar) {
+        try {
+            final short instrumentIndex = instrumentIndex(instrument);
+            final short periodIndex = periodIndex(period);
+            output.writeByte(ReplayFormat.barRecord);
+            output.writeShort(instrumentIndex);
+            output.writeShort(periodIndex);
+            output.writeLong(askBar.getTime());
+            writeBar(askBar);
+            writeBar(bidBar);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeBar(final IBar bar) throws IOException {
+        output.writeDouble(bar.getOpen());
+        output.writeDouble(bar.getHigh());
+        output.writeDouble(bar.getLow());
+        output.writeDouble(bar.getClose());
+        output.writeDouble(bar.getVolume());
+    }
+
+    private short instrumentIndex(final Instrument instrument) throws IOException {
+        final Short index = indexByInstrument.get(instrument);
+        if (index != null)
+            return index;
+
+        final short newIndex = (short) indexByInstrument.size();
+        output.writeByte(ReplayFormat.instrumentDefinition);
+        output.writeShort(newIndex);
+        output.writeUTF(instrument.toString());
+        indexByInstrument.put(instrument, newIndex);
+        return newIndex;
+    }
+
+    private short periodIndex(final Period period) throws IOException {
+        final Short index = indexByPeriod.get(period);
+        if (index != null)
+            return index;
+
+        final short newIndex = (short) indexByPeriod.size();
+        output.writeByte(ReplayFormat.periodDefinition);
+        output.writeShort(newIndex);
+        output.writeUTF(period.getUnit().name());
+        output.writeInt(period.getNumOfUnits());
+        indexByPeriod.put(period, newIndex);
+        return newIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        output.close();
+    }
+}
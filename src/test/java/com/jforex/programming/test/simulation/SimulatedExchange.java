@@ -0,0 +1,542 @@
+package com.jforex.programming.test.simulation;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.dukascopy.api.IContext;
+import com.dukascopy.api.IEngine;
+import com.dukascopy.api.IEngine.OrderCommand;
+import com.dukascopy.api.IMessage;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.JFException;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.math.MathUtil;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.strategy.StrategyUtil;
+import com.jforex.programming.test.simulation.SimulatedProxy.MethodCall;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.schedulers.TestScheduler;
+
+/**
+ * An in-process stand-in for the JForex server, for load tests of the order
+ * pipeline without network.
+ *
+ * The simulated {@link IEngine} and {@link IOrder} instances validate a call
+ * like the platform does and send the resulting {@link IMessage}s to
+ * {@link StrategyUtil#onMessage(IMessage)} on a simulated strategy thread
+ * after the configured latency. Market orders are filled right after the
+ * submit, optionally in two partial fills, and every call can be rejected
+ * with a configured rate per {@link OrderCallReason}.
+ *
+ * All random draws for latencies, rejects and partial fills are taken on the
+ * strategy scheduler. With a {@link TestScheduler} from
+ * {@link Builder#withScheduler(Scheduler)} the responses run on virtual time
+ * in a fixed order, so a run is reproducible for a given seed. On the
+ * simulated strategy thread the order of concurrent calls depends on timing,
+ * and so does the sequence of draws.
+ *
+ * Conditional orders stay opened, since there is no price feed to trigger
+ * them.
+ *
+ * As on the platform, the order pipeline listens for the messages of a call
+ * only after the call returned. Load drivers should therefore subscribe to
+ * order tasks on {@link #strategyScheduler()}, where messages can not overtake
+ * the call, like a strategy does in its callbacks.
+ */
+public final class SimulatedExchange {
+
+    private final long minLatencyNanos;
+    private final long maxLatencyNanos;
+    private final double partialFillRate;
+    private final double fillPrice;
+    private final Map<OrderCallReason, Double> rejectRateByReason;
+    private final Random random;
+    private final ScheduledExecutorService strategyThread;
+    private final Scheduler strategyScheduler;
+    private final Map<String, SimulatedOrder> activeOrderById = new ConcurrentHashMap<>();
+    private final AtomicLong orderIds = new AtomicLong();
+    private final IEngine engine;
+    private final IContext context;
+    private final StrategyUtil strategyUtil;
+
+    private static final String accountName = "SimulatedAccount";
+
+    private SimulatedExchange(final Builder builder) {
+        minLatencyNanos = builder.minLatencyNanos;
+        maxLatencyNanos = builder.maxLatencyNanos;
+        partialFillRate = builder.partialFillRate;
+        fillPrice = builder.fillPrice;
+        rejectRateByReason = new EnumMap<>(builder.rejectRateByReason);
+        random = new Random(builder.seed);
+        strategyThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable,
+                                             StrategyUtil.platformSettings.strategyThreadPrefix() + "Simulated");
+            thread.setDaemon(true);
+            return thread;
+        });
+        strategyScheduler = builder.scheduler == null
+                ? Schedulers.from(strategyThread)
+                : builder.scheduler;
+        engine = SimulatedProxy.create(IEngine.class,
+                                       engineCallByName(),
+                                       () -> "SimulatedEngine");
+        context = SimulatedProxy.create(IContext.class,
+                                        contextCallByName(),
+                                        () -> "SimulatedContext");
+        strategyUtil = new StrategyUtil(context);
+    }
+
+    private Map<String, MethodCall> engineCallByName() {
+        final Map<String, MethodCall> callByName = new HashMap<>();
+
+        callByName.put("submitOrder", this::submitOrder);
+        callByName.put("mergeOrders", args -> mergeOrders((String) args[0], toMergeOrders(args[1])));
+        callByName.put("getOrder", args -> activeOrderByLabel((String) args[0]));
+        callByName.put("getOrderById", args -> {
+            final SimulatedOrder order = activeOrderById.get(args[0]);
+            return order == null
+                    ? null
+                    : order.order();
+        });
+        callByName.put("getOrders", args -> activeOrders(args.length == 0
+                ? null
+                : (Instrument) args[0]));
+        callByName.put("getAccount", args -> accountName);
+
+        return callByName;
+    }
+
+    private Map<String, MethodCall> contextCallByName() {
+        final Map<String, MethodCall> callByName = new HashMap<>();
+
+        callByName.put("getEngine", args -> engine);
+        callByName.put("getHistory", args -> null);
+        callByName.put("getAccount", args -> null);
+        callByName.put("getDataService", args -> null);
+        callByName.put("getSubscribedInstruments", args -> Collections.emptySet());
+        callByName.put("executeTask", args -> strategyThread.submit((Callable<?>) args[0]));
+        callByName.put("stop", args -> {
+            shutdown();
+            return null;
+        });
+
+        return callByName;
+    }
+
+    public IEngine engine() {
+        return engine;
+    }
+
+    public IContext context() {
+        return context;
+    }
+
+    public StrategyUtil strategyUtil() {
+        return strategyUtil;
+    }
+
+    public Scheduler strategyScheduler() {
+        return strategyScheduler;
+    }
+
+    public void shutdown() {
+        strategyUtil.onStop();
+        strategyThread.shutdownNow();
+    }
+
+    private IOrder submitOrder(final Object[] args) throws JFException {
+        final String label = (String) args[0];
+        final OrderCommand orderCommand = (OrderCommand) args[2];
+        if (activeOrderByLabel(label) != null)
+            throw new JFException("Label " + label + " is not unique!");
+
+        final SimulatedOrder order = new SimulatedOrder(this,
+                                                        String.valueOf(orderIds.incrementAndGet()),
+                                                        label,
+                                                        (Instrument) args[1],
+                                                        orderCommand,
+                                                        (double) args[3],
+                                                        doubleArg(args, 4),
+                                                        doubleArg(args, 6),
+                                                        doubleArg(args, 7),
+                                                        args.length > 8
+                                                                ? (long) args[8]
+                                                                : 0L,
+                                                        args.length > 9
+                                                                ? (String) args[9]
+                                                                : null);
+        activeOrderById.put(order.id(), order);
+
+        final OrderCallReason callReason = orderCommand.isConditional()
+                ? OrderCallReason.SUBMIT_CONDITIONAL
+                : OrderCallReason.SUBMIT;
+        respond(() -> {
+            if (isRejected(callReason)) {
+                order.cancel();
+                remove(order);
+                sendMessage(IMessage.Type.ORDER_SUBMIT_REJECTED, order);
+                return;
+            }
+            order.open();
+            sendMessage(IMessage.Type.ORDER_SUBMIT_OK, order);
+            if (!orderCommand.isConditional())
+                respond(() -> fill(order, (double) args[3]));
+        });
+        return order.order();
+    }
+
+    private static double doubleArg(final Object[] args,
+                                    final int index) {
+        return args.length > index
+                ? (double) args[index]
+                : 0.0;
+    }
+
+    private void fill(final SimulatedOrder order,
+                      final double requestedAmount) {
+        if (isRandomlyChosen(partialFillRate)) {
+            order.fill(MathUtil.roundAmount(requestedAmount / 2), fillPrice);
+            sendMessage(IMessage.Type.ORDER_FILL_OK, order);
+            respond(() -> {
+                order.fill(requestedAmount, fillPrice);
+                sendMessage(IMessage.Type.ORDER_FILL_OK, order, IMessage.Reason.ORDER_FULLY_FILLED);
+            });
+        } else {
+            order.fill(requestedAmount, fillPrice);
+            sendMessage(IMessage.Type.ORDER_FILL_OK, order, IMessage.Reason.ORDER_FULLY_FILLED);
+        }
+    }
+
+    private List<SimulatedOrder> toMergeOrders(final Object ordersArg) throws JFException {
+        final Collection<?> orders = ordersArg instanceof Collection
+                ? (Collection<?>) ordersArg
+                : Arrays.asList((Object[]) ordersArg);
+        final List<SimulatedOrder> toMergeOrders = new ArrayList<>();
+        for (final Object order : orders)
+            toMergeOrders.add(simulatedOrder((IOrder) order));
+        return toMergeOrders;
+    }
+
+    private IOrder mergeOrders(final String mergeOrderLabel,
+                               final List<SimulatedOrder> toMergeOrders) throws JFException {
+        if (toMergeOrders.size() < 2)
+            throw new JFException("At least two orders are needed for a merge!");
+        if (activeOrderByLabel(mergeOrderLabel) != null)
+            throw new JFException("Label " + mergeOrderLabel + " is not unique!");
+        final Instrument instrument = toMergeOrders.get(0).instrument();
+        for (final SimulatedOrder order : toMergeOrders)
+            if (order.state() != IOrder.State.FILLED || order.instrument() != instrument)
+                throw new JFException("Order " + order + " can not be merged!");
+
+        final SimulatedOrder mergeOrder = new SimulatedOrder(this,
+                                                             String.valueOf(orderIds.incrementAndGet()),
+                                                             mergeOrderLabel,
+                                                             instrument,
+                                                             OrderCommand.BUY,
+                                                             0.0,
+                                                             0.0,
+                                                             0.0,
+                                                             0.0,
+                                                             0L,
+                                                             null);
+        respond(() -> {
+            if (isRejected(OrderCallReason.MERGE) || hasSLOrTP(toMergeOrders)) {
+                mergeOrder.cancel();
+                sendMessage(IMessage.Type.ORDERS_MERGE_REJECTED, mergeOrder);
+                return;
+            }
+            merge(mergeOrder, toMergeOrders);
+        });
+        return mergeOrder.order();
+    }
+
+    private static boolean hasSLOrTP(final List<SimulatedOrder> orders) {
+        return orders
+            .stream()
+            .anyMatch(order -> order.stopLossPrice() > 0.0 || order.takeProfitPrice() > 0.0);
+    }
+
+    private void merge(final SimulatedOrder mergeOrder,
+                       final List<SimulatedOrder> toMergeOrders) {
+        double signedAmount = 0.0;
+        double weightedPrice = 0.0;
+        for (final SimulatedOrder order : toMergeOrders) {
+            signedAmount += order.signedAmount();
+            weightedPrice += order.amount() * order.openPrice();
+            order.close();
+            remove(order);
+            sendMessage(IMessage.Type.ORDER_CLOSE_OK, order, IMessage.Reason.ORDER_CLOSED_BY_MERGE);
+        }
+
+        final double mergedAmount = MathUtil.roundAmount(signedAmount);
+        if (mergedAmount == 0.0)
+            mergeOrder.close();
+        else {
+            final double totalAmount = toMergeOrders
+                .stream()
+                .mapToDouble(SimulatedOrder::amount)
+                .sum();
+            mergeOrder.fillAsMergeOrder(mergedAmount, weightedPrice / totalAmount);
+            activeOrderById.put(mergeOrder.id(), mergeOrder);
+        }
+        sendMessage(IMessage.Type.ORDERS_MERGE_OK, mergeOrder);
+    }
+
+    void close(final SimulatedOrder order,
+               final double closeAmount) throws JFException {
+        checkActive(order);
+
+        final boolean isPartialClose = closeAmount > 0.0 && closeAmount < order.amount();
+        final OrderCallReason callReason = isPartialClose
+                ? OrderCallReason.PARTIAL_CLOSE
+                : OrderCallReason.CLOSE;
+        respond(() -> {
+            if (isRejected(callReason) || !order.isActive()) {
+                sendMessage(IMessage.Type.ORDER_CLOSE_REJECTED, order);
+                return;
+            }
+            if (isPartialClose)
+                order.reduceAmount(closeAmount);
+            else {
+                if (order.state() == IOrder.State.OPENED)
+                    order.cancel();
+                else
+                    order.close();
+                remove(order);
+            }
+            sendMessage(IMessage.Type.ORDER_CLOSE_OK, order);
+        });
+    }
+
+    void setStopLossPrice(final SimulatedOrder order,
+                          final double newStopLossPrice,
+                          final OfferSide offerSide,
+                          final double trailingStep) throws JFException {
+        change(order,
+               OrderCallReason.CHANGE_SL,
+               IMessage.Reason.ORDER_CHANGED_SL,
+               () -> order.changeStopLoss(newStopLossPrice, offerSide, trailingStep));
+    }
+
+    void setTakeProfitPrice(final SimulatedOrder order,
+                            final double newTakeProfitPrice) throws JFException {
+        change(order,
+               OrderCallReason.CHANGE_TP,
+               IMessage.Reason.ORDER_CHANGED_TP,
+               () -> order.changeTakeProfit(newTakeProfitPrice));
+    }
+
+    void setLabel(final SimulatedOrder order,
+                  final String newLabel) throws JFException {
+        change(order,
+               OrderCallReason.CHANGE_LABEL,
+               IMessage.Reason.ORDER_CHANGED_LABEL,
+               () -> order.changeLabel(newLabel));
+    }
+
+    void setGoodTillTime(final SimulatedOrder order,
+                         final long newGoodTillTime) throws JFException {
+        change(order,
+               OrderCallReason.CHANGE_GTT,
+               IMessage.Reason.ORDER_CHANGED_GTT,
+               () -> order.changeGoodTillTime(newGoodTillTime));
+    }
+
+    void setRequestedAmount(final SimulatedOrder order,
+                            final double newRequestedAmount) throws JFException {
+        change(order,
+               OrderCallReason.CHANGE_AMOUNT,
+               IMessage.Reason.ORDER_CHANGED_AMOUNT,
+               () -> order.changeRequestedAmount(newRequestedAmount));
+    }
+
+    void setOpenPrice(final SimulatedOrder order,
+                      final double newOpenPrice) throws JFException {
+        change(order,
+               OrderCallReason.CHANGE_PRICE,
+               IMessage.Reason.ORDER_CHANGED_PRICE,
+               () -> order.changeOpenPrice(newOpenPrice));
+    }
+
+    private void change(final SimulatedOrder order,
+                        final OrderCallReason callReason,
+                        final IMessage.Reason changeReason,
+                        final Runnable change) throws JFException {
+        checkActive(order);
+
+        respond(() -> {
+            if (isRejected(callReason) || !order.isActive()) {
+                sendMessage(IMessage.Type.ORDER_CHANGED_REJECTED, order);
+                return;
+            }
+            change.run();
+            sendMessage(IMessage.Type.ORDER_CHANGED_OK, order, changeReason);
+        });
+    }
+
+    private static void checkActive(final SimulatedOrder order) throws JFException {
+        if (!order.isActive())
+            throw new JFException("Order " + order + " is not active!");
+    }
+
+    private SimulatedOrder simulatedOrder(final IOrder order) throws JFException {
+        final SimulatedOrder simulatedOrder = activeOrderById.get(order.getId());
+        if (simulatedOrder == null || simulatedOrder.order() != order)
+            throw new JFException("Order " + order + " is not an active simulated order!");
+        return simulatedOrder;
+    }
+
+    private IOrder activeOrderByLabel(final String label) {
+        return activeOrderById
+            .values()
+            .stream()
+            .filter(order -> order.label().equals(label))
+            .map(SimulatedOrder::order)
+            .findFirst()
+            .orElse(null);
+    }
+
+    private List<IOrder> activeOrders(final Instrument instrument) {
+        return activeOrderById
+            .values()
+            .stream()
+            .filter(order -> instrument == null || order.instrument() == instrument)
+            .map(SimulatedOrder::order)
+            .collect(Collectors.toList());
+    }
+
+    private void remove(final SimulatedOrder order) {
+        activeOrderById.remove(order.id());
+    }
+
+    private boolean isRejected(final OrderCallReason callReason) {
+        return isRandomlyChosen(rejectRateByReason.getOrDefault(callReason, 0.0));
+    }
+
+    private boolean isRandomlyChosen(final double rate) {
+        return rate > 0.0 && random.nextDouble() < rate;
+    }
+
+    private void respond(final Runnable response) {
+        strategyScheduler.scheduleDirect(() -> strategyScheduler.scheduleDirect(response,
+                                                                                latencyNanos(),
+                                                                                TimeUnit.NANOSECONDS));
+    }
+
+    private long latencyNanos() {
+        return minLatencyNanos + (long) (random.nextDouble() * (maxLatencyNanos - minLatencyNanos));
+    }
+
+    private void sendMessage(final IMessage.Type type,
+                             final SimulatedOrder order,
+                             final IMessage.Reason... reasons) {
+        final Set<IMessage.Reason> messageReasons = reasons.length == 0
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(reasons)));
+        final long creationTime = System.currentTimeMillis();
+
+        final Map<String, MethodCall> callByName = new HashMap<>();
+        callByName.put("getType", args -> type);
+        callByName.put("getOrder", args -> order.order());
+        callByName.put("getReasons", args -> messageReasons);
+        callByName.put("getContent", args -> "");
+        callByName.put("getCreationTime", args -> creationTime);
+
+        strategyUtil.onMessage(SimulatedProxy.create(IMessage.class,
+                                                     callByName,
+                                                     () -> "SimulatedMessage[" + type + ", " + messageReasons + ", "
+                                                             + order + "]"));
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private long minLatencyNanos = TimeUnit.MILLISECONDS.toNanos(1L);
+        private long maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(1L);
+        private double partialFillRate;
+        private double fillPrice = 1.0;
+        private long seed = 42L;
+        private Scheduler scheduler;
+        private final Map<OrderCallReason, Double> rejectRateByReason = new EnumMap<>(OrderCallReason.class);
+
+        public Builder withLatency(final long minLatency,
+                                   final long maxLatency,
+                                   final TimeUnit timeUnit) {
+            checkNotNull(timeUnit);
+            checkArgument(minLatency >= 0L && maxLatency >= minLatency,
+                          "Latency range [%s, %s] is invalid!",
+                          minLatency,
+                          maxLatency);
+
+            minLatencyNanos = timeUnit.toNanos(minLatency);
+            maxLatencyNanos = timeUnit.toNanos(maxLatency);
+            return this;
+        }
+
+        public Builder withRejectRate(final OrderCallReason callReason,
+                                      final double rejectRate) {
+            checkNotNull(callReason);
+            checkRate(rejectRate);
+
+            rejectRateByReason.put(callReason, rejectRate);
+            return this;
+        }
+
+        public Builder withPartialFillRate(final double partialFillRate) {
+            checkRate(partialFillRate);
+
+            this.partialFillRate = partialFillRate;
+            return this;
+        }
+
+        public Builder withFillPrice(final double fillPrice) {
+            checkArgument(fillPrice > 0.0, "Fill price must be positive but is %s!", fillPrice);
+
+            this.fillPrice = fillPrice;
+            return this;
+        }
+
+        public Builder withSeed(final long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder withScheduler(final Scheduler scheduler) {
+            this.scheduler = checkNotNull(scheduler);
+            return this;
+        }
+
+        private static void checkRate(final double rate) {
+            checkArgument(rate >= 0.0 && rate <= 1.0, "Rate must be within [0, 1] but is %s!", rate);
+        }
+
+        public SimulatedExchange build() {
+            return new SimulatedExchange(this);
+        }
+    }
+}
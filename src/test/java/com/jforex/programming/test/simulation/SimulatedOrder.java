@@ -0,0 +1,258 @@
+package com.jforex.programming.test.simulation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.dukascopy.api.IEngine.OrderCommand;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.jforex.programming.math.MathUtil;
+import com.jforex.programming.order.OrderStaticUtil;
+import com.jforex.programming.test.simulation.SimulatedProxy.MethodCall;
+
+/**
+ * The server side state of a simulated order. The state is only changed on
+ * the simulated strategy thread, right before the message for the change is
+ * sent, so an order always shows the state of its latest message.
+ */
+final class SimulatedOrder {
+
+    private final IOrder order;
+    private final String id;
+    private final Instrument instrument;
+    private final String comment;
+    private final long creationTime;
+    private volatile String label;
+    private volatile OrderCommand orderCommand;
+    private volatile IOrder.State state = IOrder.State.CREATED;
+    private volatile double requestedAmount;
+    private volatile double originalAmount;
+    private volatile double amount;
+    private volatile double openPrice;
+    private volatile double closePrice;
+    private volatile double stopLossPrice;
+    private volatile double takeProfitPrice;
+    private volatile double trailingStep;
+    private volatile OfferSide stopLossSide = OfferSide.BID;
+    private volatile long goodTillTime;
+    private volatile long fillTime;
+    private volatile long closeTime;
+
+    SimulatedOrder(final SimulatedExchange exchange,
+                   final String id,
+                   final String label,
+                   final Instrument instrument,
+                   final OrderCommand orderCommand,
+                   final double requestedAmount,
+                   final double openPrice,
+                   final double stopLossPrice,
+                   final double takeProfitPrice,
+                   final long goodTillTime,
+                   final String comment) {
+        this.id = id;
+        this.label = label;
+        this.instrument = instrument;
+        this.orderCommand = orderCommand;
+        this.requestedAmount = requestedAmount;
+        this.openPrice = openPrice;
+        this.stopLossPrice = stopLossPrice;
+        this.takeProfitPrice = takeProfitPrice;
+        this.goodTillTime = goodTillTime;
+        this.comment = comment;
+        creationTime = System.currentTimeMillis();
+        order = SimulatedProxy.create(IOrder.class,
+                                      callByName(exchange),
+                                      this::toString);
+    }
+
+    private Map<String, MethodCall> callByName(final SimulatedExchange exchange) {
+        final Map<String, MethodCall> callByName = new HashMap<>();
+
+        callByName.put("getInstrument", args -> instrument);
+        callByName.put("getLabel", args -> label);
+        callByName.put("getId", args -> id);
+        callByName.put("getCreationTime", args -> creationTime);
+        callByName.put("getCloseTime", args -> closeTime);
+        callByName.put("getOrderCommand", args -> orderCommand);
+        callByName.put("isLong", args -> orderCommand.isLong());
+        callByName.put("getFillTime", args -> fillTime);
+        callByName.put("getOriginalAmount", args -> originalAmount);
+        callByName.put("getAmount", args -> amount);
+        callByName.put("getRequestedAmount", args -> requestedAmount);
+        callByName.put("getOpenPrice", args -> openPrice);
+        callByName.put("getClosePrice", args -> closePrice);
+        callByName.put("getStopLossPrice", args -> stopLossPrice);
+        callByName.put("getTakeProfitPrice", args -> takeProfitPrice);
+        callByName.put("getTrailingStep", args -> trailingStep);
+        callByName.put("getStopLossSide", args -> stopLossSide);
+        callByName.put("getGoodTillTime", args -> goodTillTime);
+        callByName.put("getState", args -> state);
+        callByName.put("getComment", args -> comment);
+        callByName.put("getProfitLossInPips", args -> 0.0);
+        callByName.put("getProfitLossInUSD", args -> 0.0);
+        callByName.put("getProfitLossInAccountCurrency", args -> 0.0);
+        callByName.put("getCommission", args -> 0.0);
+        callByName.put("getCommissionInUSD", args -> 0.0);
+        callByName.put("waitForUpdate", args -> null);
+
+        callByName.put("close", args -> {
+            exchange.close(this, args.length == 0
+                    ? 0.0
+                    : (double) args[0]);
+            return null;
+        });
+        callByName.put("setStopLossPrice", args -> {
+            exchange.setStopLossPrice(this,
+                                      (double) args[0],
+                                      args.length > 1
+                                              ? (OfferSide) args[1]
+                                              : stopLossSide,
+                                      args.length > 2
+                                              ? (double) args[2]
+                                              : 0.0);
+            return null;
+        });
+        callByName.put("setTakeProfitPrice", args -> {
+            exchange.setTakeProfitPrice(this, (double) args[0]);
+            return null;
+        });
+        callByName.put("setLabel", args -> {
+            exchange.setLabel(this, (String) args[0]);
+            return null;
+        });
+        callByName.put("setGoodTillTime", args -> {
+            exchange.setGoodTillTime(this, (long) args[0]);
+            return null;
+        });
+        callByName.put("setRequestedAmount", args -> {
+            exchange.setRequestedAmount(this, (double) args[0]);
+            return null;
+        });
+        callByName.put("setOpenPrice", args -> {
+            exchange.setOpenPrice(this, (double) args[0]);
+            return null;
+        });
+
+        return callByName;
+    }
+
+    IOrder order() {
+        return order;
+    }
+
+    String id() {
+        return id;
+    }
+
+    String label() {
+        return label;
+    }
+
+    Instrument instrument() {
+        return instrument;
+    }
+
+    OrderCommand orderCommand() {
+        return orderCommand;
+    }
+
+    IOrder.State state() {
+        return state;
+    }
+
+    double amount() {
+        return amount;
+    }
+
+    double signedAmount() {
+        return OrderStaticUtil.signedAmount(amount, orderCommand);
+    }
+
+    double openPrice() {
+        return openPrice;
+    }
+
+    double stopLossPrice() {
+        return stopLossPrice;
+    }
+
+    double takeProfitPrice() {
+        return takeProfitPrice;
+    }
+
+    boolean isActive() {
+        return state == IOrder.State.OPENED || state == IOrder.State.FILLED;
+    }
+
+    void open() {
+        state = IOrder.State.OPENED;
+    }
+
+    void fill(final double filledAmount,
+              final double fillPrice) {
+        amount = filledAmount;
+        originalAmount = filledAmount;
+        openPrice = fillPrice;
+        fillTime = System.currentTimeMillis();
+        state = IOrder.State.FILLED;
+    }
+
+    void fillAsMergeOrder(final double signedAmount,
+                          final double averagePrice) {
+        orderCommand = signedAmount > 0
+                ? OrderCommand.BUY
+                : OrderCommand.SELL;
+        requestedAmount = Math.abs(signedAmount);
+        fill(requestedAmount, averagePrice);
+    }
+
+    void reduceAmount(final double closedAmount) {
+        amount = MathUtil.roundAmount(amount - closedAmount);
+    }
+
+    void cancel() {
+        closeTime = System.currentTimeMillis();
+        state = IOrder.State.CANCELED;
+    }
+
+    void close() {
+        closePrice = openPrice;
+        closeTime = System.currentTimeMillis();
+        state = IOrder.State.CLOSED;
+    }
+
+    void changeLabel(final String newLabel) {
+        label = newLabel;
+    }
+
+    void changeStopLoss(final double newStopLossPrice,
+                        final OfferSide offerSide,
+                        final double newTrailingStep) {
+        stopLossPrice = newStopLossPrice;
+        stopLossSide = offerSide;
+        trailingStep = newTrailingStep;
+    }
+
+    void changeTakeProfit(final double newTakeProfitPrice) {
+        takeProfitPrice = newTakeProfitPrice;
+    }
+
+    void changeGoodTillTime(final long newGoodTillTime) {
+        goodTillTime = newGoodTillTime;
+    }
+
+    void changeRequestedAmount(final double newRequestedAmount) {
+        requestedAmount = newRequestedAmount;
+    }
+
+    void changeOpenPrice(final double newOpenPrice) {
+        openPrice = newOpenPrice;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulatedOrder[" + label + ", " + instrument + ", " + orderCommand
+                + ", " + state + ", " + amount + "]";
+    }
+}
@@ -0,0 +1,59 @@
+package com.jforex.programming.test.simulation;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Creates JForex API stand-ins which dispatch by method name, so overloads
+ * of the API are handled by one call and methods of newer API versions which
+ * are not simulated fail loudly instead of returning defaults.
+ */
+final class SimulatedProxy {
+
+    private SimulatedProxy() {
+    }
+
+    @FunctionalInterface
+    interface MethodCall {
+
+        Object invoke(Object[] args) throws Exception;
+    }
+
+    static <T> T create(final Class<T> type,
+                        final Map<String, MethodCall> callByName,
+                        final Supplier<String> description) {
+        final Object proxy = Proxy.newProxyInstance(type.getClassLoader(),
+                                                    new Class<?>[] { type },
+                                                    (instance, method, args) -> {
+                                                        final Object[] callArgs = args == null
+                                                                ? new Object[0]
+                                                                : args;
+                                                        switch (method.getName()) {
+                                                        case "equals":
+                                                            return instance == callArgs[0];
+                                                        case "hashCode":
+                                                            return System.identityHashCode(instance);
+                                                        case "toString":
+                                                            return description.get();
+                                                        default:
+                                                            return invoke(type,
+                                                                          callByName,
+                                                                          method.getName(),
+                                                                          callArgs);
+                                                        }
+                                                    });
+        return type.cast(proxy);
+    }
+
+    private static Object invoke(final Class<?> type,
+                                 final Map<String, MethodCall> callByName,
+                                 final String methodName,
+                                 final Object[] args) throws Exception {
+        final MethodCall methodCall = callByName.get(methodName);
+        if (methodCall == null)
+            throw new UnsupportedOperationException("Simulated " + type.getSimpleName()
+                    + " does not support " + methodName + "!");
+        return methodCall.invoke(args);
+    }
+}
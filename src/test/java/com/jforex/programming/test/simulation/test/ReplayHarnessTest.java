@@ -0,0 +1,224 @@
+package com.jforex.programming.test.simulation.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.IBar;
+import com.dukascopy.api.ITick;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.OfferSide;
+import com.dukascopy.api.Period;
+import com.jforex.programming.quote.BarQuote;
+import com.jforex.programming.quote.TickQuote;
+import com.jforex.programming.rx.RxUtil;
+import com.jforex.programming.test.simulation.ReplayHarness;
+import com.jforex.programming.test.simulation.ReplayQuotes;
+import com.jforex.programming.test.simulation.ReplayReader;
+import com.jforex.programming.test.simulation.ReplayWriter;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+
+@RunWith(HierarchicalContextRunner.class)
+public class ReplayHarnessTest {
+
+    private ReplayHarness replayHarness;
+    private TestObserver<TickQuote> tickObserver;
+    private Path replayFile;
+
+    private static final long offlineTime = 3000L;
+
+    @Before
+    public void setUp() throws IOException {
+        replayHarness = ReplayHarness
+            .newBuilder()
+            .withOfflineTimes(time -> time == offlineTime)
+            .build();
+        tickObserver = replayHarness
+            .strategyUtil()
+            .tickQuoteProvider()
+            .observable()
+            .test();
+        replayFile = Files.createTempFile("replay", ".dat");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(replayFile);
+    }
+
+    private long replay() throws IOException {
+        try (ReplayReader replayReader = ReplayReader.open(replayFile)) {
+            return replayHarness.replay(replayReader);
+        }
+    }
+
+    private List<Long> replayedTickTimes() {
+        return tickObserver
+            .values()
+            .stream()
+            .map(tickQuote -> tickQuote
+                .tick()
+                .getTime())
+            .collect(Collectors.toList());
+    }
+
+    public class CSVReplay {
+
+        @Before
+        public void setUp() throws IOException {
+            final List<String> lines = Arrays.asList("# recorded EUR/USD ticks",
+                                                     "TICK,EUR/USD,1000,1.1202,1.1200,1.5,2.5",
+                                                     "",
+                                                     "TICK,EUR/USD,2000,1.1205,1.1203,1.0,1.0",
+                                                     "TICK,EUR/USD,3000,1.1210,1.1208,1.0,1.0");
+            Files.write(replayFile, lines, StandardCharsets.UTF_8);
+        }
+
+        @Test
+        public void fileIsReadAsCSV() throws IOException {
+            try (ReplayReader replayReader = ReplayReader.open(replayFile)) {
+                assertFalse(replayReader.isBinary());
+            }
+        }
+
+        @Test
+        public void allRecordedTicksAreReplayed() throws IOException {
+            assertThat(replay(), equalTo(3L));
+        }
+
+        @Test
+        public void ticksAreForwardedToQuoteProvider() throws IOException {
+            replay();
+
+            final ITick firstTick = tickObserver
+                .values()
+                .get(0)
+                .tick();
+            assertThat(tickObserver
+                .values()
+                .get(0)
+                .instrument(), equalTo(Instrument.EURUSD));
+            assertThat(firstTick.getAsk(), equalTo(1.1202));
+            assertThat(firstTick.getBid(), equalTo(1.12));
+            assertThat(firstTick.getAskVolume(), equalTo(1.5));
+            assertThat(firstTick.getBidVolume(), equalTo(2.5));
+        }
+
+        @Test
+        public void ticksAtOfflineTimesAreFiltered() throws IOException {
+            replay();
+
+            assertThat(replayedTickTimes(), equalTo(Arrays.asList(1000L, 2000L)));
+        }
+
+        @Test
+        public void clockFollowsReplayedTime() throws IOException {
+            replay();
+
+            assertThat(replayHarness
+                .clock()
+                .millis(), equalTo(offlineTime));
+            assertTrue(replayHarness
+                .strategyUtil()
+                .isMarketClosed());
+        }
+
+        @Test
+        public void delaysRunInReplayedTime() throws IOException {
+            final TestObserver<Long> shortDelayObserver = RxUtil
+                .wait(1500L, TimeUnit.MILLISECONDS, replayHarness.delayScheduler())
+                .test();
+            final TestObserver<Long> longDelayObserver = RxUtil
+                .wait(5000L, TimeUnit.MILLISECONDS, replayHarness.delayScheduler())
+                .test();
+
+            replay();
+
+            shortDelayObserver.assertComplete();
+            longDelayObserver.assertNotComplete();
+
+            replayHarness.advanceTo(5000L);
+
+            longDelayObserver.assertComplete();
+        }
+    }
+
+    public class BinaryReplay {
+
+        private final IBar askBar = ReplayQuotes.bar(60000L, 1.12, 1.13, 1.11, 1.125, 100.0);
+        private final IBar bidBar = ReplayQuotes.bar(60000L, 1.11, 1.12, 1.10, 1.115, 200.0);
+
+        @Before
+        public void setUp() throws IOException {
+            try (ReplayWriter replayWriter = ReplayWriter.create(replayFile)) {
+                replayWriter.onTick(Instrument.EURUSD, ReplayQuotes.tick(1000L, 1.1202, 1.12, 1.0, 1.0));
+                replayWriter.onTick(Instrument.GBPUSD, ReplayQuotes.tick(2000L, 1.3002, 1.3, 1.0, 1.0));
+                replayWriter.onBar(Instrument.EURUSD, Period.ONE_MIN, askBar, bidBar);
+            }
+        }
+
+        @Test
+        public void fileIsReadAsBinary() throws IOException {
+            try (ReplayReader replayReader = ReplayReader.open(replayFile)) {
+                assertTrue(replayReader.isBinary());
+            }
+        }
+
+        @Test
+        public void ticksOfAllInstrumentsAreReplayed() throws IOException {
+            assertThat(replay(), equalTo(3L));
+
+            assertThat(replayedTickTimes(), equalTo(Arrays.asList(1000L, 2000L)));
+            assertThat(tickObserver
+                .values()
+                .get(1)
+                .instrument(), equalTo(Instrument.GBPUSD));
+        }
+
+        @Test
+        public void barsOfBothOfferSidesAreReplayed() throws IOException {
+            final TestObserver<BarQuote> barObserver = replayHarness
+                .strategyUtil()
+                .barQuoteProvider()
+                .observable()
+                .test();
+
+            replay();
+
+            barObserver.assertValueCount(2);
+            final BarQuote askQuote = barObserver
+                .values()
+                .get(0);
+            assertThat(askQuote.offerSide(), equalTo(OfferSide.ASK));
+            assertThat(askQuote.period(), equalTo(Period.ONE_MIN));
+            assertThat(askQuote
+                .bar()
+                .getHigh(), equalTo(1.13));
+            assertThat(barObserver
+                .values()
+                .get(1)
+                .bar()
+                .getVolume(), equalTo(200.0));
+            assertThat(replayHarness
+                .clock()
+                .millis(), equalTo(60000L));
+        }
+    }
+}
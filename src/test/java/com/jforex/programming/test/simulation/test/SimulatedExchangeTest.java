@@ -0,0 +1,264 @@
+package com.jforex.programming.test.simulation.test;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import com.dukascopy.api.IEngine.OrderCommand;
+import com.dukascopy.api.IOrder;
+import com.dukascopy.api.Instrument;
+import com.dukascopy.api.JFException;
+import com.jforex.programming.order.OrderParams;
+import com.jforex.programming.order.OrderUtil;
+import com.jforex.programming.order.call.OrderCallReason;
+import com.jforex.programming.order.event.OrderEvent;
+import com.jforex.programming.order.event.OrderEventType;
+import com.jforex.programming.order.task.params.TaskParams;
+import com.jforex.programming.order.task.params.basic.CloseParams;
+import com.jforex.programming.order.task.params.basic.SubmitParams;
+import com.jforex.programming.order.task.params.position.MergePositionParams;
+import com.jforex.programming.test.simulation.SimulatedExchange;
+
+import de.bechte.junit.runners.context.HierarchicalContextRunner;
+import io.reactivex.observers.TestObserver;
+import io.reactivex.schedulers.TestScheduler;
+
+@RunWith(HierarchicalContextRunner.class)
+public class SimulatedExchangeTest {
+
+    private SimulatedExchange simulatedExchange;
+    private OrderUtil orderUtil;
+    private final TestScheduler testScheduler = new TestScheduler();
+
+    private void buildExchange(final SimulatedExchange.Builder builder) {
+        simulatedExchange = builder
+            .withLatency(5L, 10L, TimeUnit.MILLISECONDS)
+            .withScheduler(testScheduler)
+            .build();
+        orderUtil = simulatedExchange
+            .strategyUtil()
+            .orderUtil();
+    }
+
+    @After
+    public void tearDown() {
+        simulatedExchange.shutdown();
+    }
+
+    private OrderParams orderParams(final String label,
+                                    final OrderCommand orderCommand,
+                                    final double stopLossPrice) {
+        return OrderParams
+            .forInstrument(Instrument.EURUSD)
+            .withOrderCommand(orderCommand)
+            .withAmount(0.1)
+            .withLabel(label)
+            .stopLossPrice(stopLossPrice)
+            .build();
+    }
+
+    private TestObserver<OrderEvent> run(final TaskParams taskParams) {
+        final TestObserver<OrderEvent> testObserver = orderUtil
+            .paramsToObservable(taskParams)
+            .subscribeOn(simulatedExchange.strategyScheduler())
+            .test();
+        testScheduler.advanceTimeBy(1L, TimeUnit.SECONDS);
+        return testObserver;
+    }
+
+    private TestObserver<OrderEvent> submit(final OrderParams orderParams) {
+        return run(SubmitParams
+            .withOrderParams(orderParams)
+            .build());
+    }
+
+    private IOrder submittedOrder(final OrderParams orderParams) {
+        return submit(orderParams)
+            .values()
+            .get(0)
+            .order();
+    }
+
+    private List<OrderEventType> eventTypes(final TestObserver<OrderEvent> testObserver) {
+        return testObserver
+            .values()
+            .stream()
+            .map(OrderEvent::type)
+            .collect(Collectors.toList());
+    }
+
+    public class DefaultExchange {
+
+        @Before
+        public void setUp() {
+            buildExchange(SimulatedExchange.newBuilder());
+        }
+
+        @Test
+        public void marketOrderIsSubmittedAndFilled() throws Exception {
+            final TestObserver<OrderEvent> testObserver = submit(orderParams("buyLabel", OrderCommand.BUY, 0.0));
+
+            testObserver.assertComplete();
+            assertThat(eventTypes(testObserver),
+                       equalTo(Arrays.asList(OrderEventType.SUBMIT_OK, OrderEventType.FULLY_FILLED)));
+
+            final IOrder order = testObserver
+                .values()
+                .get(0)
+                .order();
+            assertThat(order.getState(), equalTo(IOrder.State.FILLED));
+            assertThat(order.getAmount(), equalTo(0.1));
+            assertThat(simulatedExchange
+                .engine()
+                .getOrder("buyLabel"), equalTo(order));
+        }
+
+        @Test
+        public void conditionalOrderStaysOpened() throws Exception {
+            final IOrder order = submittedOrder(orderParams("buyLimitLabel", OrderCommand.BUYLIMIT, 0.0));
+
+            assertThat(order.getState(), equalTo(IOrder.State.OPENED));
+        }
+
+        @Test(expected = JFException.class)
+        public void submitWithLabelOfActiveOrderFails() throws Exception {
+            submittedOrder(orderParams("buyLabel", OrderCommand.BUY, 0.0));
+
+            simulatedExchange
+                .engine()
+                .submitOrder("buyLabel", Instrument.EURUSD, OrderCommand.BUY, 0.1);
+        }
+
+        @Test
+        public void closedOrderIsRemovedFromActiveOrders() throws Exception {
+            final IOrder order = submittedOrder(orderParams("buyLabel", OrderCommand.BUY, 0.0));
+
+            final TestObserver<OrderEvent> testObserver = run(CloseParams
+                .withOrder(order)
+                .build());
+
+            testObserver.assertComplete();
+            assertThat(eventTypes(testObserver), equalTo(Arrays.asList(OrderEventType.CLOSE_OK)));
+            assertThat(order.getState(), equalTo(IOrder.State.CLOSED));
+            assertTrue(simulatedExchange
+                .engine()
+                .getOrders()
+                .isEmpty());
+        }
+
+        @Test
+        public void partialCloseReducesAmount() throws Exception {
+            final IOrder order = submittedOrder(orderParams("buyLabel", OrderCommand.BUY, 0.0));
+
+            final TestObserver<OrderEvent> testObserver = run(CloseParams
+                .withOrder(order)
+                .closePartial(0.04)
+                .build());
+
+            assertThat(eventTypes(testObserver), equalTo(Arrays.asList(OrderEventType.PARTIAL_CLOSE_OK)));
+            assertThat(order.getState(), equalTo(IOrder.State.FILLED));
+            assertThat(order.getAmount(), equalTo(0.06));
+        }
+
+        @Test
+        public void positionWithStopLossesIsMergedAfterCancelSL() throws Exception {
+            submittedOrder(orderParams("firstBuy", OrderCommand.BUY, 1.1));
+            submittedOrder(orderParams("secondBuy", OrderCommand.BUY, 1.1));
+
+            final TestObserver<OrderEvent> testObserver = run(MergePositionParams
+                .newBuilder(Instrument.EURUSD, "mergeLabel")
+                .build());
+
+            testObserver.assertComplete();
+            assertTrue(eventTypes(testObserver).contains(OrderEventType.CHANGED_SL));
+            final List<IOrder> orders = simulatedExchange
+                .engine()
+                .getOrders(Instrument.EURUSD);
+            assertThat(orders.size(), equalTo(1));
+            assertThat(orders
+                .get(0)
+                .getLabel(), equalTo("mergeLabel"));
+            assertThat(orders
+                .get(0)
+                .getAmount(), equalTo(0.2));
+        }
+    }
+
+    public class PartialFills {
+
+        @Before
+        public void setUp() {
+            buildExchange(SimulatedExchange
+                .newBuilder()
+                .withPartialFillRate(1.0));
+        }
+
+        @Test
+        public void marketOrderIsFilledInTwoSteps() throws Exception {
+            final TestObserver<OrderEvent> testObserver = submit(orderParams("buyLabel", OrderCommand.BUY, 0.0));
+
+            assertThat(eventTypes(testObserver),
+                       equalTo(Arrays.asList(OrderEventType.SUBMIT_OK,
+                                                       OrderEventType.PARTIAL_FILL_OK,
+                                                       OrderEventType.FULLY_FILLED)));
+        }
+    }
+
+    public class Rejects {
+
+        @Before
+        public void setUp() {
+            buildExchange(SimulatedExchange
+                .newBuilder()
+                .withRejectRate(OrderCallReason.SUBMIT, 1.0));
+        }
+
+        @Test
+        public void submitIsRejected() throws Exception {
+            final TestObserver<OrderEvent> testObserver = submit(orderParams("buyLabel", OrderCommand.BUY, 0.0));
+
+            assertTrue(testObserver.isTerminated());
+            assertTrue(simulatedExchange
+                .engine()
+                .getOrders()
+                .isEmpty());
+        }
+    }
+
+    public class SeededRejects {
+
+        private List<Boolean> submitRejects(final long seed) {
+            buildExchange(SimulatedExchange
+                .newBuilder()
+                .withRejectRate(OrderCallReason.SUBMIT, 0.5)
+                .withSeed(seed));
+            final List<Boolean> rejects = IntStream
+                .range(0, 20)
+                .mapToObj(index -> submit(orderParams("buyLabel" + index, OrderCommand.BUY, 0.0)))
+                .map(testObserver -> eventTypes(testObserver).contains(OrderEventType.SUBMIT_REJECTED))
+                .collect(Collectors.toList());
+            simulatedExchange.shutdown();
+            return rejects;
+        }
+
+        @Test
+        public void sameSeedGivesSameRejects() {
+            final List<Boolean> firstRejects = submitRejects(7L);
+
+            assertTrue(firstRejects.contains(true));
+            assertTrue(firstRejects.contains(false));
+            assertThat(submitRejects(7L), equalTo(firstRejects));
+        }
+    }
+}